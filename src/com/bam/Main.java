@@ -14,7 +14,10 @@ import org.junit.platform.launcher.listeners.TestExecutionSummary;
 import org.junit.platform.engine.TestExecutionResult;
 
 import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -29,10 +32,18 @@ public class Main {
 
     /**
      * Launches the CLI loop, routing each menu option until the user chooses to exit.
-     * All persisted data is initialized before the loop begins and saved on exit.
+     * All persisted data is initialized before the loop begins and saved on exit; with
+     * {@code --lazy-history} transaction histories are read from disk on first access, and with
+     * {@code --compact-ledger} the loaded history is kept in primitive columns.
      */
     public static void main(String[] args) {
-        accountManager.initializeData();
+        if (Arrays.asList(args).contains("--lazy-history")) {
+            accountManager.initializeDataLazily(TransactionManager.DEFAULT_HISTORY_CACHE_SIZE);
+        } else if (Arrays.asList(args).contains("--compact-ledger")) {
+            accountManager.initializeDataCompactly();
+        } else {
+            accountManager.initializeData();
+        }
         boolean exit = false;
         while (!exit) {
             printMainMenu();
@@ -58,7 +69,7 @@ public class Main {
                     break;
                 case 7:
                     exit = true;
-                    accountManager.saveAllData();
+                    accountManager.shutdown();
                     System.out.println(
                             "\nThank you for using the Bank Account Management System!\nData saved to disk. Remember to commit your latest changes to Git!\nGoodbye!");
                     break;
@@ -80,7 +91,9 @@ public class Main {
             System.out.println("1. Create Account");
             System.out.println("2. View All Accounts");
             System.out.println("3. View Transaction History");
-            System.out.println("4. Back to Main Menu");
+            System.out.println("4. Run End-of-Day Interest Accrual");
+            System.out.println("5. Run Month-End Fees");
+            System.out.println("6. Back to Main Menu");
             int choice = inputHandler.getIntInput("Enter your choice: ", "Choice must be a number");
             switch (choice) {
                 case 1:
@@ -93,6 +106,12 @@ public class Main {
                     viewTransactionHistory();
                     break;
                 case 4:
+                    System.out.println(accountManager.accrueInterest(LocalDate.now()).summary());
+                    break;
+                case 5:
+                    System.out.println(accountManager.chargeMonthlyFees(YearMonth.now()).summary());
+                    break;
+                case 6:
                     backToMain = true;
                     break;
                 default:
@@ -156,8 +175,9 @@ public class Main {
         }
         accountManager.addAccount(account);
         // Initial deposit transaction
-        Transaction txn = new Transaction(account.getAccountNumber(), "Deposit", initialDeposit, account.getBalance());
-        transactionManager.addTransaction(txn);
+        Transaction txn = transactionManager.addTransaction(
+                new Transaction(account.getAccountNumber(), TransactionType.DEPOSIT, initialDeposit, account.getBalance()));
+        accountManager.recordCommit(List.of(), List.of(txn));
     }
 
     /**
@@ -194,7 +214,7 @@ public class Main {
         System.out.println("2. Withdrawal");
         System.out.println("3. Transfer");
         Transaction txn;
-        String type;
+        TransactionType type;
         double amount;
         boolean success = false;
         int typeChoice = inputHandler.getTransactionTypeChoice("Enter choice: ");
@@ -217,22 +237,22 @@ public class Main {
             // Note: We calculate balances speculatively for the log.
             // If the actual transaction fails inside processTransaction, these won't be
             // saved.
-            Transaction debitTxn = new Transaction(account.getAccountNumber(), "Transfer Out", amount,
-                    TransactionManager.getBalanceAfter(account, amount, "Transfer Out"));
-            Transaction creditTxn = new Transaction(targetAccount.getAccountNumber(), "Transfer In", amount,
-                    TransactionManager.getBalanceAfter(targetAccount, amount, "Transfer In"));
+            Transaction debitTxn = new Transaction(account.getAccountNumber(), TransactionType.TRANSFER_OUT, amount,
+                    TransactionManager.getBalanceAfter(account, amount, TransactionType.TRANSFER_OUT));
+            Transaction creditTxn = new Transaction(targetAccount.getAccountNumber(), TransactionType.TRANSFER_IN, amount,
+                    TransactionManager.getBalanceAfter(targetAccount, amount, TransactionType.TRANSFER_IN));
 
-            success = account.processTransaction(amount, "Transfer", targetAccount);
+            success = account.processTransaction(amount, TransactionType.TRANSFER_OUT, targetAccount);
 
             if (success) {
-                transactionManager.addTransaction(debitTxn);
-                transactionManager.addTransaction(creditTxn);
-                accountManager.saveAllData();
+                debitTxn = transactionManager.addTransaction(debitTxn);
+                creditTxn = transactionManager.addTransaction(creditTxn);
+                accountManager.recordCommit(List.of(account, targetAccount), List.of(debitTxn, creditTxn));
                 System.out.println("Transaction recorded.");
             }
 
         } else if (typeChoice == 1) {
-            type = "Deposit";
+            type = TransactionType.DEPOSIT;
             amount = inputHandler.getDepositAmount("Enter Amount: ");
             double balanceAfter = TransactionManager.getBalanceAfter(account, amount, type);
             txn = new Transaction(account.getAccountNumber(), type, amount, balanceAfter);
@@ -241,14 +261,14 @@ public class Main {
                 return;
             success = account.processTransaction(amount, type);
             if (success) {
-                transactionManager.addTransaction(txn);
-                accountManager.saveAllData();
+                txn = transactionManager.addTransaction(txn);
+                accountManager.recordCommit(List.of(account), List.of(txn));
                 System.out.println("Transaction recorded.");
             }
 
         } else {
             amount = inputHandler.getWithdrawalAmount("Enter Amount: ", account);
-            type = "Withdrawal";
+            type = TransactionType.WITHDRAWAL;
             double balanceAfter = TransactionManager.getBalanceAfter(account, amount, type);
             txn = new Transaction(account.getAccountNumber(), type, amount, balanceAfter);
             boolean isConfirmed = showTransactionConfirmationPrompt(txn);
@@ -256,8 +276,8 @@ public class Main {
                 return;
             success = account.processTransaction(amount, type);
             if (success) {
-                transactionManager.addTransaction(txn);
-                accountManager.saveAllData();
+                txn = transactionManager.addTransaction(txn);
+                accountManager.recordCommit(List.of(account), List.of(txn));
                 System.out.println("Transaction recorded.");
             }
         }
@@ -323,7 +343,29 @@ public class Main {
                         selectClass("test.java.models.SavingsAccountWithdrawTest"),
                         selectClass("test.java.models.ConcurrentDepositsTest"),
                         selectClass("test.java.models.ConcurrentWithdrawalsTest"),
-                        selectClass("test.java.models.ConcurrentMixedTransactionsTest"))
+                        selectClass("test.java.models.ConcurrentMixedTransactionsTest"),
+                        selectClass("test.java.services.FilePersistenceJournalTest"),
+                        selectClass("test.java.services.GroupCommitJournalWriterTest"),
+                        selectClass("test.java.services.TransactionLedgerFileTest"),
+                        selectClass("test.java.services.CheckpointRecoveryTest"),
+                        selectClass("test.java.services.CorruptionRecoveryTest"),
+                        selectClass("test.java.services.ParallelLoaderTest"),
+                        selectClass("test.java.services.LazyTransactionHistoryTest"),
+                        selectClass("test.java.services.ShardedPersistenceTest"),
+                        selectClass("test.java.services.ShardedTransactionEngineTest"),
+                        selectClass("test.java.services.BatchTransactionTest"),
+                        selectClass("test.java.services.ConcurrentLedgerTest"),
+                        selectClass("test.java.services.TransactionSummaryTest"),
+                        selectClass("test.java.services.TimeOrderedIndexTest"),
+                        selectClass("test.java.services.ColumnarTransactionStoreTest"),
+                        selectClass("test.java.models.TransactionTypeTest"),
+                        selectClass("test.java.services.InterestAccrualJobTest"),
+                        selectClass("test.java.services.MonthlyFeeJobTest"),
+                        selectClass("test.java.services.AccountRegistryTest"),
+                        selectClass("test.java.utils.AccountNumbersTest"),
+                        selectClass("test.java.models.TransactionOutcomeTest"),
+                        selectClass("test.java.services.MultiLegTransferTest"),
+                        selectClass("test.java.services.BankTotalsTest"))
                 .build();
 
         // Create and execute the launcher
@@ -452,27 +494,27 @@ public class Main {
 
         switch (operationChoice) {
             case 1: // Concurrent Deposits
-                workers.add(new Thread(() -> simulateTransactions(primaryAccount, "Deposit", null, consoleLock, iterations), "Thread-1"));
-                workers.add(new Thread(() -> simulateTransactions(primaryAccount, "Deposit", null, consoleLock, iterations), "Thread-2"));
-                workers.add(new Thread(() -> simulateTransactions(secondaryAccount, "Deposit", null, consoleLock, iterations), "Thread-3"));
+                workers.add(new Thread(() -> simulateTransactions(primaryAccount, TransactionType.DEPOSIT, null, consoleLock, iterations), "Thread-1"));
+                workers.add(new Thread(() -> simulateTransactions(primaryAccount, TransactionType.DEPOSIT, null, consoleLock, iterations), "Thread-2"));
+                workers.add(new Thread(() -> simulateTransactions(secondaryAccount, TransactionType.DEPOSIT, null, consoleLock, iterations), "Thread-3"));
                 break;
 
             case 2: // Concurrent Withdrawals
-                workers.add(new Thread(() -> simulateTransactions(primaryAccount, "Withdrawal", null, consoleLock, iterations), "Thread-1"));
-                workers.add(new Thread(() -> simulateTransactions(primaryAccount, "Withdrawal", null, consoleLock, iterations), "Thread-2"));
-                workers.add(new Thread(() -> simulateTransactions(secondaryAccount, "Withdrawal", null, consoleLock, iterations), "Thread-3"));
+                workers.add(new Thread(() -> simulateTransactions(primaryAccount, TransactionType.WITHDRAWAL, null, consoleLock, iterations), "Thread-1"));
+                workers.add(new Thread(() -> simulateTransactions(primaryAccount, TransactionType.WITHDRAWAL, null, consoleLock, iterations), "Thread-2"));
+                workers.add(new Thread(() -> simulateTransactions(secondaryAccount, TransactionType.WITHDRAWAL, null, consoleLock, iterations), "Thread-3"));
                 break;
 
             case 3: // Concurrent Transfers
-                workers.add(new Thread(() -> simulateTransactions(primaryAccount, "Transfer", secondaryAccount, consoleLock, iterations), "Thread-1"));
-                workers.add(new Thread(() -> simulateTransactions(secondaryAccount, "Transfer", primaryAccount, consoleLock, iterations), "Thread-2"));
-                workers.add(new Thread(() -> simulateTransactions(primaryAccount, "Transfer", secondaryAccount, consoleLock, iterations), "Thread-3"));
+                workers.add(new Thread(() -> simulateTransactions(primaryAccount, TransactionType.TRANSFER_OUT, secondaryAccount, consoleLock, iterations), "Thread-1"));
+                workers.add(new Thread(() -> simulateTransactions(secondaryAccount, TransactionType.TRANSFER_OUT, primaryAccount, consoleLock, iterations), "Thread-2"));
+                workers.add(new Thread(() -> simulateTransactions(primaryAccount, TransactionType.TRANSFER_OUT, secondaryAccount, consoleLock, iterations), "Thread-3"));
                 break;
 
             case 4: // Mixed Operations
-                workers.add(new Thread(() -> simulateTransactions(primaryAccount, "Deposit", null, consoleLock, iterations), "Thread-1"));
-                workers.add(new Thread(() -> simulateTransactions(primaryAccount, "Withdrawal", null, consoleLock, iterations), "Thread-2"));
-                workers.add(new Thread(() -> simulateTransactions(primaryAccount, "Transfer", secondaryAccount, consoleLock, iterations), "Thread-3"));
+                workers.add(new Thread(() -> simulateTransactions(primaryAccount, TransactionType.DEPOSIT, null, consoleLock, iterations), "Thread-1"));
+                workers.add(new Thread(() -> simulateTransactions(primaryAccount, TransactionType.WITHDRAWAL, null, consoleLock, iterations), "Thread-2"));
+                workers.add(new Thread(() -> simulateTransactions(primaryAccount, TransactionType.TRANSFER_OUT, secondaryAccount, consoleLock, iterations), "Thread-3"));
                 break;
         }
 
@@ -497,46 +539,46 @@ public class Main {
 
         switch (operationChoice) {
             case 1: // Concurrent Deposits
-                tasks.add(() -> runBatchTask(primaryAccount, "Deposit", 150.00, null, consoleLock, "Stream-1"));
-                tasks.add(() -> runBatchTask(primaryAccount, "Deposit", 200.00, null, consoleLock, "Stream-2"));
-                tasks.add(() -> runBatchTask(secondaryAccount, "Deposit", 120.00, null, consoleLock, "Stream-3"));
+                tasks.add(() -> runBatchTask(primaryAccount, TransactionType.DEPOSIT, 150.00, null, consoleLock, "Stream-1"));
+                tasks.add(() -> runBatchTask(primaryAccount, TransactionType.DEPOSIT, 200.00, null, consoleLock, "Stream-2"));
+                tasks.add(() -> runBatchTask(secondaryAccount, TransactionType.DEPOSIT, 120.00, null, consoleLock, "Stream-3"));
                 break;
 
             case 2: // Concurrent Withdrawals
-                tasks.add(() -> runBatchTask(primaryAccount, "Withdrawal", 100.00, null, consoleLock, "Stream-1"));
-                tasks.add(() -> runBatchTask(primaryAccount, "Withdrawal", 75.00, null, consoleLock, "Stream-2"));
-                tasks.add(() -> runBatchTask(secondaryAccount, "Withdrawal", 50.00, null, consoleLock, "Stream-3"));
+                tasks.add(() -> runBatchTask(primaryAccount, TransactionType.WITHDRAWAL, 100.00, null, consoleLock, "Stream-1"));
+                tasks.add(() -> runBatchTask(primaryAccount, TransactionType.WITHDRAWAL, 75.00, null, consoleLock, "Stream-2"));
+                tasks.add(() -> runBatchTask(secondaryAccount, TransactionType.WITHDRAWAL, 50.00, null, consoleLock, "Stream-3"));
                 break;
 
             case 3: // Concurrent Transfers
-                tasks.add(() -> runBatchTask(primaryAccount, "Transfer", 100.00, secondaryAccount, consoleLock, "Stream-1"));
-                tasks.add(() -> runBatchTask(secondaryAccount, "Transfer", 80.00, primaryAccount, consoleLock, "Stream-2"));
-                tasks.add(() -> runBatchTask(primaryAccount, "Transfer", 120.00, secondaryAccount, consoleLock, "Stream-3"));
+                tasks.add(() -> runBatchTask(primaryAccount, TransactionType.TRANSFER_OUT, 100.00, secondaryAccount, consoleLock, "Stream-1"));
+                tasks.add(() -> runBatchTask(secondaryAccount, TransactionType.TRANSFER_OUT, 80.00, primaryAccount, consoleLock, "Stream-2"));
+                tasks.add(() -> runBatchTask(primaryAccount, TransactionType.TRANSFER_OUT, 120.00, secondaryAccount, consoleLock, "Stream-3"));
                 break;
 
             case 4: // Mixed Operations
-                tasks.add(() -> runBatchTask(primaryAccount, "Deposit", 125.00, null, consoleLock, "Stream-1"));
-                tasks.add(() -> runBatchTask(primaryAccount, "Withdrawal", 60.00, null, consoleLock, "Stream-2"));
-                tasks.add(() -> runBatchTask(primaryAccount, "Transfer", 100.00, secondaryAccount, consoleLock, "Stream-3"));
+                tasks.add(() -> runBatchTask(primaryAccount, TransactionType.DEPOSIT, 125.00, null, consoleLock, "Stream-1"));
+                tasks.add(() -> runBatchTask(primaryAccount, TransactionType.WITHDRAWAL, 60.00, null, consoleLock, "Stream-2"));
+                tasks.add(() -> runBatchTask(primaryAccount, TransactionType.TRANSFER_OUT, 100.00, secondaryAccount, consoleLock, "Stream-3"));
                 break;
         }
 
         tasks.parallelStream().forEach(Runnable::run);
     }
 
-    private static void simulateTransactions(Account account, String type, Account targetAccount,
+    private static void simulateTransactions(Account account, TransactionType type, Account targetAccount,
                                             Object consoleLock, int iterations) {
         ThreadLocalRandom random = ThreadLocalRandom.current();
         for (int i = 0; i < iterations; i++) {
-            double min = type.equalsIgnoreCase("Deposit") ? 25.0 : 15.0;
-            double max = type.equalsIgnoreCase("Deposit") ? 200.0 : 120.0;
+            double min = type == TransactionType.DEPOSIT ? 25.0 : 15.0;
+            double max = type == TransactionType.DEPOSIT ? 200.0 : 120.0;
             double amount = Math.round(random.nextDouble(min, max) * 100.0) / 100.0;
 
             // Synchronize to ensure we get the balance immediately after the transaction
             boolean success;
             double balance;
 
-            if (type.equalsIgnoreCase("Transfer") && targetAccount != null) {
+            if (type == TransactionType.TRANSFER_OUT && targetAccount != null) {
                 synchronized (account) {
                     success = account.processTransaction(amount, type, targetAccount);
                     balance = account.getBalance();
@@ -553,7 +595,7 @@ public class Main {
 
             synchronized (consoleLock) {
                 String verb, prep;
-                if (type.equalsIgnoreCase("Deposit")) {
+                if (type == TransactionType.DEPOSIT) {
                     verb = "depositing";
                     prep = "to";
                     System.out.printf("[%s] %s $%.2f %s account %s\n",
@@ -562,7 +604,7 @@ public class Main {
                             amount,
                             prep,
                             account.getAccountNumber());
-                } else if (type.equalsIgnoreCase("Withdrawal")) {
+                } else if (type == TransactionType.WITHDRAWAL) {
                     verb = "withdrawing";
                     prep = "from";
                     System.out.printf("[%s] %s $%.2f %s account %s\n",
@@ -571,7 +613,7 @@ public class Main {
                             amount,
                             prep,
                             account.getAccountNumber());
-                } else if (type.equalsIgnoreCase("Transfer") && targetAccount != null) {
+                } else if (type == TransactionType.TRANSFER_OUT && targetAccount != null) {
                     System.out.printf("[%s] transferring $%.2f from account %s to %s\n",
                             Thread.currentThread().getName(),
                             amount,
@@ -589,13 +631,13 @@ public class Main {
         }
     }
 
-    private static void runBatchTask(Account account, String type, double amount, Account targetAccount,
+    private static void runBatchTask(Account account, TransactionType type, double amount, Account targetAccount,
                                     Object consoleLock, String threadName) {
         // Synchronize to ensure we get the balance immediately after the transaction
         boolean success;
         double balance;
 
-        if (type.equalsIgnoreCase("Transfer") && targetAccount != null) {
+        if (type == TransactionType.TRANSFER_OUT && targetAccount != null) {
             synchronized (account) {
                 success = account.processTransaction(amount, type, targetAccount);
                 balance = account.getBalance();
@@ -608,17 +650,17 @@ public class Main {
         }
 
         synchronized (consoleLock) {
-            if (type.equalsIgnoreCase("Deposit")) {
+            if (type == TransactionType.DEPOSIT) {
                 System.out.printf("[%s] depositing $%.2f to account %s\n",
                         threadName,
                         amount,
                         account.getAccountNumber());
-            } else if (type.equalsIgnoreCase("Withdrawal")) {
+            } else if (type == TransactionType.WITHDRAWAL) {
                 System.out.printf("[%s] withdrawing $%.2f from account %s\n",
                         threadName,
                         amount,
                         account.getAccountNumber());
-            } else if (type.equalsIgnoreCase("Transfer") && targetAccount != null) {
+            } else if (type == TransactionType.TRANSFER_OUT && targetAccount != null) {
                 System.out.printf("[%s] transferring $%.2f from account %s to %s\n",
                         threadName,
                         amount,
@@ -0,0 +1,14 @@
+package com.bam.interfaces;
+
+import com.bam.models.Account;
+
+/**
+ * Notified of every change to an account's balance, e.g. to keep bank-wide totals current.
+ */
+public interface BalanceListener {
+    /**
+     * Called after the balance of {@code account} changed from {@code beforeCents} to
+     * {@code afterCents}, on the thread that changed it. Must be cheap and must not block.
+     */
+    void balanceChanged(Account account, long beforeCents, long afterCents);
+}
@@ -0,0 +1,18 @@
+package com.bam.interfaces;
+
+import com.bam.models.Transaction;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Source of persisted transaction history that can be read one account at a time.
+ */
+public interface TransactionHistoryLoader {
+    /** @return persisted transactions of the account in ledger order, empty if it has none. */
+    List<Transaction> loadHistory(String accountNumber) throws IOException;
+
+    /** @return every account that has persisted history. */
+    Set<String> accountsWithHistory();
+}
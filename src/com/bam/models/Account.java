@@ -1,20 +1,36 @@
 package com.bam.models;
 
 import com.bam.exceptions.*;
+import com.bam.interfaces.BalanceListener;
 import com.bam.interfaces.Transactable;
-import com.bam.utils.InputValidator;
+import com.bam.utils.AccountNumbers;
+import com.bam.utils.Money;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
 
 /**
  * Base contract for all bank accounts, encapsulating shared identity,
  * balance, and transaction-processing behaviors.
+ * <p>
+ * The balance is held in whole cents and updated with compare-and-set, so deposits and
+ * withdrawals on the same account never block each other and never accumulate rounding error.
+ * Those updates share a hold that a change spanning several accounts takes exclusively
+ * ({@link #holdBalance}), so such a change sees and sets every balance it touches as one step.
  */
 public abstract class Account implements Transactable {
-    protected String accountNumber;
-    protected Customer customer;
-    protected volatile double balance;
-    protected String status;
-    protected static int accountCounter = 1;
-    private final Object balanceLock = new Object();
+    // Identity and status are final so that any thread that finds the account, e.g. through the
+    // registry, sees them fully initialized without locking.
+    protected final String accountNumber;
+    private final long accountId;
+    protected final Customer customer;
+    private final AtomicLong balanceCents;
+    private final StampedLock balanceHold = new StampedLock();
+    protected final String status;
+    private volatile BalanceListener balanceListener;
+    private static final AtomicLong accountCounter = new AtomicLong(1);
 
     /**
      * Creates a new account with a freshly generated account number.
@@ -35,25 +51,20 @@ public abstract class Account implements Transactable {
 
     private Account(Customer customer, double balance, String accountNumber, String status, boolean autoGenerateNumber) {
         this.customer = customer;
-        this.balance = balance;
+        this.balanceCents = new AtomicLong(Money.toCents(balance));
         this.status = status == null ? "Active" : status;
         if (autoGenerateNumber) {
-            this.accountNumber = generateAccountNumber();
+            this.accountId = accountCounter.getAndIncrement();
+            this.accountNumber = AccountNumbers.format(accountId);
         } else {
             if (accountNumber == null || accountNumber.isBlank()) {
                 throw new IllegalArgumentException("Account number must be provided for persisted accounts.");
             }
             this.accountNumber = accountNumber;
+            this.accountId = AccountNumbers.parse(accountNumber);
         }
     }
 
-    /**
-     * Assigns the next account number in sequence.
-     */
-    private String generateAccountNumber() {
-        return String.format("ACC%03d", accountCounter++);
-    }
-
     /**
      * Displays account-specific attributes for CLI output.
      */
@@ -71,11 +82,48 @@ public abstract class Account implements Transactable {
      * @return {@code true} when the deposit succeeds
      */
     public boolean deposit(double amount) throws InvalidDepositAmountException {
-        InputValidator validator = new InputValidator();
-        validator.validateDepositAmount(amount);
-        synchronized (balanceLock) {
-            balance += amount;
-            return true;
+        TransactionOutcome outcome = tryDeposit(amount);
+        if (!outcome.isApplied()) {
+            throw new InvalidDepositAmountException(outcome.message());
+        }
+        return true;
+    }
+
+    /**
+     * Applies a deposit without throwing when it is rejected.
+     *
+     * @return the balance after the deposit, or {@link TransactionOutcome#INVALID_DEPOSIT}
+     */
+    public TransactionOutcome tryDeposit(double amount) {
+        return tryDepositCents(Money.amountToCents(amount));
+    }
+
+    /** Cent-denominated form of {@link #tryDeposit(double)}. */
+    public TransactionOutcome tryDepositCents(long amountCents) {
+        if (amountCents <= 0) {
+            return TransactionOutcome.INVALID_DEPOSIT;
+        }
+        return TransactionOutcome.applied(adjustBalance(amountCents));
+    }
+
+    /**
+     * Applies a withdrawal without throwing when it is declined, so a rejected withdrawal costs
+     * no more than an accepted one. The check and update are one atomic step.
+     *
+     * @return the balance after the withdrawal, or why it was declined and the shortfall
+     */
+    public TransactionOutcome tryWithdraw(double amount) {
+        return tryWithdrawCents(Money.amountToCents(amount));
+    }
+
+    /** Cent-denominated form of {@link #tryWithdraw(double)}. */
+    public TransactionOutcome tryWithdrawCents(long amountCents) {
+        while (true) {
+            long current = balanceCents.get();
+            TransactionOutcome outcome = checkWithdrawalCents(amountCents, current);
+            if (!outcome.isApplied() || compareAndSetBalance(current, outcome.balanceCents())) {
+                return outcome;
+            }
         }
     }
 
@@ -87,6 +135,45 @@ public abstract class Account implements Transactable {
      */
     public abstract boolean withdraw(double amount) throws InsufficientFundsException, OverdraftExceededException, InvalidWithdrawalAmountException;
 
+    /**
+     * Checks a withdrawal of {@code amountCents} against {@code balanceCents} and this account
+     * type's floor, without applying it.
+     */
+    public abstract TransactionOutcome checkWithdrawalCents(long amountCents, long balanceCents);
+
+    /**
+     * Applies {@code operations} for this account in order as one atomic balance update. Each
+     * operation is validated against the running balance left by the ones before it; rejected
+     * operations are skipped. If another thread changes the balance in the meantime the whole
+     * group is re-run against the new balance.
+     *
+     * @return one result per operation, in the same order
+     */
+    public List<BatchResult> applyBatch(List<BatchOperation> operations) {
+        while (true) {
+            long start = balanceCents.get();
+            long balance = start;
+            List<BatchResult> results = new ArrayList<>(operations.size());
+            for (BatchOperation operation : operations) {
+                long amountCents = Money.amountToCents(operation.amount());
+                TransactionOutcome outcome;
+                if (operation.deposit()) {
+                    outcome = amountCents <= 0 ? TransactionOutcome.INVALID_DEPOSIT
+                            : TransactionOutcome.applied(balance + amountCents);
+                } else {
+                    outcome = checkWithdrawalCents(amountCents, balance);
+                }
+                if (outcome.isApplied()) {
+                    balance = outcome.balanceCents();
+                }
+                results.add(BatchResult.of(operation, outcome));
+            }
+            if (compareAndSetBalance(start, balance)) {
+                return results;
+            }
+        }
+    }
+
     /**
      * Transfers funds to the target account after validating both accounts.
      *
@@ -100,20 +187,10 @@ public abstract class Account implements Transactable {
         if (this == targetAccount) {
             throw new InvalidAccountException("Cannot transfer to the same account");
         }
-        Object firstLock = this.balanceLock;
-        Object secondLock = targetAccount.balanceLock;
-        if (System.identityHashCode(firstLock) > System.identityHashCode(secondLock)) {
-            Object temp = firstLock;
-            firstLock = secondLock;
-            secondLock = temp;
-        }
-        synchronized (firstLock) {
-            synchronized (secondLock) {
-                this.withdraw(amount);
-                targetAccount.deposit(amount);
-                System.out.printf("Transferred $%.2f to %s\n", amount, targetAccount.getAccountNumber());
-            }
-        }
+        // The withdrawal has already validated the amount, so the deposit cannot fail once it succeeds.
+        this.withdraw(amount);
+        targetAccount.deposit(amount);
+        System.out.printf("Transferred $%.2f to %s\n", amount, targetAccount.getAccountNumber());
     }
 
     /** @return unique account number. */
@@ -121,15 +198,113 @@ public abstract class Account implements Transactable {
         return accountNumber;
     }
 
+    /**
+     * @return numeric id of the account number, or {@link AccountNumbers#INVALID} for a number
+     * outside the {@code ACC} scheme
+     */
+    public long getAccountId() {
+        return accountId;
+    }
+
     /** @return owning customer. */
     public Customer getCustomer() {
         return customer;
     }
 
-    /** @return current cash balance. */
+    /**
+     * @return current cash balance. A read is a single volatile load: it takes no lock, never
+     * waits for a writer and never makes a writer wait (see
+     * {@code test.java.benchmarks.BalanceReadBenchmark}).
+     */
     public double getBalance() {
-        synchronized (balanceLock) {
-            return balance;
+        return Money.toDollars(balanceCents.get());
+    }
+
+    /** @return current cash balance in cents. */
+    public long getBalanceCents() {
+        return balanceCents.get();
+    }
+
+    /**
+     * Replaces the balance only if it still equals {@code expectedCents}. Withdrawals validate
+     * against the balance they read and retry when this fails, so the floor check and the update
+     * behave as one atomic step without holding a lock.
+     */
+    protected final boolean compareAndSetBalance(long expectedCents, long newCents) {
+        long stamp = balanceHold.readLock();
+        try {
+            if (!balanceCents.compareAndSet(expectedCents, newCents)) {
+                return false;
+            }
+        } finally {
+            balanceHold.unlockRead(stamp);
+        }
+        notifyBalanceChanged(expectedCents, newCents);
+        return true;
+    }
+
+    /**
+     * Adds {@code deltaCents} (negative for charges) without any floor check.
+     *
+     * @return the resulting balance in cents
+     */
+    protected final long adjustBalance(long deltaCents) {
+        long after;
+        long stamp = balanceHold.readLock();
+        try {
+            after = balanceCents.addAndGet(deltaCents);
+        } finally {
+            balanceHold.unlockRead(stamp);
+        }
+        notifyBalanceChanged(after - deltaCents, after);
+        return after;
+    }
+
+    /**
+     * Holds the balance for a change spanning several accounts: until {@link #releaseBalance} every
+     * other change to this account waits, so the holder can check the balance and apply its own
+     * change without a concurrent withdrawal slipping in between. Callers holding several accounts
+     * must take the holds in one global order. The hold is not reentrant.
+     *
+     * @return stamp for {@link #adjustHeldBalance} and {@link #releaseBalance}
+     */
+    public long holdBalance() {
+        return balanceHold.writeLock();
+    }
+
+    /**
+     * Adds {@code deltaCents} to a held balance without any floor check; the holder has already
+     * checked it.
+     *
+     * @return the resulting balance in cents
+     * @throws IllegalStateException if {@code stamp} is not the current hold
+     */
+    public long adjustHeldBalance(long stamp, long deltaCents) {
+        if (!StampedLock.isWriteLockStamp(stamp) || !balanceHold.validate(stamp)) {
+            throw new IllegalStateException("Balance of " + accountNumber + " is not held");
+        }
+        long after = balanceCents.addAndGet(deltaCents);
+        notifyBalanceChanged(after - deltaCents, after);
+        return after;
+    }
+
+    /** Releases a hold taken by {@link #holdBalance}. */
+    public void releaseBalance(long stamp) {
+        balanceHold.unlockWrite(stamp);
+    }
+
+    /**
+     * Registers the listener told about every later balance change, replacing any previous one;
+     * {@code null} removes it.
+     */
+    public void setBalanceListener(BalanceListener listener) {
+        this.balanceListener = listener;
+    }
+
+    private void notifyBalanceChanged(long beforeCents, long afterCents) {
+        BalanceListener listener = balanceListener;
+        if (listener != null) {
+            listener.balanceChanged(this, beforeCents, afterCents);
         }
     }
 
@@ -143,28 +318,41 @@ public abstract class Account implements Transactable {
      */
     @Override
     public boolean processTransaction(double amount, String type) {
-        if (type.equalsIgnoreCase("deposit")) {
-            try {
-                return deposit(amount);
-            } catch (InvalidDepositAmountException e) {
-                System.out.println(e.getMessage());
-            }
-        }
-        if (type.equalsIgnoreCase("withdrawal")) {
-            try {
-                return withdraw(amount);
-            } catch (InsufficientFundsException | InvalidWithdrawalAmountException | OverdraftExceededException e) {
-                System.out.println(e.getMessage());
-            }
+        TransactionType kind = TransactionType.lookup(type);
+        return kind != null && processTransaction(amount, kind);
+    }
+
+    /**
+     * Applies a deposit or withdrawal; any other type is rejected.
+     */
+    public boolean processTransaction(double amount, TransactionType type) {
+        return switch (type) {
+            case DEPOSIT -> report(tryDeposit(amount));
+            case WITHDRAWAL -> report(tryWithdraw(amount));
+            default -> false;
+        };
+    }
+
+    private static boolean report(TransactionOutcome outcome) {
+        if (!outcome.isApplied()) {
+            System.out.println(outcome.message());
         }
-        return false;
+        return outcome.isApplied();
     }
 
     /**
      * Handles transfer flows that involve two accounts.
      */
     public boolean processTransaction(double amount, String type, Account targetAccount) {
-        if (type.equalsIgnoreCase("transfer")) {
+        return type.equalsIgnoreCase("transfer") && processTransaction(amount, TransactionType.TRANSFER_OUT, targetAccount);
+    }
+
+    /**
+     * Transfers {@code amount} to {@code targetAccount} when {@code type} is
+     * {@link TransactionType#TRANSFER_OUT}; any other type is rejected.
+     */
+    public boolean processTransaction(double amount, TransactionType type, Account targetAccount) {
+        if (type == TransactionType.TRANSFER_OUT) {
             try {
                 transfer(targetAccount, amount);
                 return true;
@@ -179,9 +367,9 @@ public abstract class Account implements Transactable {
     /**
      * Updates the static counter so new accounts continue after persisted ones.
      */
-    public static void setAccountCounter(int nextCounter) {
+    public static void setAccountCounter(long nextCounter) {
         if (nextCounter > 0) {
-            accountCounter = nextCounter;
+            accountCounter.set(nextCounter);
         }
     }
 }
\ No newline at end of file
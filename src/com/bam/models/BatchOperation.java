@@ -0,0 +1,43 @@
+package com.bam.models;
+
+/**
+ * One deposit or withdrawal in a batch, e.g. a row of a payroll import. The type is resolved
+ * once when the operation is created, so applying it never compares strings.
+ *
+ * @param accountNumber account the operation applies to
+ * @param deposit       {@code true} for a deposit, {@code false} for a withdrawal
+ * @param amount        amount to move
+ */
+public record BatchOperation(String accountNumber, boolean deposit, double amount) {
+
+    /** @return a deposit of {@code amount} into the account. */
+    public static BatchOperation deposit(String accountNumber, double amount) {
+        return new BatchOperation(accountNumber, true, amount);
+    }
+
+    /** @return a withdrawal of {@code amount} from the account. */
+    public static BatchOperation withdrawal(String accountNumber, double amount) {
+        return new BatchOperation(accountNumber, false, amount);
+    }
+
+    /**
+     * Parses a "Deposit" or "Withdrawal" type label, as used by {@link Account#processTransaction}.
+     *
+     * @throws IllegalArgumentException for any other type
+     */
+    public static BatchOperation of(String accountNumber, String type, double amount) {
+        TransactionType kind = TransactionType.lookup(type);
+        if (kind == TransactionType.DEPOSIT) {
+            return deposit(accountNumber, amount);
+        }
+        if (kind == TransactionType.WITHDRAWAL) {
+            return withdrawal(accountNumber, amount);
+        }
+        throw new IllegalArgumentException("Unsupported batch transaction type: " + type);
+    }
+
+    /** @return transaction type recorded in the ledger. */
+    public TransactionType type() {
+        return deposit ? TransactionType.DEPOSIT : TransactionType.WITHDRAWAL;
+    }
+}
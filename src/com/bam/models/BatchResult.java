@@ -0,0 +1,45 @@
+package com.bam.models;
+
+/**
+ * Outcome of one {@link BatchOperation}. A rejection keeps its {@link TransactionOutcome}, so the
+ * message explaining it is only built when {@link #error()} is read.
+ *
+ * @param operation   the operation this result belongs to
+ * @param outcome     whether the operation was applied and the balance it left, or why it was
+ *                    declined; {@code null} when it was rejected before reaching the account
+ * @param rejection   reason an operation that never reached the account was rejected, otherwise {@code null}
+ * @param transaction ledger entry recorded for the operation, {@code null} until recorded
+ */
+public record BatchResult(BatchOperation operation, TransactionOutcome outcome, String rejection,
+                          Transaction transaction) {
+
+    /** @return result of an operation the account applied or declined with {@code outcome}. */
+    public static BatchResult of(BatchOperation operation, TransactionOutcome outcome) {
+        return new BatchResult(operation, outcome, null, null);
+    }
+
+    /** @return result of an operation rejected for {@code error} before reaching an account. */
+    public static BatchResult rejected(BatchOperation operation, String error) {
+        return new BatchResult(operation, null, error, null);
+    }
+
+    /** @return whether the operation was applied. */
+    public boolean success() {
+        return outcome != null && outcome.isApplied();
+    }
+
+    /** @return account balance right after the operation when applied, otherwise 0. */
+    public long balanceAfterCents() {
+        return success() ? outcome.balanceCents() : 0;
+    }
+
+    /** @return reason the operation was rejected, {@code null} when applied. */
+    public String error() {
+        return outcome == null ? rejection : outcome.message();
+    }
+
+    /** @return this result with its recorded ledger entry attached. */
+    public BatchResult withTransaction(Transaction recorded) {
+        return new BatchResult(operation, outcome, rejection, recorded);
+    }
+}
@@ -3,7 +3,9 @@ package com.bam.models;
 import com.bam.exceptions.InvalidWithdrawalAmountException;
 import com.bam.exceptions.OverdraftExceededException;
 import com.bam.utils.InputValidator;
+import com.bam.utils.Money;
 
+import java.time.YearMonth;
 
 /**
  * Checking account variant with overdraft support and optional monthly fees.
@@ -12,7 +14,9 @@ public class CheckingAccount extends Account {
     private final double overdraftLimit;
     private final double monthlyFee;
     public static final double OVERDRAFT_LIMIT = 1000.0;
+    public static final long OVERDRAFT_LIMIT_CENTS = Money.toCents(OVERDRAFT_LIMIT);
     public static final double MONTHLY_FEE = 10.0;
+    private volatile YearMonth feesChargedThrough;
 
     /**
      * Creates a checking account that auto-generates an account number.
@@ -37,7 +41,7 @@ public class CheckingAccount extends Account {
         System.out.println("Account ID: " + accountNumber);
         System.out.printf("Customer: %s (%s)\n", customer.getName(), customer.getCustomerType());
         System.out.println("Type: " + getAccountType());
-        System.out.printf("Balance: $%.2f (overdraft included)\n", (balance + overdraftLimit));
+        System.out.printf("Balance: $%.2f (overdraft included)\n", (getBalance() + overdraftLimit));
         System.out.println("Overdraft Limit: $" + overdraftLimit);
         System.out.println("Monthly Fee: $" + monthlyFee);
         System.out.println("Status: " + status);
@@ -49,6 +53,13 @@ public class CheckingAccount extends Account {
         return "Checking";
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public TransactionOutcome checkWithdrawalCents(long amountCents, long balanceCents) {
+        return TransactionOutcome.withdrawal(amountCents, balanceCents, -OVERDRAFT_LIMIT_CENTS,
+                TransactionOutcome.Status.OVERDRAFT_EXCEEDED);
+    }
+
     /**
      * Validates and withdraws funds from the checking account balance,
      * allowing overdraft up to the configured limit.
@@ -58,29 +69,51 @@ public class CheckingAccount extends Account {
      */
     @Override
     public boolean withdraw(double amount) throws OverdraftExceededException, InvalidWithdrawalAmountException {
-        InputValidator validator = new InputValidator();
-        synchronized (this) {
-            validator.validateCheckingWithdrawal(amount, balance);
-            balance -= amount;
-            return true;
-        }
+        new InputValidator().requireCheckingWithdrawal(tryWithdraw(amount));
+        return true;
     }
 
     /**
      * Deducts the monthly maintenance fee unless the customer qualifies for a waiver.
      */
     public void applyMonthlyFee() {
-        // Check if customer is premium to waive fee?
-        // Instructions say "Premium customers have waived monthly fees".
-        // So we should check the customer type.
-        if (customer instanceof PremiumCustomer && ((PremiumCustomer) customer).hasWaivedFees()) {
+        if (hasWaivedFees(customer)) {
             System.out.println("Monthly fee waived for Premium customer.");
         } else {
-            balance -= monthlyFee;
+            chargeMonthlyFee();
             System.out.println("Monthly fee applied: $" + monthlyFee);
         }
     }
 
+    /**
+     * Deducts the monthly fee in one atomic update, without the waiver check or console output.
+     * Fees are charged even when they take the balance past the overdraft limit; callers check
+     * the returned balance against {@link #OVERDRAFT_LIMIT_CENTS} to report such accounts.
+     *
+     * @return the resulting balance in cents
+     */
+    public long chargeMonthlyFee() {
+        return adjustBalance(-Money.toCents(monthlyFee));
+    }
+
+    /** @return last month the monthly fee has been charged for, or {@code null} if it never has. */
+    public YearMonth getFeesChargedThrough() {
+        return feesChargedThrough;
+    }
+
+    /**
+     * Records that the monthly fee has been charged for {@code month}; persisted with the account
+     * so a later run for the same month skips it.
+     */
+    public void setFeesChargedThrough(YearMonth month) {
+        this.feesChargedThrough = month;
+    }
+
+    /** @return whether {@code customer} is exempt from monthly fees. */
+    public static boolean hasWaivedFees(Customer customer) {
+        return customer instanceof PremiumCustomer premium && premium.hasWaivedFees();
+    }
+
     /** @return overdraft buffer available for withdrawals. */
     public double getOverdraftLimit() {
         return overdraftLimit;
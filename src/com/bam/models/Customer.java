@@ -1,16 +1,23 @@
 package com.bam.models;
 
+import com.bam.utils.AccountNumbers;
+
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Base abstraction for bank customers, providing identity and contact info.
  */
 public abstract class Customer {
+    /** Prefix of every customer ID. */
+    public static final String PREFIX = "CUST";
+
     protected String customerId;
     protected String name;
     protected int age;
     protected String contact;
     protected String email;
     protected String address;
-    protected static int customerCounter = 1;
+    private static final AtomicLong customerCounter = new AtomicLong(1);
 
     /**
      * Creates a new customer with an auto-generated ID.
@@ -43,10 +50,10 @@ public abstract class Customer {
     }
 
     /**
-     * Assigns the next sequential customer ID.
+     * Assigns the next sequential customer ID; safe to call from concurrent threads.
      */
     private String generateCustomerId() {
-        return String.format("CUST%03d", customerCounter++);
+        return AccountNumbers.format(PREFIX, customerCounter.getAndIncrement());
     }
 
     /** Prints customer-specific details. */
@@ -88,9 +95,9 @@ public abstract class Customer {
     /**
      * Updates static counter so newly created customers do not collide with persisted ones.
      */
-    public static void setCustomerCounter(int nextCounter) {
+    public static void setCustomerCounter(long nextCounter) {
         if (nextCounter > 0) {
-            customerCounter = nextCounter;
+            customerCounter.set(nextCounter);
         }
     }
 }
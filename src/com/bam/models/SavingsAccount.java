@@ -3,6 +3,9 @@ package com.bam.models;
 import com.bam.exceptions.InsufficientFundsException;
 import com.bam.exceptions.InvalidWithdrawalAmountException;
 import com.bam.utils.InputValidator;
+import com.bam.utils.Money;
+
+import java.time.LocalDate;
 
 /**
  * Savings account variant enforcing minimum balance and interest accrual.
@@ -11,7 +14,9 @@ public class SavingsAccount extends Account {
     private final double interestRate;
     private final double minimumBalance;
     public static final double MINIMUM_BALANCE = 500.0;
+    public static final long MINIMUM_BALANCE_CENTS = Money.toCents(MINIMUM_BALANCE);
     public static final double INTEREST_RATE = 3.5;
+    private volatile LocalDate interestAccruedThrough;
 
     /**
      * Creates a new savings account with the default interest rate and minimum balance.
@@ -37,7 +42,7 @@ public class SavingsAccount extends Account {
         System.out.println("Account ID: " + accountNumber);
         System.out.printf("Customer: %s (%s)\n", customer.getName(), customer.getCustomerType());
         System.out.println("Type: " + getAccountType());
-        System.out.println("Balance: $" + balance);
+        System.out.println("Balance: $" + getBalance());
         System.out.println("Interest Rate: " + interestRate + "%");
         System.out.println("Minimum Balance: $" + minimumBalance);
         System.out.println("Status: " + status);
@@ -49,6 +54,13 @@ public class SavingsAccount extends Account {
         return "Savings";
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public TransactionOutcome checkWithdrawalCents(long amountCents, long balanceCents) {
+        return TransactionOutcome.withdrawal(amountCents, balanceCents, MINIMUM_BALANCE_CENTS,
+                TransactionOutcome.Status.INSUFFICIENT_FUNDS);
+    }
+
     /**
      * Validates and withdraws funds from the savings account balance,
      * ensuring minimum balance requirements are met.
@@ -58,23 +70,63 @@ public class SavingsAccount extends Account {
      */
     @Override
     public boolean withdraw(double amount) throws InsufficientFundsException, InvalidWithdrawalAmountException {
-        InputValidator validator = new InputValidator();
-        synchronized (this) {
-            validator.validateSavingsWithdrawal(amount, balance);
-            balance -= amount;
-            return true;
-        }
+        new InputValidator().requireSavingsWithdrawal(tryWithdraw(amount));
+        return true;
     }
 
     /**
      * Applies interest to the balance using the configured rate.
      */
     public void calculateInterest() {
-        double interest = balance * (interestRate / 100);
-        processTransaction(interest, "deposit");
+        double interest = getBalance() * (interestRate / 100);
+        processTransaction(interest, TransactionType.DEPOSIT);
         System.out.println("Interest calculated and added: $" + interest);
     }
 
+    /**
+     * Credits interest for one of {@code periodsPerYear} periods on the current balance as a
+     * single atomic update, without console output. Interest is rounded to the cent; when it
+     * rounds to zero the balance is left unchanged.
+     *
+     * @return interest credited and resulting balance
+     */
+    public Accrual accrueInterest(int periodsPerYear) {
+        while (true) {
+            long balance = getBalanceCents();
+            long interest = Math.round(balance * interestRate / 100 / periodsPerYear);
+            if (interest <= 0) {
+                return new Accrual(0, balance);
+            }
+            if (compareAndSetBalance(balance, balance + interest)) {
+                return new Accrual(interest, balance + interest);
+            }
+        }
+    }
+
+    /**
+     * Outcome of {@link #accrueInterest(int)}.
+     *
+     * @param interestCents     interest credited, in cents
+     * @param balanceAfterCents balance after the credit, in cents
+     */
+    public record Accrual(long interestCents, long balanceAfterCents) {
+    }
+
+    /**
+     * @return last business date interest has been accrued for, or {@code null} if it never has
+     */
+    public LocalDate getInterestAccruedThrough() {
+        return interestAccruedThrough;
+    }
+
+    /**
+     * Records that interest has been accrued for {@code businessDate}; persisted with the account
+     * so a later run for the same date skips it.
+     */
+    public void setInterestAccruedThrough(LocalDate businessDate) {
+        this.interestAccruedThrough = businessDate;
+    }
+
     /** @return annual interest rate percentage. */
     public double getInterestRate() {
         return interestRate;
@@ -1,64 +1,106 @@
 package com.bam.models;
 
-import com.bam.services.TransactionManager;
+import com.bam.utils.AccountNumbers;
 
-import java.util.ArrayList;
 import java.util.Date;
 
 /**
- * Immutable view of a ledger entry tying an amount, type, and timestamp to an account.
+ * Immutable ledger entry tying an amount, type, and timestamp to an account. A runtime
+ * transaction has no ID; the ledger records a copy carrying the assigned ID, so an instance never
+ * changes once it is visible to other threads and can be shared by snapshots without copying.
  */
 public class Transaction {
-    private String transactionId;
+    /** Prefix of every transaction ID, e.g. {@code TXN001}. */
+    public static final String ID_PREFIX = "TXN";
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final String transactionId;
     private final String accountNumber;
-    private final String type;
+    private final TransactionType type;
     private final double amount;
     private final double balanceAfter;
-    private Date timestamp;
-    private boolean idGenerated = false;
+    private final long timestamp;
+
+    /**
+     * Creates a runtime transaction; its ID is assigned when it is added to the ledger.
+     */
+    public Transaction(String accountNumber, TransactionType type, double amount, double balanceAfter) {
+        this(null, accountNumber, type, amount, balanceAfter, System.currentTimeMillis());
+    }
 
     /**
-     * Creates a runtime transaction that will generate its ID upon persistence.
+     * Creates a runtime transaction from a type label such as "Deposit".
+     *
+     * @throws IllegalArgumentException if {@code type} is not a transaction type label
      */
     public Transaction(String accountNumber, String type, double amount, double balanceAfter) {
-        this(null, accountNumber, type, amount, balanceAfter, new Date());
-        this.idGenerated = false;
+        this(accountNumber, TransactionType.fromLabel(type), amount, balanceAfter);
     }
 
     /**
      * Rehydrates a transaction from storage using the provided metadata.
      */
+    public Transaction(String transactionId, String accountNumber, TransactionType type, double amount, double balanceAfter, Date timestamp) {
+        this(transactionId, accountNumber, type, amount, balanceAfter, timestamp == null ? NO_TIMESTAMP : timestamp.getTime());
+    }
+
+    /**
+     * Rehydrates a transaction whose type is given as a label such as "Deposit".
+     *
+     * @throws IllegalArgumentException if {@code type} is not a transaction type label
+     */
     public Transaction(String transactionId, String accountNumber, String type, double amount, double balanceAfter, Date timestamp) {
+        this(transactionId, accountNumber, TransactionType.fromLabel(type), amount, balanceAfter, timestamp);
+    }
+
+    private Transaction(String transactionId, String accountNumber, TransactionType type, double amount, double balanceAfter, long timestamp) {
         this.transactionId = transactionId;
         this.accountNumber = accountNumber;
         this.type = type;
         this.amount = amount;
         this.balanceAfter = balanceAfter;
         this.timestamp = timestamp;
-        this.idGenerated = transactionId != null;
     }
 
     /**
-     * Generates a sequential transaction ID for the owning account when needed.
+     * @return copy of this transaction carrying {@code transactionId}.
      */
-    // Called after a transaction is added
-    public void generateTransactionId() {
-        if (!idGenerated) {
-            java.util.List<Transaction> accountTransactions = TransactionManager.getTransactions(accountNumber);
-            int count = accountTransactions.size();
-            transactionId = String.format("TXN%03d", count);
-            idGenerated = true; // making the id generation idempotent
-        }
+    public Transaction withTransactionId(String transactionId) {
+        return new Transaction(transactionId, accountNumber, type, amount, balanceAfter, timestamp);
     }
 
-    /** @return identifier (may be null prior to persistence). */
+    /** @return identifier (null until the transaction is added to the ledger). */
     public String getTransactionId() {
         return transactionId;
     }
 
-    /** @return transaction timestamp. */
+    /**
+     * @return sequence number of the ID, e.g. 12 for TXN012, 0 when not numbered or when the ID is
+     * not exactly what {@link #formatId(int)} writes for its number
+     */
+    public int getSequence() {
+        long sequence = AccountNumbers.parse(transactionId, ID_PREFIX);
+        return sequence > 0 && sequence <= Integer.MAX_VALUE ? (int) sequence : 0;
+    }
+
+    /** @return transaction ID with {@code sequence}, e.g. TXN012, formatted without {@code String.format}. */
+    public static String formatId(int sequence) {
+        return AccountNumbers.format(ID_PREFIX, sequence);
+    }
+
+    /** @return copy of the transaction timestamp, {@code null} when unknown. */
     public Date getTimestamp() {
-        return timestamp;
+        return timestamp == NO_TIMESTAMP ? null : new Date(timestamp);
+    }
+
+    /** @return transaction timestamp in epoch millis, 0 when unknown. */
+    public long getTimestampMillis() {
+        return timestamp == NO_TIMESTAMP ? 0 : timestamp;
+    }
+
+    /** @return whether the transaction has a timestamp. */
+    public boolean hasTimestamp() {
+        return timestamp != NO_TIMESTAMP;
     }
 
     /** @return account number the transaction applies to. */
@@ -66,8 +108,8 @@ public class Transaction {
         return accountNumber;
     }
 
-    /** @return transaction type label. */
-    public String getType() {
+    /** @return transaction type. */
+    public TransactionType getType() {
         return type;
     }
 
@@ -81,30 +123,6 @@ public class Transaction {
         return balanceAfter;
     }
 
-    /**
-     * Allows explicitly setting a transaction ID when reloading persisted entries.
-     */
-    public void setTransactionId(String transactionId) {
-        this.transactionId = transactionId;
-        this.idGenerated = transactionId != null;
-    }
-
-    /**
-     * Exposes the generated-flag so clone operations can copy state safely.
-     */
-    public boolean isIdGenerated() {
-        return idGenerated;
-    }
-
-    /**
-     * Updates the timestamp for reloaded entries.
-     */
-    public void setTimestamp(Date timestamp) {
-         if (timestamp != null) {
-             this.timestamp = timestamp;
-         }
-     }
-
     /**
      * Prints a human-readable breakdown of the transaction for CLI confirmation dialogs.
      */
@@ -113,8 +131,8 @@ public class Transaction {
         System.out.println("Account Number: " + accountNumber);
         System.out.println("Type: " + type);
         System.out.printf("Amount: $%.2f%n", amount);
-        System.out.printf("Previous Balance: $%.2f%n", type.equalsIgnoreCase("Deposit") ? balanceAfter - amount : balanceAfter + amount);
+        System.out.printf("Previous Balance: $%.2f%n", type.isCredit() ? balanceAfter - amount : balanceAfter + amount);
         System.out.printf("New Balance: $%.2f%n", balanceAfter);
-        System.out.println("Timestamp: " + timestamp);
+        System.out.println("Timestamp: " + getTimestamp());
     }
 }
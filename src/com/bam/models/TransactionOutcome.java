@@ -0,0 +1,82 @@
+package com.bam.models;
+
+import com.bam.utils.Money;
+
+/**
+ * Result of a deposit or withdrawal attempted without exceptions. A declined withdrawal reports
+ * why and by how much it fell short instead of throwing, so declines cost no more than approvals;
+ * the message an exception would have carried is only built when {@link #message()} is asked for.
+ *
+ * @param status         whether the operation was applied and, if not, why
+ * @param balanceCents   balance after the operation when applied, otherwise the balance it was checked against
+ * @param shortfallCents additional funds a declined withdrawal needed, in cents; 0 otherwise
+ */
+public record TransactionOutcome(Status status, long balanceCents, long shortfallCents) {
+    /** Outcome of a deposit of zero or less. */
+    public static final TransactionOutcome INVALID_DEPOSIT = new TransactionOutcome(Status.INVALID_DEPOSIT_AMOUNT, 0, 0);
+    /** Outcome of a withdrawal of zero or less. */
+    public static final TransactionOutcome INVALID_WITHDRAWAL = new TransactionOutcome(Status.INVALID_WITHDRAWAL_AMOUNT, 0, 0);
+
+    /**
+     * Why an operation was or was not applied.
+     */
+    public enum Status {
+        APPLIED,
+        INVALID_DEPOSIT_AMOUNT,
+        INVALID_WITHDRAWAL_AMOUNT,
+        /** The withdrawal would take a savings account below its minimum balance. */
+        INSUFFICIENT_FUNDS,
+        /** The withdrawal would take a checking account past its overdraft limit. */
+        OVERDRAFT_EXCEEDED
+    }
+
+    /** @return outcome of an operation that left the balance at {@code balanceAfterCents}. */
+    public static TransactionOutcome applied(long balanceAfterCents) {
+        return new TransactionOutcome(Status.APPLIED, balanceAfterCents, 0);
+    }
+
+    /**
+     * Checks a withdrawal of {@code amountCents} from {@code balanceCents} against the lowest
+     * balance it may leave.
+     *
+     * @param floorCents      lowest balance allowed after the withdrawal
+     * @param shortfallStatus status to decline with when the withdrawal goes below the floor
+     * @return {@link Status#APPLIED} with the balance the withdrawal would leave, or why it is declined
+     */
+    public static TransactionOutcome withdrawal(long amountCents, long balanceCents, long floorCents, Status shortfallStatus) {
+        if (amountCents <= 0) {
+            return INVALID_WITHDRAWAL;
+        }
+        long balanceAfter = balanceCents - amountCents;
+        if (balanceAfter < floorCents) {
+            return new TransactionOutcome(shortfallStatus, balanceCents, floorCents - balanceAfter);
+        }
+        return applied(balanceAfter);
+    }
+
+    /** @return whether the operation was applied. */
+    public boolean isApplied() {
+        return status == Status.APPLIED;
+    }
+
+    /** @return additional funds a declined withdrawal needed. */
+    public double shortfall() {
+        return Money.toDollars(shortfallCents);
+    }
+
+    /** @return the explanation shown for a declined operation, {@code null} when applied. */
+    public String message() {
+        return switch (status) {
+            case APPLIED -> null;
+            case INVALID_DEPOSIT_AMOUNT -> "Deposit amount must be greater than zero.";
+            case INVALID_WITHDRAWAL_AMOUNT -> "Withdrawal amount must be greater than zero.";
+            case INSUFFICIENT_FUNDS -> String.format(
+                    "You do not have sufficient funds (%.2f) to perform this transaction\n" +
+                            "You need a minimum balance of $%.2f in your account",
+                    Money.toDollars(balanceCents), SavingsAccount.MINIMUM_BALANCE);
+            case OVERDRAFT_EXCEEDED -> String.format("Overdraft limit exceeded\n" +
+                            "You do not have sufficient funds ($%.2f + $%.2f overdraft limit) to perform this transaction",
+                    Money.toDollars(balanceCents), CheckingAccount.OVERDRAFT_LIMIT);
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package com.bam.models;
+
+import java.util.List;
+
+/**
+ * One page of an account's history, newest first.
+ *
+ * @param transactions the page's transactions
+ * @param nextCursor   cursor for the following (older) page, {@code null} on the last page
+ */
+public record TransactionPage(List<Transaction> transactions, String nextCursor) {
+
+    /** @return whether older transactions follow this page. */
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
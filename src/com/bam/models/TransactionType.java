@@ -0,0 +1,97 @@
+package com.bam.models;
+
+/**
+ * Kind of a ledger entry. Code works with the constants; the labels ("Deposit", "Transfer In", ...)
+ * appear only where transactions are read from or shown to users and files, and the binary ledger
+ * stores the one-byte {@link #code()}. Codes are written to disk, so each constant carries its
+ * own and reordering or inserting constants does not change them; never reuse a code.
+ */
+public enum TransactionType {
+    DEPOSIT(1, "Deposit", true),
+    WITHDRAWAL(2, "Withdrawal", false),
+    TRANSFER_IN(3, "Transfer In", true),
+    TRANSFER_OUT(4, "Transfer Out", false),
+    INTEREST(5, "Interest", true),
+    FEE(6, "Fee", false);
+
+    private static final TransactionType[] VALUES = values();
+    private static final TransactionType[] BY_CODE = new TransactionType[Byte.MAX_VALUE + 1];
+
+    static {
+        for (TransactionType type : VALUES) {
+            if (BY_CODE[type.code] != null) {
+                throw new IllegalStateException("Duplicate transaction type code: " + type.code);
+            }
+            BY_CODE[type.code] = type;
+        }
+    }
+
+    private final byte code;
+    private final String label;
+    private final boolean credit;
+
+    TransactionType(int code, String label, boolean credit) {
+        this.code = (byte) code;
+        this.label = label;
+        this.credit = credit;
+    }
+
+    /** @return display and file label, e.g. "Transfer In". */
+    public String label() {
+        return label;
+    }
+
+    /** @return whether the transaction adds to the balance. */
+    public boolean isCredit() {
+        return credit;
+    }
+
+    /** @return one-byte code stored in the binary ledger, starting at 1. */
+    public byte code() {
+        return code;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code code} is not a transaction type code
+     */
+    public static TransactionType fromCode(byte code) {
+        TransactionType type = lookupCode(code);
+        if (type == null) {
+            throw new IllegalArgumentException("Unsupported transaction type code: " + code);
+        }
+        return type;
+    }
+
+    /** @return type with {@code code}, or {@code null} when there is none. */
+    public static TransactionType lookupCode(byte code) {
+        return code < 1 ? null : BY_CODE[code];
+    }
+
+    /**
+     * Parses a label, ignoring case.
+     *
+     * @throws IllegalArgumentException if {@code label} is not a transaction type label
+     */
+    public static TransactionType fromLabel(String label) {
+        TransactionType type = lookup(label);
+        if (type == null) {
+            throw new IllegalArgumentException("Unsupported transaction type: " + label);
+        }
+        return type;
+    }
+
+    /** @return type with {@code label}, ignoring case, or {@code null} when there is none. */
+    public static TransactionType lookup(String label) {
+        for (TransactionType type : VALUES) {
+            if (type.label.equalsIgnoreCase(label)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,10 @@
+package com.bam.models;
+
+/**
+ * One debit or credit of a multi-leg transfer, e.g. one recipient of a bulk payout.
+ *
+ * @param accountNumber account the leg applies to
+ * @param amount        amount taken from or paid into the account
+ */
+public record TransferLeg(String accountNumber, double amount) {
+}
@@ -0,0 +1,24 @@
+package com.bam.models;
+
+import java.util.List;
+
+/**
+ * Outcome of a multi-leg transfer, which is applied in full or not at all.
+ *
+ * @param success      whether every leg was applied
+ * @param error        reason the transfer was rejected, {@code null} when applied
+ * @param transactions ledger entries recorded for the legs, debits first, in input order; empty
+ *                     when rejected
+ */
+public record TransferResult(boolean success, String error, List<Transaction> transactions) {
+
+    /** @return result of a transfer that recorded {@code transactions}. */
+    public static TransferResult applied(List<Transaction> transactions) {
+        return new TransferResult(true, null, transactions);
+    }
+
+    /** @return result of a transfer rejected for {@code error}. */
+    public static TransferResult rejected(String error) {
+        return new TransferResult(false, error, List.of());
+    }
+}
@@ -0,0 +1,148 @@
+package com.bam.services;
+
+import com.bam.models.Account;
+import com.bam.models.Transaction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+
+/**
+ * Fork-join driver shared by the periodic account jobs. Accounts are split into partitions that
+ * run in parallel; each partition applies {@link #apply} to its accounts, appends the resulting
+ * transactions to the ledger in one batch and commits them together. Every transaction of a run
+ * carries the time the run started; jobs recognise accounts an earlier, interrupted run already
+ * handled by a period marker kept on the account and committed with it.
+ *
+ * @param <A> account type the job applies to
+ */
+abstract class AccountBatchJob<A extends Account> {
+    /** Default number of accounts per partition. */
+    public static final int DEFAULT_PARTITION_SIZE = 1_024;
+
+    private final TransactionManager transactionManager;
+    private final BiConsumer<Collection<Account>, Collection<Transaction>> commit;
+    private final ForkJoinPool pool;
+    private final int partitionSize;
+    private volatile boolean cancelled;
+
+    AccountBatchJob(TransactionManager transactionManager, BiConsumer<Collection<Account>, Collection<Transaction>> commit,
+                    ForkJoinPool pool, int partitionSize) {
+        if (partitionSize < 1) {
+            throw new IllegalArgumentException("Partition size must be positive: " + partitionSize);
+        }
+        this.transactionManager = transactionManager;
+        this.commit = commit;
+        this.pool = pool;
+        this.partitionSize = partitionSize;
+    }
+
+    /**
+     * Stops the current run after the partitions already in progress; their results are kept.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Updates one account and counts the outcome in {@code tally}.
+     *
+     * @return the transaction to record, {@code null} when the account was skipped
+     */
+    abstract Transaction apply(A account, Date timestamp, Tally tally);
+
+    /**
+     * Runs {@link #apply} over {@code accounts} in parallel partitions.
+     */
+    final Tally runPartitions(List<A> accounts, long timestamp) {
+        cancelled = false;
+        return pool.invoke(new Partition(accounts, 0, accounts.size(), new Date(timestamp)));
+    }
+
+    /** @return whether the run was cancelled. */
+    final boolean isCancelled() {
+        return cancelled;
+    }
+
+    private Tally process(List<A> accounts, Date timestamp) {
+        Tally tally = new Tally();
+        if (cancelled) {
+            tally.pending = accounts.size();
+            return tally;
+        }
+        List<Account> updated = new ArrayList<>();
+        List<Transaction> transactions = new ArrayList<>();
+        for (A account : accounts) {
+            Transaction transaction = apply(account, timestamp, tally);
+            if (transaction != null) {
+                updated.add(account);
+                transactions.add(transaction);
+            }
+        }
+        if (!transactions.isEmpty()) {
+            commit.accept(updated, transactionManager.addTransactions(transactions));
+        }
+        return tally;
+    }
+
+    /**
+     * Splits the account range in halves until it fits a partition.
+     */
+    private final class Partition extends RecursiveTask<Tally> {
+        private final List<A> accounts;
+        private final int from;
+        private final int to;
+        private final Date timestamp;
+
+        Partition(List<A> accounts, int from, int to, Date timestamp) {
+            this.accounts = accounts;
+            this.from = from;
+            this.to = to;
+            this.timestamp = timestamp;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= partitionSize) {
+                return process(accounts.subList(from, to), timestamp);
+            }
+            int middle = (from + to) >>> 1;
+            Partition left = new Partition(accounts, from, middle, timestamp);
+            left.fork();
+            Tally right = new Partition(accounts, middle, to, timestamp).compute();
+            return left.join().add(right);
+        }
+    }
+
+    /**
+     * Counts of one partition or the sum of several.
+     */
+    static final class Tally {
+        /** Accounts updated by this run. */
+        int applied;
+        /** Accounts an earlier run already handled. */
+        int alreadyApplied;
+        /** Accounts left unchanged, e.g. zero interest or a waived fee. */
+        int skipped;
+        /** Accounts not reached because the run was cancelled. */
+        int pending;
+        /** Total amount moved, in cents. */
+        long amountCents;
+        /** Accounts this run left past their overdraft limit. */
+        List<String> pastLimit = new ArrayList<>();
+
+        Tally add(Tally other) {
+            applied += other.applied;
+            alreadyApplied += other.alreadyApplied;
+            skipped += other.skipped;
+            pending += other.pending;
+            amountCents += other.amountCents;
+            pastLimit.addAll(other.pastLimit);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.bam.services;
+
+import com.bam.models.Transaction;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Append-only transaction history of a single account. Appends are serialized on the ledger's
+ * own monitor, so appends to different accounts never contend. Readers take no lock at all: the
+ * entries and their count are published together as one immutable {@link View}, and a view only
+ * ever covers array slots that are never written again, so {@link #snapshot()} is a consistent
+ * O(1) copy-free list that later appends cannot change.
+ * <p>
+ * In lazy mode the persisted history may not be resident: the ledger then holds only the
+ * transactions added since the last checkpoint until {@link #load} pages the history in, and
+ * {@link #evict} drops it again.
+ * <p>
+ * Every append also updates the ledger's {@link TransactionSummary}. The summary covers the full
+ * history once it has been built from it, and keeps doing so after the history is evicted.
+ * <p>
+ * A ledger seeded from a {@link ColumnarTransactionStore} keeps the store's account view as an
+ * immutable base in front of its entries array, so seeded rows stay in primitive form and only
+ * transactions appended afterwards are held as objects.
+ */
+public final class AccountLedger {
+    private static final Transaction[] NONE = new Transaction[0];
+
+    /**
+     * @param base          immutable transactions in front of {@code entries}
+     * @param size          number of used {@code entries} slots
+     * @param chronological whether base and entries are in {@link TimeOrderedIndex#ORDER}
+     */
+    private record View(List<Transaction> base, Transaction[] entries, int size, boolean chronological) {
+        static View of(List<Transaction> base, Transaction[] entries, int size) {
+            List<Transaction> all = new Snapshot(base, entries, size);
+            boolean chronological = true;
+            Transaction previous = null;
+            for (Transaction transaction : all) {
+                if (previous != null && TimeOrderedIndex.ORDER.compare(previous, transaction) > 0) {
+                    chronological = false;
+                    break;
+                }
+                previous = transaction;
+            }
+            return new View(base, entries, size, chronological);
+        }
+
+        static View of(Transaction[] entries, int size) {
+            return of(List.of(), entries, size);
+        }
+
+        int total() {
+            return base.size() + size;
+        }
+
+        List<Transaction> list() {
+            return total() == 0 ? List.of() : new Snapshot(base, entries, size);
+        }
+
+        /** @return view without the first {@code count} transactions, which no longer shares a base. */
+        View dropFirst(int count) {
+            Transaction[] rest = list().subList(count, total()).toArray(NONE);
+            return of(rest, rest.length);
+        }
+    }
+
+    private record IndexedView(View view, TimeOrderedIndex index) {
+    }
+
+    private volatile View view = new View(List.of(), NONE, 0, true);
+    private volatile IndexedView indexed;
+    private int highestSequence;
+    private boolean resident;
+    private int persisted;
+    private TransactionSummary summary = new TransactionSummary();
+    private boolean summaryComplete;
+
+    /**
+     * Creates a ledger holding {@code transactions}.
+     *
+     * @param highestSequence highest transaction sequence already used by the account
+     * @param resident        whether {@code transactions} include the persisted history
+     */
+    AccountLedger(List<Transaction> transactions, int highestSequence, boolean resident) {
+        this.highestSequence = highestSequence;
+        this.resident = resident;
+        Transaction[] entries = transactions.toArray(NONE);
+        view = View.of(entries, entries.length);
+        transactions.forEach(summary::add);
+        summaryComplete = resident;
+    }
+
+    /**
+     * Creates a resident ledger whose history is {@code base}, typically a
+     * {@link ColumnarTransactionStore#accountView(String)}; {@code base} is kept, not copied.
+     */
+    AccountLedger(List<Transaction> base, int highestSequence) {
+        this.highestSequence = highestSequence;
+        this.resident = true;
+        view = View.of(base, NONE, 0);
+        base.forEach(summary::add);
+        summaryComplete = true;
+    }
+
+    /**
+     * Appends a copy of {@code transaction} carrying the next transaction ID.
+     *
+     * @return the appended copy
+     */
+    synchronized Transaction append(Transaction transaction) {
+        highestSequence++;
+        transaction = transaction.withTransactionId(Transaction.formatId(highestSequence));
+        View current = view;
+        Transaction[] entries = current.entries();
+        if (current.size() == entries.length) {
+            entries = Arrays.copyOf(entries, Math.max(8, entries.length * 2));
+        }
+        entries[current.size()] = transaction;
+        Transaction previous = current.size() > 0 ? entries[current.size() - 1]
+                : current.base().isEmpty() ? null : current.base().get(current.base().size() - 1);
+        boolean chronological = current.chronological()
+                && (previous == null || TimeOrderedIndex.ORDER.compare(previous, transaction) <= 0);
+        view = new View(current.base(), entries, current.size() + 1, chronological);
+        summary.add(transaction);
+        return transaction;
+    }
+
+    /**
+     * Appends copies of {@code transactions} carrying the next IDs in one step.
+     *
+     * @return the appended copies, in order
+     */
+    synchronized List<Transaction> appendAll(List<Transaction> transactions) {
+        Transaction[] appended = new Transaction[transactions.size()];
+        for (int i = 0; i < appended.length; i++) {
+            appended[i] = append(transactions.get(i));
+        }
+        return Arrays.asList(appended);
+    }
+
+    /**
+     * @return the transactions appended so far; never changes afterwards.
+     */
+    public List<Transaction> snapshot() {
+        return view.list();
+    }
+
+    /**
+     * @return time-ordered index over the current snapshot; reused until the next append, and
+     * free to build while the ledger is in time order.
+     */
+    public TimeOrderedIndex timeIndex() {
+        View current = view;
+        IndexedView cached = indexed;
+        if (cached != null && cached.view() == current) {
+            return cached.index();
+        }
+        TimeOrderedIndex index = TimeOrderedIndex.of(current.list(), current.chronological());
+        indexed = new IndexedView(current, index);
+        return index;
+    }
+
+    /** @return number of transactions currently held. */
+    public int size() {
+        return view.total();
+    }
+
+    /**
+     * @return copy of the running totals.
+     */
+    synchronized TransactionSummary summary() {
+        return summary.copy();
+    }
+
+    /** @return whether the running totals cover the persisted history too. */
+    synchronized boolean hasCompleteSummary() {
+        return summaryComplete;
+    }
+
+    /** @return whether the persisted history is held in memory. */
+    synchronized boolean isResident() {
+        return resident;
+    }
+
+    /**
+     * Installs the persisted history in front of the transactions added since the last checkpoint.
+     */
+    synchronized void load(List<Transaction> history) {
+        if (resident) {
+            return;
+        }
+        View current = view;
+        Transaction[] entries = new Transaction[history.size() + current.size()];
+        history.toArray(entries);
+        System.arraycopy(current.entries(), 0, entries, history.size(), current.size());
+        persisted = history.size();
+        resident = true;
+        view = View.of(entries, entries.length);
+        if (!summaryComplete) {
+            summary = new TransactionSummary();
+            for (Transaction transaction : entries) {
+                summary.add(transaction);
+            }
+            summaryComplete = true;
+        }
+    }
+
+    /**
+     * Drops the persisted history from memory, keeping the transactions not yet checkpointed.
+     */
+    synchronized void evict() {
+        if (!resident) {
+            return;
+        }
+        view = view.dropFirst(persisted);
+        persisted = 0;
+        resident = false;
+    }
+
+    /**
+     * Captures the ledger for a checkpoint in one step.
+     */
+    synchronized Capture capture() {
+        View current = view;
+        return new Capture(resident, current.list(), resident ? current.total() - persisted : current.total());
+    }
+
+    /**
+     * Records that the oldest {@code count} transactions added since the last checkpoint are now
+     * in the persisted ledger.
+     */
+    synchronized void markPersisted(int count) {
+        View current = view;
+        if (resident) {
+            persisted = Math.min(current.total(), persisted + count);
+        } else if (count > 0) {
+            view = current.dropFirst(count);
+        }
+    }
+
+    /**
+     * State of a ledger at checkpoint time.
+     *
+     * @param resident whether {@code entries} include the persisted history
+     * @param entries  every transaction held at the time
+     * @param pending  number of trailing {@code entries} not yet in the persisted ledger
+     */
+    record Capture(boolean resident, List<Transaction> entries, int pending) {
+        /** @return the trailing transactions not yet in the persisted ledger. */
+        List<Transaction> unpersisted() {
+            return entries.subList(entries.size() - pending, entries.size());
+        }
+    }
+
+    /** @return highest transaction sequence used by the account. */
+    synchronized int highestSequence() {
+        return highestSequence;
+    }
+
+    /**
+     * Read-only base followed by the first {@code size} slots of an entries array; the covered
+     * slots are never written again.
+     */
+    private static final class Snapshot extends AbstractList<Transaction> implements RandomAccess {
+        private final List<Transaction> base;
+        private final Transaction[] entries;
+        private final int size;
+
+        Snapshot(List<Transaction> base, Transaction[] entries, int size) {
+            this.base = base;
+            this.entries = entries;
+            this.size = size;
+        }
+
+        @Override
+        public Transaction get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+            }
+            int baseSize = base.size();
+            return index < baseSize ? base.get(index) : entries[index - baseSize];
+        }
+
+        @Override
+        public int size() {
+            return base.size() + size;
+        }
+    }
+}
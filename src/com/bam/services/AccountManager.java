@@ -3,39 +3,76 @@ package com.bam.services;
 import com.bam.exceptions.InvalidAccountException;
 import com.bam.exceptions.InvalidAccountNumberException;
 import com.bam.models.Account;
+import com.bam.models.BatchOperation;
+import com.bam.models.BatchResult;
 import com.bam.models.CheckingAccount;
 import com.bam.models.Customer;
 import com.bam.models.RegularCustomer;
 import com.bam.models.SavingsAccount;
 import com.bam.models.Transaction;
+import com.bam.models.TransactionType;
+import com.bam.models.TransferLeg;
+import com.bam.models.TransferResult;
+import com.bam.utils.AccountNumbers;
 import com.bam.utils.InputHandler;
 import com.bam.utils.InputValidator;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Coordinates all account CRUD operations, persistence, and initial data seeding.
  */
 public class AccountManager {
-    private final Map<String, Account> accountLookup;
+    private final AccountRegistry accountRegistry = new AccountRegistry();
     private final InputHandler inputHandler;
     private final FilePersistenceService filePersistenceService;
     private final TransactionManager transactionManager;
     private final InputValidator validator = new InputValidator();
+    private final Object persistenceLock = new Object();
+    private final Set<String> dirtyAccounts = ConcurrentHashMap.newKeySet();
+    private final ExecutorService checkpointer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "checkpointer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean checkpointScheduled = new AtomicBoolean();
+    private int historyCacheSize;
+    private boolean compactLedger;
 
     /**
      * Creates a manager with interactive input handling and transaction coordination.
      */
     public AccountManager(InputHandler inputHandler, TransactionManager transactionManager) {
-        this.accountLookup = new HashMap<>();
+        this(inputHandler, transactionManager, new FilePersistenceService());
+    }
+
+    /**
+     * Creates a manager backed by the supplied persistence service.
+     */
+    public AccountManager(InputHandler inputHandler, TransactionManager transactionManager, FilePersistenceService filePersistenceService) {
         this.inputHandler = inputHandler;
         this.transactionManager = transactionManager;
-        this.filePersistenceService = new FilePersistenceService();
+        this.filePersistenceService = filePersistenceService;
     }
 
     // By default, this method should show success message and the customer details
@@ -50,16 +87,14 @@ public class AccountManager {
      * Registers an account, optionally suppressing user-facing output.
      */
     public void addAccount(Account account, boolean silent) {
-        if (accountLookup.putIfAbsent(account.getAccountNumber(), account) != null) {
-            throw new IllegalArgumentException(
-                    "Account number " + account.getAccountNumber() + " already exists.");
-        }
+        accountRegistry.register(account);
+        dirtyAccounts.add(account.getAccountNumber());
         if (!silent) {
             System.out.println("\nAccount created successfully!");
             account.displayAccountDetails();
             System.out.println("\nPress Enter to continue...");
             inputHandler.waitForEnter();
-            saveAllData();
+            recordCommit(List.of(account), List.of());
         }
     }
 
@@ -70,7 +105,7 @@ public class AccountManager {
      */
     public Account findAccount(String accountNumber) throws InvalidAccountException, InvalidAccountNumberException {
         validator.validateAccountNumberFormat(accountNumber);
-        Account account = accountLookup.get(accountNumber);
+        Account account = accountRegistry.find(accountNumber);
         if (account == null) {
             throw new InvalidAccountException("Account number " + accountNumber + " not found.");
         }
@@ -89,7 +124,7 @@ public class AccountManager {
         System.out.println(divider);
         System.out.printf(headerFormat, "ACC NO", "CUSTOMER NAME", "TYPE", "BALANCE", "STATUS");
         System.out.println(divider);
-        accountLookup.values().stream()
+        accountRegistry.snapshot().stream()
                 .sorted(Comparator.comparing(Account::getAccountNumber))
                 .forEach(account -> {
                     // For checking accounts, show balance + overdraft limit
@@ -135,17 +170,22 @@ public class AccountManager {
                     // Add row separator after each account
                     System.out.println(divider);
                 });
-        System.out.println("Total Accounts: " + accountLookup.size());
+        System.out.println("Total Accounts: " + accountRegistry.size());
         System.out.printf("Total Bank Balance: $%.2f%n", getTotalBalance());
         System.out.println("\nPress Enter to continue...");
         inputHandler.waitForEnter();
     }
 
     /**
-     * @return aggregate balance across all accounts.
+     * @return aggregate balance across all accounts, read in constant time from {@link #getBankTotals()}.
      */
     public double getTotalBalance() {
-        return accountLookup.values().stream().mapToDouble(Account::getBalance).sum();
+        return accountRegistry.totals().totalBalance();
+    }
+
+    /** @return bank-wide totals kept current as balances change. */
+    public BankTotals getBankTotals() {
+        return accountRegistry.totals();
     }
 
     /**
@@ -177,19 +217,19 @@ public class AccountManager {
                 balanceAfter = account.getBalance();
             }
 
-            Transaction txn = new Transaction(account.getAccountNumber(), "Deposit", initialDeposit, balanceAfter);
+            Transaction txn = new Transaction(account.getAccountNumber(), TransactionType.DEPOSIT, initialDeposit, balanceAfter);
             transactionManager.addTransaction(txn);
         }
     }
 
     /** @return live count of managed accounts. */
     public int getAccountCount() {
-        return accountLookup.size();
+        return accountRegistry.size();
     }
 
     /** @return defensive copy of the current accounts list. */
     public ArrayList<Account> getAccountsSnapshot() {
-        return new ArrayList<>(accountLookup.values());
+        return new ArrayList<>(accountRegistry.accounts());
     }
 
     /**
@@ -197,19 +237,18 @@ public class AccountManager {
      */
     public void loadPersistedData(TransactionManager transactionManager) {
         try {
-            var loadedAccounts = filePersistenceService.loadAccounts();
-            var loadedTransactions = filePersistenceService.loadTransactions();
-            accountLookup.clear();
-            loadedAccounts.forEach(account ->
-                accountLookup.put(account.getAccountNumber(), account)
-            );
+            var loadedData = filePersistenceService.loadState();
+            var loadedAccounts = loadedData.accounts();
+            var loadedTransactions = loadedData.transactions();
+            accountRegistry.replaceAll(loadedAccounts);
+            dirtyAccounts.clear();
             TransactionManager.seedTransactions(loadedTransactions);
             syncCounters();
-            if (accountLookup.isEmpty()) {
+            if (accountRegistry.isEmpty()) {
                 System.out.println("No persisted accounts found. Generating seed data...");
                 generateSeedAccounts(transactionManager);
             } else {
-                System.out.printf("Loaded %d accounts and %d transactions from disk.%n", accountLookup.size(), loadedTransactions.size());
+                System.out.printf("Loaded %d accounts and %d transactions from disk.%n", accountRegistry.size(), loadedTransactions.size());
             }
         } catch (IOException e) {
             System.out.println("Failed to load persisted data: " + e.getMessage());
@@ -228,20 +267,50 @@ public class AccountManager {
         }
     }
 
+    /**
+     * Initializes data like {@link #initializeData()} but loads only account balances and the
+     * ledger index; each account's transaction history is read on first access and at most
+     * {@code historyCacheSize} histories are kept in memory.
+     */
+    public void initializeDataLazily(int historyCacheSize) {
+        this.historyCacheSize = historyCacheSize;
+        initializeData();
+    }
+
+    /**
+     * Initializes data like {@link #initializeData()} but keeps the loaded transaction history in
+     * a {@link ColumnarTransactionStore} instead of one object per transaction.
+     */
+    public void initializeDataCompactly() {
+        this.compactLedger = true;
+        initializeData();
+    }
+
     private boolean loadPersistedData() {
+        boolean lazy = historyCacheSize > 0;
         try {
-            var loadedAccounts = filePersistenceService.loadAccounts();
-            var loadedTransactions = filePersistenceService.loadTransactions();
-            accountLookup.clear();
-            loadedAccounts.forEach(account ->
-                accountLookup.put(account.getAccountNumber(), account)
-            );
-            TransactionManager.seedTransactions(loadedTransactions);
+            var loadedData = lazy ? filePersistenceService.loadStateLazily() : filePersistenceService.loadState();
+            var loadedAccounts = loadedData.accounts();
+            var loadedTransactions = loadedData.transactions();
+            accountRegistry.replaceAll(loadedAccounts);
+            dirtyAccounts.clear();
+            if (lazy) {
+                TransactionManager.seedLazily(filePersistenceService, loadedTransactions,
+                        filePersistenceService.persistedSequences(), historyCacheSize);
+            } else if (compactLedger) {
+                TransactionManager.seedTransactions(ColumnarTransactionStore.of(loadedTransactions));
+            } else {
+                TransactionManager.seedTransactions(loadedTransactions);
+            }
             syncCounters();
-            if (accountLookup.isEmpty()) {
+            if (accountRegistry.isEmpty()) {
                 return false;
             }
-            System.out.printf("Loaded %d accounts and %d transactions from disk.%n", accountLookup.size(), loadedTransactions.size());
+            if (lazy) {
+                System.out.printf("Loaded %d accounts from disk; transaction history is read on demand.%n", accountRegistry.size());
+            } else {
+                System.out.printf("Loaded %d accounts and %d transactions from disk.%n", accountRegistry.size(), loadedTransactions.size());
+            }
             return true;
         } catch (IOException e) {
             System.out.println("Failed to load persisted data: " + e.getMessage());
@@ -250,34 +319,188 @@ public class AccountManager {
     }
 
     private void syncCounters() {
-        int maxAccount = accountLookup.values().stream()
-                .map(Account::getAccountNumber)
-                .map(str -> str.replace("ACC", ""))
-                .mapToInt(Integer::parseInt)
+        long maxAccount = accountRegistry.accounts().stream()
+                .mapToLong(Account::getAccountId)
                 .max()
                 .orElse(0);
-        Account.setAccountCounter(maxAccount + 1);
+        Account.setAccountCounter(Math.max(maxAccount, 0) + 1);
 
-        int maxCustomer = accountLookup.values().stream()
+        long maxCustomer = accountRegistry.accounts().stream()
                 .map(Account::getCustomer)
-                .map(Customer::getCustomerId)
-                .map(id -> id.replace("CUST", ""))
-                .mapToInt(Integer::parseInt)
+                .mapToLong(customer -> AccountNumbers.parse(customer.getCustomerId(), Customer.PREFIX))
                 .max()
                 .orElse(0);
-        Customer.setCustomerCounter(maxCustomer + 1);
+        Customer.setCustomerCounter(Math.max(maxCustomer, 0) + 1);
     }
 
     /**
-     * Saves current accounts and transactions to disk.
+     * Applies a batch of deposits and withdrawals (e.g. a payroll import) and journals every
+     * touched account and resulting transaction as a single commit.
+     *
+     * @return one result per operation, in input order
      */
-    public void saveAllData() {
+    public List<BatchResult> processBatch(List<BatchOperation> operations) {
+        List<BatchResult> results = transactionManager.applyBatch(operations, accountRegistry::find);
+        Map<String, Account> touched = new LinkedHashMap<>();
+        List<Transaction> transactions = new ArrayList<>();
+        for (BatchResult result : results) {
+            if (result.transaction() != null) {
+                transactions.add(result.transaction());
+                touched.computeIfAbsent(result.transaction().getAccountNumber(), accountRegistry::find);
+            }
+        }
+        if (!transactions.isEmpty()) {
+            recordCommit(touched.values(), transactions);
+        }
+        return results;
+    }
+
+    /**
+     * Moves money from the debit accounts to the credit accounts all-or-nothing, e.g. a payout
+     * from one account to many, and journals every leg as one commit; see
+     * {@link TransactionManager#transfer}.
+     */
+    public TransferResult transfer(List<TransferLeg> debits, List<TransferLeg> credits) {
+        TransferResult result = transactionManager.transfer(debits, credits, accountRegistry::find);
+        if (result.success()) {
+            Map<String, Account> touched = new LinkedHashMap<>();
+            result.transactions().forEach(txn -> touched.computeIfAbsent(txn.getAccountNumber(), accountRegistry::find));
+            recordCommit(touched.values(), result.transactions());
+        }
+        return result;
+    }
+
+    /**
+     * Accrues one day's interest on every savings account; see {@link InterestAccrualJob}. Running
+     * it again for the same date credits only the accounts an interrupted run did not reach.
+     */
+    public InterestAccrualJob.Report accrueInterest(LocalDate businessDate) {
+        return new InterestAccrualJob(transactionManager, this::recordCommit).run(getAccountsSnapshot(), businessDate);
+    }
+
+    /**
+     * Charges the monthly fee to every checking account whose customer is not exempt; see
+     * {@link MonthlyFeeJob}. Running it again for the same month charges only the accounts an
+     * interrupted run did not reach.
+     */
+    public MonthlyFeeJob.Report chargeMonthlyFees(YearMonth month) {
+        return new MonthlyFeeJob(transactionManager, this::recordCommit).run(getAccountsSnapshot(), month);
+    }
+
+    /**
+     * Durably records a committed operation by appending the touched accounts and the new
+     * transactions to the journal. The caller waits for its records to be forced outside the
+     * persistence lock, so concurrent commits are grouped into a single force by the journal
+     * writer. When the journal is due to be folded into a checkpoint, the checkpoint is handed to a
+     * background thread rather than run on the committing thread.
+     */
+    public void recordCommit(Collection<Account> accounts, Collection<Transaction> transactions) {
+        CompletableFuture<Void> durable;
+        synchronized (persistenceLock) {
+            accounts.forEach(account -> dirtyAccounts.add(account.getAccountNumber()));
+            transactions.forEach(txn -> dirtyAccounts.add(txn.getAccountNumber()));
+            try {
+                durable = filePersistenceService.appendToJournal(accounts, transactions);
+            } catch (IOException e) {
+                durable = CompletableFuture.failedFuture(e);
+            }
+        }
+        try {
+            FilePersistenceService.awaitJournal(durable);
+        } catch (IOException e) {
+            // The journal cannot hold the commit, so make it durable through a checkpoint instead.
+            System.out.println("Failed to journal commit: " + e.getMessage());
+            checkpoint();
+            return;
+        }
+        if (filePersistenceService.isCheckpointDue()) {
+            scheduleCheckpoint();
+        }
+    }
+
+    /**
+     * Runs a checkpoint on the background thread unless one is already pending.
+     */
+    private void scheduleCheckpoint() {
+        if (!checkpointScheduled.compareAndSet(false, true)) {
+            return;
+        }
         try {
-            filePersistenceService.saveAccounts(new ArrayList<>(accountLookup.values()));
-            filePersistenceService.saveTransactions(TransactionManager.allTransactions());
+            checkpointer.execute(() -> {
+                checkpointScheduled.set(false);
+                if (filePersistenceService.isCheckpointDue()) {
+                    checkpoint();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down; shutdown() takes the final checkpoint.
+            checkpointScheduled.set(false);
+        }
+    }
+
+    /**
+     * Checkpoints the shards holding accounts changed since the last save and resets the journal.
+     * Shards without dirty accounts are left untouched, so saving after a single transfer rewrites
+     * at most two shards; a full checkpoint is taken when files from another layout are present.
+     */
+    public void saveAllData() {
+        if (checkpoint()) {
             System.out.println("Data saved successfully.");
+        }
+    }
+
+    /**
+     * Takes the checkpoint described by {@link #saveAllData()} without reporting success.
+     *
+     * @return whether the checkpoint was written
+     */
+    private boolean checkpoint() {
+        synchronized (persistenceLock) {
+            try {
+                Set<String> saved = new HashSet<>(dirtyAccounts);
+                boolean full = filePersistenceService.isFullCheckpointRequired();
+                Set<Integer> shards = new HashSet<>();
+                saved.forEach(accountNumber -> shards.add(filePersistenceService.shardOf(accountNumber)));
+                Predicate<String> inScope = accountNumber -> full || shards.contains(filePersistenceService.shardOf(accountNumber));
+                List<Account> accounts = accountRegistry.accounts().stream()
+                        .filter(account -> inScope.test(account.getAccountNumber()))
+                        .collect(Collectors.toList());
+                TransactionManager.checkpoint(inScope, transactions -> {
+                    if (full) {
+                        filePersistenceService.checkpoint(accounts, transactions);
+                    } else {
+                        filePersistenceService.checkpointShards(shards, accounts, transactions);
+                    }
+                });
+                dirtyAccounts.removeAll(saved);
+                return true;
+            } catch (IOException e) {
+                System.out.println("Failed to save data: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /** @return account numbers changed since the last save. */
+    public Set<String> getDirtyAccounts() {
+        return Set.copyOf(dirtyAccounts);
+    }
+
+    /**
+     * Saves all data and releases the persistence resources (journal writer thread and file).
+     */
+    public void shutdown() {
+        checkpointer.shutdown();
+        try {
+            checkpointer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        saveAllData();
+        try {
+            filePersistenceService.close();
         } catch (IOException e) {
-            System.out.println("Failed to save data: " + e.getMessage());
+            System.out.println("Failed to close persistence: " + e.getMessage());
         }
     }
 }
@@ -0,0 +1,120 @@
+package com.bam.services;
+
+import com.bam.models.Account;
+import com.bam.utils.AccountNumbers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Accounts by account number, safe to share between request threads. Lookups take no lock: they
+ * read the current maps through a volatile reference and never block on writers. Registrations are
+ * serialized on the registry, and a reload builds complete new maps before swapping them in with a
+ * single write, so a lookup sees either the old accounts or the new ones, never a half-loaded mix.
+ * <p>
+ * Accounts are keyed on their numeric id ({@link Account#getAccountId()}), so looking up a
+ * number parses it once instead of hashing and comparing strings, and numbers typed with a
+ * check digit find the same account. The rare number outside the {@code ACC} scheme is kept in a
+ * separate map by its text.
+ * <p>
+ * The registry also keeps {@link BankTotals} for its accounts, so bank-wide figures are read in
+ * constant time. A reload starts new totals from the loaded accounts.
+ */
+public final class AccountRegistry {
+    private volatile Index index = new Index(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), new BankTotals());
+
+    /**
+     * Adds an account.
+     *
+     * @throws IllegalArgumentException if the account number is already registered
+     */
+    public synchronized void register(Account account) {
+        Index current = index;
+        if (current.put(account) != null) {
+            throw new IllegalArgumentException(
+                    "Account number " + account.getAccountNumber() + " already exists.");
+        }
+        current.totals.add(account);
+    }
+
+    /**
+     * Replaces every registered account with {@code replacement} in one atomic step.
+     */
+    public synchronized void replaceAll(Collection<? extends Account> replacement) {
+        Index loaded = new Index(new ConcurrentHashMap<>(Math.max(16, replacement.size() * 4 / 3 + 1)),
+                new ConcurrentHashMap<>(), new BankTotals());
+        for (Account account : replacement) {
+            if (loaded.put(account) == null) {
+                loaded.totals.add(account);
+            }
+        }
+        index = loaded;
+    }
+
+    /** @return the account with {@code accountNumber}, or {@code null} when none is registered. */
+    public Account find(String accountNumber) {
+        Index current = index;
+        long id = AccountNumbers.parse(accountNumber);
+        return id == AccountNumbers.INVALID
+                ? accountNumber == null ? null : current.irregular.get(accountNumber)
+                : current.numbered.get(id);
+    }
+
+    /** @return the account with numeric id {@code accountId}, or {@code null} when none is registered. */
+    public Account find(long accountId) {
+        return index.numbered.get(accountId);
+    }
+
+    /**
+     * @return read-only view of the accounts registered when it was obtained; a later reload is not
+     * reflected
+     */
+    public Collection<Account> accounts() {
+        Index current = index;
+        return current.irregular.isEmpty()
+                ? Collections.unmodifiableCollection(current.numbered.values())
+                : Collections.unmodifiableCollection(current.snapshot());
+    }
+
+    /** @return copy of the registered accounts. */
+    public List<Account> snapshot() {
+        return index.snapshot();
+    }
+
+    /** @return number of registered accounts. */
+    public int size() {
+        Index current = index;
+        return current.numbered.size() + current.irregular.size();
+    }
+
+    /** @return bank-wide figures over the registered accounts, read without visiting them. */
+    public BankTotals totals() {
+        return index.totals;
+    }
+
+    /** @return whether no account is registered. */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    private record Index(Map<Long, Account> numbered, Map<String, Account> irregular, BankTotals totals) {
+
+        Account put(Account account) {
+            long id = account.getAccountId();
+            return id == AccountNumbers.INVALID
+                    ? irregular.putIfAbsent(account.getAccountNumber(), account)
+                    : numbered.putIfAbsent(id, account);
+        }
+
+        List<Account> snapshot() {
+            List<Account> accounts = new ArrayList<>(numbered.size() + irregular.size());
+            accounts.addAll(numbered.values());
+            accounts.addAll(irregular.values());
+            return accounts;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.bam.services;
+
+import com.bam.interfaces.BalanceListener;
+import com.bam.models.Account;
+import com.bam.utils.Money;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bank-wide figures kept current as balances change, so reading them never visits the accounts.
+ * Every registered account reports each balance change here; the changes land in striped
+ * {@link LongAdder}s, which concurrent updates on different accounts do not contend on.
+ * <p>
+ * The figures are exact once updates quiesce. While balances are changing a read may miss
+ * updates still in flight, as any read of many accounts without a global lock would.
+ */
+public final class BankTotals implements BalanceListener {
+    private final LongAdder balanceCents = new LongAdder();
+    private final LongAdder overdraftCents = new LongAdder();
+    private final Map<String, LongAdder> accountsByType = new ConcurrentHashMap<>();
+
+    /**
+     * Counts {@code account} and follows its balance from now on. The account should not be
+     * taking transactions while it is added.
+     */
+    void add(Account account) {
+        account.setBalanceListener(this);
+        long balance = account.getBalanceCents();
+        balanceCents.add(balance);
+        overdraftCents.add(overdraft(balance));
+        accountsByType.computeIfAbsent(account.getAccountType(), type -> new LongAdder()).increment();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void balanceChanged(Account account, long beforeCents, long afterCents) {
+        balanceCents.add(afterCents - beforeCents);
+        long overdraftChange = overdraft(afterCents) - overdraft(beforeCents);
+        if (overdraftChange != 0) {
+            overdraftCents.add(overdraftChange);
+        }
+    }
+
+    /** @return sum of all balances. */
+    public double totalBalance() {
+        return Money.toDollars(totalBalanceCents());
+    }
+
+    /** @return sum of all balances, in cents. */
+    public long totalBalanceCents() {
+        return balanceCents.sum();
+    }
+
+    /** @return total amount accounts are overdrawn by, i.e. the sum of the negative balances as a positive amount. */
+    public double overdraftExposure() {
+        return Money.toDollars(overdraftCents.sum());
+    }
+
+    /** @return number of accounts of {@code accountType}, e.g. "Savings". */
+    public int accountCount(String accountType) {
+        LongAdder count = accountsByType.get(accountType);
+        return count == null ? 0 : count.intValue();
+    }
+
+    private static long overdraft(long balanceCents) {
+        return balanceCents < 0 ? -balanceCents : 0;
+    }
+}
@@ -0,0 +1,222 @@
+package com.bam.services;
+
+import com.bam.models.Transaction;
+import com.bam.models.TransactionType;
+import com.bam.utils.Money;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Immutable transaction ledger kept in primitive parallel arrays: per row an int account index,
+ * a byte type code, the amount and resulting balance in cents, the timestamp in epoch millis and
+ * the sequence number of the "TXNnnn" ID. That is 37 bytes per row including the per-account row
+ * index, against well over 100 for a {@link Transaction} with its strings and {@link Date}.
+ * <p>
+ * {@link Transaction} objects are created as short-lived flyweights by {@link #get(int)} and by
+ * the per-account views of {@link #accountView(String)}; nothing holds on to them.
+ */
+public final class ColumnarTransactionStore {
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final String[] accountNames;
+    private final int[] accounts;
+    private final byte[] types;
+    private final long[] amountCents;
+    private final long[] balanceCents;
+    private final long[] epochMillis;
+    private final int[] sequences;
+    private final Map<Integer, String> irregularIds;
+    private final Map<String, Integer> accountIndex;
+    private final int[][] rowsByAccount;
+    private final int[] highestSequences;
+    private final int size;
+
+    private ColumnarTransactionStore(Builder builder) {
+        size = builder.size;
+        accountNames = builder.accountNames.toArray(new String[0]);
+        accounts = Arrays.copyOf(builder.accounts, size);
+        types = Arrays.copyOf(builder.types, size);
+        amountCents = Arrays.copyOf(builder.amountCents, size);
+        balanceCents = Arrays.copyOf(builder.balanceCents, size);
+        epochMillis = Arrays.copyOf(builder.epochMillis, size);
+        sequences = Arrays.copyOf(builder.sequences, size);
+        irregularIds = builder.irregularIds.isEmpty() ? Map.of() : new HashMap<>(builder.irregularIds);
+        accountIndex = new HashMap<>(builder.accountIndex);
+
+        int[] counts = new int[accountNames.length];
+        highestSequences = new int[accountNames.length];
+        for (int row = 0; row < size; row++) {
+            counts[accounts[row]]++;
+            highestSequences[accounts[row]] = Math.max(highestSequences[accounts[row]], sequences[row]);
+        }
+        rowsByAccount = new int[accountNames.length][];
+        for (int account = 0; account < counts.length; account++) {
+            rowsByAccount[account] = new int[counts[account]];
+            counts[account] = 0;
+        }
+        for (int row = 0; row < size; row++) {
+            int account = accounts[row];
+            rowsByAccount[account][counts[account]++] = row;
+        }
+    }
+
+    /**
+     * @return store holding {@code transactions} in the given order.
+     */
+    public static ColumnarTransactionStore of(List<Transaction> transactions) {
+        Builder builder = new Builder(transactions.size());
+        transactions.forEach(builder::add);
+        return builder.build();
+    }
+
+    /** @return number of transactions held. */
+    public int size() {
+        return size;
+    }
+
+    /** @return accounts with at least one transaction. */
+    public Set<String> accounts() {
+        return Collections.unmodifiableSet(accountIndex.keySet());
+    }
+
+    /**
+     * @return flyweight transaction for {@code row}; a new object on every call.
+     */
+    public Transaction get(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for length " + size);
+        }
+        String id = irregularIds.isEmpty() ? null : irregularIds.get(row);
+        if (id == null && sequences[row] > 0) {
+            id = Transaction.formatId(sequences[row]);
+        }
+        long millis = epochMillis[row];
+        return new Transaction(id, accountNames[accounts[row]], TransactionType.fromCode(types[row]),
+                Money.toDollars(amountCents[row]), Money.toDollars(balanceCents[row]),
+                millis == NO_TIMESTAMP ? null : new Date(millis));
+    }
+
+    /**
+     * @return read-only view of the account's transactions in store order, materialized row by row.
+     */
+    public List<Transaction> accountView(String accountNumber) {
+        Integer account = accountIndex.get(accountNumber);
+        return account == null ? List.of() : new AccountView(rowsByAccount[account]);
+    }
+
+    /** @return highest transaction sequence of the account, 0 when it has none. */
+    public int highestSequence(String accountNumber) {
+        Integer account = accountIndex.get(accountNumber);
+        return account == null ? 0 : highestSequences[account];
+    }
+
+    /**
+     * Read-only list over one account's rows.
+     */
+    private final class AccountView extends AbstractList<Transaction> implements RandomAccess {
+        private final int[] rows;
+
+        AccountView(int[] rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public Transaction get(int index) {
+            return ColumnarTransactionStore.this.get(rows[index]);
+        }
+
+        @Override
+        public int size() {
+            return rows.length;
+        }
+    }
+
+    /**
+     * Accumulates rows for a {@link ColumnarTransactionStore}; not thread-safe.
+     */
+    public static final class Builder {
+        private final List<String> accountNames = new ArrayList<>();
+        private final Map<String, Integer> accountIndex = new HashMap<>();
+        private final Map<Integer, String> irregularIds = new HashMap<>();
+        private int[] accounts;
+        private byte[] types;
+        private long[] amountCents;
+        private long[] balanceCents;
+        private long[] epochMillis;
+        private int[] sequences;
+        private int size;
+
+        /** Creates a builder with room for {@code expectedSize} rows before growing. */
+        public Builder(int expectedSize) {
+            int capacity = Math.max(16, expectedSize);
+            accounts = new int[capacity];
+            types = new byte[capacity];
+            amountCents = new long[capacity];
+            balanceCents = new long[capacity];
+            epochMillis = new long[capacity];
+            sequences = new int[capacity];
+        }
+
+        /**
+         * Adds the fields of {@code transaction} as the next row.
+         */
+        public Builder add(Transaction transaction) {
+            String id = transaction.getTransactionId();
+            int sequence = transaction.getSequence();
+            add(transaction.getAccountNumber(), transaction.getType(), Money.toCents(transaction.getAmount()),
+                    Money.toCents(transaction.getBalanceAfter()),
+                    transaction.hasTimestamp() ? transaction.getTimestampMillis() : NO_TIMESTAMP, sequence);
+            if (id != null && sequence == 0) {
+                irregularIds.put(size - 1, id);
+            }
+            return this;
+        }
+
+        /**
+         * Adds a row without creating any transaction object.
+         *
+         * @param sequence sequence number of the "TXNnnn" ID, 0 for none
+         */
+        public Builder add(String accountNumber, TransactionType type, long amountCents, long balanceAfterCents,
+                           long epochMillis, int sequence) {
+            if (size == accounts.length) {
+                grow();
+            }
+            accounts[size] = accountIndex.computeIfAbsent(accountNumber, key -> {
+                accountNames.add(key);
+                return accountNames.size() - 1;
+            });
+            types[size] = type.code();
+            this.amountCents[size] = amountCents;
+            this.balanceCents[size] = balanceAfterCents;
+            this.epochMillis[size] = epochMillis;
+            this.sequences[size] = sequence;
+            size++;
+            return this;
+        }
+
+        /** @return the store; the builder must not be used afterwards. */
+        public ColumnarTransactionStore build() {
+            return new ColumnarTransactionStore(this);
+        }
+
+        private void grow() {
+            int capacity = accounts.length * 2;
+            accounts = Arrays.copyOf(accounts, capacity);
+            types = Arrays.copyOf(types, capacity);
+            amountCents = Arrays.copyOf(amountCents, capacity);
+            balanceCents = Arrays.copyOf(balanceCents, capacity);
+            epochMillis = Arrays.copyOf(epochMillis, capacity);
+            sequences = Arrays.copyOf(sequences, capacity);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.bam.services;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded multi-producer, single-consumer ring buffer in the style of the LMAX Disruptor.
+ * Producers claim a sequence with one atomic increment, write the slot and publish it by storing
+ * the sequence into the slot's marker; the single consumer reads slots in sequence order without
+ * any lock. A producer that laps the consumer waits for it to free a slot.
+ */
+public final class CommandRing<T> {
+    private final Object[] slots;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private volatile long consumed = -1;
+
+    /**
+     * @param capacity number of slots, rounded up to a power of two
+     */
+    public CommandRing(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Ring capacity must be between 1 and 2^30: " + capacity);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        slots = new Object[size];
+        published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+        mask = size - 1;
+    }
+
+    /** @return number of slots. */
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Appends {@code command}, waiting while the ring is full. Safe to call from any thread.
+     */
+    public void publish(T command) {
+        long sequence = claimed.incrementAndGet();
+        int spins = 0;
+        while (sequence - slots.length > consumed) {
+            spins = backOff(spins);
+        }
+        int index = (int) sequence & mask;
+        slots[index] = command;
+        published.lazySet(index, sequence);
+    }
+
+    /**
+     * Takes the next published command. Must only be called from the consumer thread.
+     *
+     * @return the command, or {@code null} if none is published yet
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long next = consumed + 1;
+        int index = (int) next & mask;
+        if (published.get(index) != next) {
+            return null;
+        }
+        T command = (T) slots[index];
+        slots[index] = null;
+        consumed = next;
+        return command;
+    }
+
+    /** @return {@code true} once every claimed sequence has been consumed. */
+    public boolean isEmpty() {
+        return consumed == claimed.get();
+    }
+
+    /**
+     * Spins first, then yields, then parks briefly, so an idle wait does not burn a whole core.
+     *
+     * @return the next value of the caller's spin counter
+     */
+    static int backOff(int spins) {
+        if (spins < 100) {
+            Thread.onSpinWait();
+        } else if (spins < 200) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(50_000);
+        }
+        return spins + 1;
+    }
+}
@@ -1,41 +1,159 @@
 package com.bam.services;
 
 import com.bam.exceptions.InvalidAccountNumberException;
+import com.bam.interfaces.TransactionHistoryLoader;
 import com.bam.models.*;
+import com.bam.utils.AccountNumbers;
 import com.bam.utils.InputValidator;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 /**
- * Handles saving and loading of accounts and transactions using a simple delimited text format.
+ * Handles saving and loading of accounts using a simple delimited text format and of transactions
+ * using the fixed-width binary {@link TransactionLedgerFile}.
+ * Individual commits are appended to a write-ahead journal so their cost does not grow with the
+ * ledger; the full files are only rewritten when a checkpoint folds the journal back into them.
+ * Journal appends go through a {@link GroupCommitJournalWriter} so concurrent commits share forces.
+ * <p>
+ * Every journal record carries a log sequence number (LSN). A checkpoint writes both snapshot files
+ * atomically, stamps them with the highest LSN they cover and then drops the covered journal
+ * entries; startup loads the snapshots and replays only the journal records past their LSNs.
+ * <p>
+ * Journal records are framed by their length and a CRC32C, and account snapshot rows carry the
+ * same pair, so recovery drops a torn journal tail or a damaged row and carries on.
  */
-public class FilePersistenceService {
+public class FilePersistenceService implements AutoCloseable, TransactionHistoryLoader {
     private static final String DATA_DIR = "data";
     private static final String ACCOUNTS_FILE = "accounts.txt";
     private static final String TRANSACTIONS_FILE = "transactions.txt";
+    private static final String LEDGER_FILE = "transactions.bin";
+    private static final String JOURNAL_FILE = "journal.log";
+    private static final String LEGACY_JOURNAL_FILE = "journal.txt";
     private static final String DELIMITER = "|";
+    private static final String ACCOUNT_RECORD = "A";
+    private static final String TRANSACTION_RECORD = "T";
+    private static final String SHARD_DIR = "shards";
+    private static final String SHARD_ACCOUNTS_PREFIX = "accounts-";
+    private static final String SHARD_LEDGER_PREFIX = "transactions-";
+    private static final String CHECKPOINT_HEADER = "#checkpoint";
+    private static final String FRAMED_ROW = "@";
+    private static final int JOURNAL_FRAME_SIZE = 8;
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_INSTANT.withLocale(Locale.US);
+    public static final int CHECKPOINT_INTERVAL = 100;
+    public static final int DEFAULT_SHARD_COUNT = 16;
+    /** Sequence of a transaction whose ID carries no number; never counted as covered. */
+    private static final int UNNUMBERED = Integer.MAX_VALUE;
 
     private final Path dataDirectory;
-    private final Path accountsPath;
+    private final Path shardDirectory;
     private final Path transactionsPath;
+    private final Path journalPath;
+    private final Path legacyJournalPath;
     private final InputValidator validator = new InputValidator();
+    private final ParallelLoader loader = new ParallelLoader();
+    private final List<Shard> shards;
+    private final LedgerIndex[] shardIndexes;
+    private final JournalSyncPolicy syncPolicy;
+    private final AtomicInteger journalRecordCount = new AtomicInteger();
+    private final AtomicLong lastAssignedLsn = new AtomicLong();
+    private final Object journalLock = new Object();
+    private GroupCommitJournalWriter journalWriter;
+    private volatile boolean fullCheckpointRequired;
+
+    /**
+     * Result of a load: the checkpointed files with the journal replayed on top.
+     */
+    public record LoadedData(List<Account> accounts, List<Transaction> transactions) {
+    }
+
+    /**
+     * Accounts snapshot together with the journal LSN it covers.
+     */
+    private record AccountsSnapshot(long checkpointLsn, List<Account> accounts) {
+    }
+
+    /**
+     * One segment of the snapshot: the accounts file and ledger for the account numbers hashed to it.
+     */
+    private record Shard(Path accountsPath, TransactionLedgerFile ledger) {
+    }
 
     public FilePersistenceService() {
-        this.dataDirectory = Path.of(DATA_DIR);
-        this.accountsPath = dataDirectory.resolve(ACCOUNTS_FILE);
+        this(Path.of(DATA_DIR), JournalSyncPolicy.perCommit(), DEFAULT_SHARD_COUNT);
+    }
+
+    /**
+     * Creates a service rooted at a custom data directory (used by tests and tooling).
+     */
+    public FilePersistenceService(Path dataDirectory) {
+        this(dataDirectory, JournalSyncPolicy.perCommit());
+    }
+
+    /**
+     * Creates a service rooted at a custom data directory with the given journal sync policy.
+     */
+    public FilePersistenceService(Path dataDirectory, JournalSyncPolicy syncPolicy) {
+        this(dataDirectory, syncPolicy, 1);
+    }
+
+    /**
+     * Creates a service whose snapshot is split into {@code shardCount} segments by account number.
+     * A single shard keeps the flat {@code accounts.txt}/{@code transactions.bin} layout; more
+     * shards live under {@code shards/} as {@code accounts-<i>-of-<n>.txt} and
+     * {@code transactions-<i>-of-<n>.bin}.
+     */
+    public FilePersistenceService(Path dataDirectory, JournalSyncPolicy syncPolicy, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shardCount);
+        }
+        this.dataDirectory = dataDirectory;
+        this.syncPolicy = syncPolicy;
+        this.shardDirectory = dataDirectory.resolve(SHARD_DIR);
         this.transactionsPath = dataDirectory.resolve(TRANSACTIONS_FILE);
+        this.journalPath = dataDirectory.resolve(JOURNAL_FILE);
+        this.legacyJournalPath = dataDirectory.resolve(LEGACY_JOURNAL_FILE);
+        List<Shard> configured = new ArrayList<>(shardCount);
+        if (shardCount == 1) {
+            configured.add(new Shard(dataDirectory.resolve(ACCOUNTS_FILE),
+                    new TransactionLedgerFile(dataDirectory.resolve(LEDGER_FILE), loader)));
+        } else {
+            for (int i = 0; i < shardCount; i++) {
+                String suffix = String.format("%03d-of-%03d", i, shardCount);
+                configured.add(new Shard(shardDirectory.resolve(SHARD_ACCOUNTS_PREFIX + suffix + ".txt"),
+                        new TransactionLedgerFile(shardDirectory.resolve(SHARD_LEDGER_PREFIX + suffix + ".bin"), loader)));
+            }
+        }
+        this.shards = List.copyOf(configured);
+        this.shardIndexes = new LedgerIndex[shardCount];
+        Arrays.fill(shardIndexes, LedgerIndex.empty());
     }
 
     /**
@@ -45,60 +163,569 @@ public class FilePersistenceService {
         if (Files.notExists(dataDirectory)) {
             Files.createDirectories(dataDirectory);
         }
+        if (shards.size() > 1 && Files.notExists(shardDirectory)) {
+            Files.createDirectories(shardDirectory);
+        }
+    }
+
+    /** @return number of segments the snapshot is split into. */
+    public int shardCount() {
+        return shards.size();
     }
 
     /**
-     * Loads all accounts from disk, returning an empty list if the file is absent.
+     * @return shard holding the snapshot row and ledger records of the account: its numeric id
+     * modulo the shard count, so sequentially numbered accounts spread evenly. Account numbers
+     * outside the {@code ACC} scheme fall back to the hash of their text.
+     */
+    public int shardOf(String accountNumber) {
+        long id = AccountNumbers.parse(accountNumber, AccountNumbers.PREFIX);
+        return id == AccountNumbers.INVALID
+                ? Math.floorMod(accountNumber.hashCode(), shards.size())
+                : (int) (id % shards.size());
+    }
+
+    /**
+     * @return {@code true} when the last load found snapshot files from another layout (a different
+     * shard count or a legacy text ledger); only a full {@link #checkpoint} folds those away.
+     */
+    public boolean isFullCheckpointRequired() {
+        return fullCheckpointRequired;
+    }
+
+    /**
+     * Loads all accounts from disk, returning an empty list if no snapshot exists.
      */
     public List<Account> loadAccounts() throws IOException {
         ensureDataDirectory();
-        if (Files.notExists(accountsPath)) {
-            return List.of();
-        }
-        try (Stream<String> lines = Files.lines(accountsPath, StandardCharsets.UTF_8)) {
-            return lines
-                    .filter(line -> !line.isBlank())
-                    .map(this::parseAccount)
-                    .collect(Collectors.toList());
+        List<Account> accounts = new ArrayList<>();
+        for (Shard shard : shards) {
+            accounts.addAll(readAccountsSnapshot(shard.accountsPath()).accounts());
         }
+        return accounts;
     }
 
     /**
-     * Persists the provided accounts to disk, overwriting the previous file.
+     * Atomically persists the provided accounts to disk, replacing the previous snapshot of every shard.
      */
     public void saveAccounts(List<Account> accounts) throws IOException {
-        ensureDataDirectory();
-        List<String> lines = accounts.stream()
-                .map(this::formatAccount)
-                .toList();
-        Files.write(accountsPath, lines, StandardCharsets.UTF_8, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.CREATE);
+        long checkpointLsn = lastAssignedLsn.get();
+        List<List<Account>> byShard = partition(accounts, Account::getAccountNumber);
+        for (int i = 0; i < shards.size(); i++) {
+            writeAccountsSnapshot(shards.get(i).accountsPath(), byShard.get(i), checkpointLsn);
+        }
     }
 
     /**
-     * Loads all transactions from disk, returning an empty list if the file is absent.
+     * Loads all transactions from the binary ledgers, falling back to a legacy text file and
+     * returning an empty list if neither is present.
      */
     public List<Transaction> loadTransactions() throws IOException {
         ensureDataDirectory();
-        if (Files.notExists(transactionsPath)) {
-            return List.of();
+        List<Transaction> transactions = new ArrayList<>();
+        boolean anyLedger = false;
+        for (Shard shard : shards) {
+            if (shard.ledger().exists()) {
+                anyLedger = true;
+                transactions.addAll(shard.ledger().read());
+            }
         }
-        try (Stream<String> lines = Files.lines(transactionsPath, StandardCharsets.UTF_8)) {
-            return lines
-                    .filter(line -> !line.isBlank())
-                    .map(this::parseTransaction)
-                    .collect(Collectors.toList());
+        if (!anyLedger && Files.exists(transactionsPath)) {
+            return readLegacyTransactions();
         }
+        return transactions;
     }
 
     /**
-     * Persists transactions to disk, overwriting the previous file.
+     * Persists transactions to the binary ledgers, overwriting every shard. A legacy text ledger
+     * is removed once its contents have been migrated.
      */
     public void saveTransactions(List<Transaction> transactions) throws IOException {
+        long checkpointLsn = lastAssignedLsn.get();
+        List<List<Transaction>> byShard = partition(transactions, Transaction::getAccountNumber);
+        for (int i = 0; i < shards.size(); i++) {
+            writeLedgerSnapshot(i, byShard.get(i), checkpointLsn);
+        }
+        Files.deleteIfExists(transactionsPath);
+    }
+
+    /**
+     * Writes every shard stamped with the highest LSN assigned so far, removes snapshot files left
+     * by another layout and then drops the journal entries they cover. Appends are held off for the
+     * duration, so every journal record present at this point is covered and the journal is emptied.
+     */
+    public void checkpoint(List<Account> accounts, List<Transaction> transactions) throws IOException {
+        synchronized (journalLock) {
+            writeShards(allShards(), accounts, transactions, lastAssignedLsn.get());
+            for (Path file : foreignSnapshotFiles()) {
+                Files.deleteIfExists(file);
+                Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".idx"));
+            }
+            Files.deleteIfExists(transactionsPath);
+            fullCheckpointRequired = false;
+            resetJournal();
+        }
+    }
+
+    /**
+     * Rewrites only the given shards and then empties the journal. The accounts and transactions
+     * must be the complete contents of those shards, and every other shard must be unchanged since
+     * it was last written: its snapshot then already reflects every journal record for its accounts.
+     *
+     * @throws IllegalStateException if files from another layout still need a full checkpoint
+     */
+    public void checkpointShards(Collection<Integer> shardIds, List<Account> accounts, List<Transaction> transactions) throws IOException {
+        if (fullCheckpointRequired) {
+            throw new IllegalStateException("Snapshot files from another layout need a full checkpoint.");
+        }
+        synchronized (journalLock) {
+            writeShards(shardIds, accounts, transactions, lastAssignedLsn.get());
+            resetJournal();
+        }
+    }
+
+    /**
+     * Recovers the persisted state: discards temporaries from an interrupted checkpoint, loads the
+     * snapshots and replays only the journal records newer than the LSN each snapshot covers.
+     * Account records replace the snapshot row for the same account number; transaction records
+     * are appended unless the snapshot already contains them.
+     */
+    public LoadedData loadState() throws IOException {
+        return recover(false);
+    }
+
+    /**
+     * Recovers like {@link #loadState()} but leaves the binary ledgers on disk: only their indexes
+     * are read, and the returned transactions are just those not yet in them (journal records and
+     * snapshot files from another layout). Histories are then read per account through
+     * {@link #loadHistory}.
+     */
+    public LoadedData loadStateLazily() throws IOException {
+        return recover(true);
+    }
+
+    /** @return persisted history of the account from its shard's ledger. */
+    @Override
+    public List<Transaction> loadHistory(String accountNumber) throws IOException {
+        int shard = shardOf(accountNumber);
+        return shards.get(shard).ledger().readAccount(shardIndexes[shard], accountNumber);
+    }
+
+    /** @return accounts with history in the shard ledgers. */
+    @Override
+    public Set<String> accountsWithHistory() {
+        Set<String> accountNumbers = new HashSet<>();
+        for (LedgerIndex index : shardIndexes) {
+            accountNumbers.addAll(index.accountNumbers());
+        }
+        return accountNumbers;
+    }
+
+    /**
+     * @return highest transaction sequence per account in the shard ledgers; empty until a lazy
+     * load or a ledger write.
+     */
+    public Map<String, Integer> persistedSequences() {
+        Map<String, Integer> sequences = new HashMap<>();
+        for (LedgerIndex index : shardIndexes) {
+            sequences.putAll(index.highestSequences());
+        }
+        return sequences;
+    }
+
+    private LoadedData recover(boolean lazy) throws IOException {
+        ensureDataDirectory();
+        synchronized (journalLock) {
+            if (journalWriter != null) {
+                flushJournal();
+            }
+            SnapshotFiles.deleteStaleTemporaries(dataDirectory);
+            if (Files.isDirectory(shardDirectory)) {
+                SnapshotFiles.deleteStaleTemporaries(shardDirectory);
+            }
+            Map<String, Account> accounts = new LinkedHashMap<>();
+            Map<String, Long> accountLsns = new HashMap<>();
+            List<Transaction> transactions = new ArrayList<>();
+            long[] ledgerLsns = new long[shards.size()];
+            long highestLsn = 0;
+            for (int i = 0; i < shards.size(); i++) {
+                Shard shard = shards.get(i);
+                highestLsn = Math.max(highestLsn, readAccountsInto(shard.accountsPath(), accounts, accountLsns));
+                shardIndexes[i] = LedgerIndex.empty();
+                if (shard.ledger().exists()) {
+                    ledgerLsns[i] = shard.ledger().readCheckpointLsn();
+                    highestLsn = Math.max(highestLsn, ledgerLsns[i]);
+                    if (lazy) {
+                        shardIndexes[i] = shard.ledger().readIndex();
+                    } else {
+                        transactions.addAll(shard.ledger().read());
+                    }
+                }
+            }
+
+            // Files from another layout are folded in like journal records and rewritten by the next full checkpoint.
+            List<Path> foreignFiles = foreignSnapshotFiles();
+            List<Transaction> foreignTransactions = new ArrayList<>();
+            for (Path file : foreignFiles) {
+                if (file.getFileName().toString().endsWith(".bin")) {
+                    TransactionLedgerFile ledger = new TransactionLedgerFile(file, loader);
+                    highestLsn = Math.max(highestLsn, ledger.readCheckpointLsn());
+                    foreignTransactions.addAll(ledger.read());
+                } else {
+                    highestLsn = Math.max(highestLsn, readAccountsInto(file, accounts, accountLsns));
+                }
+            }
+            if (Files.exists(transactionsPath)) {
+                foreignTransactions.addAll(readLegacyTransactions());
+            }
+            fullCheckpointRequired = !foreignFiles.isEmpty() || Files.exists(transactionsPath);
+
+            journalRecordCount.set(0);
+            List<String> journalRecords = readJournalRecords();
+            if (foreignTransactions.isEmpty() && journalRecords.isEmpty()) {
+                lastAssignedLsn.set(highestLsn);
+                return new LoadedData(new ArrayList<>(accounts.values()), transactions);
+            }
+
+            Map<String, Integer> coveredSequences = highestSequences(transactions);
+            Arrays.stream(shardIndexes).forEach(index -> index.highestSequences().forEach((account, sequence) ->
+                    coveredSequences.merge(account, sequence, Math::max)));
+            foreignTransactions.forEach(txn -> addIfNotCovered(txn, transactions, coveredSequences));
+
+            for (String line : journalRecords) {
+                try {
+                    int lsnEnd = line.indexOf(DELIMITER);
+                    if (lsnEnd < 0 || line.length() < lsnEnd + 3) {
+                        throw new IllegalArgumentException("Invalid journal entry: " + line);
+                    }
+                    long lsn = Long.parseLong(line, 0, lsnEnd, 10);
+                    String kind = line.substring(lsnEnd + 1, lsnEnd + 2);
+                    String payload = line.substring(lsnEnd + 3);
+                    highestLsn = Math.max(highestLsn, lsn);
+                    journalRecordCount.incrementAndGet();
+                    if (kind.equals(ACCOUNT_RECORD)) {
+                        Account account = parseAccount(payload);
+                        if (lsn > accountLsns.getOrDefault(account.getAccountNumber(), 0L)) {
+                            accounts.put(account.getAccountNumber(), account);
+                        }
+                    } else if (kind.equals(TRANSACTION_RECORD)) {
+                        Transaction txn = parseTransaction(payload);
+                        if (lsn > ledgerLsns[shardOf(txn.getAccountNumber())]) {
+                            // A commit applied in memory before its journal append can already be in the snapshot.
+                            addIfNotCovered(txn, transactions, coveredSequences);
+                        }
+                    } else {
+                        throw new IllegalArgumentException("Invalid journal entry: " + line);
+                    }
+                } catch (RuntimeException e) {
+                    System.out.println("Skipping unreadable journal record: " + e.getMessage());
+                }
+            }
+            lastAssignedLsn.set(highestLsn);
+            return new LoadedData(new ArrayList<>(accounts.values()), transactions);
+        }
+    }
+
+    private static void addIfNotCovered(Transaction txn, List<Transaction> transactions, Map<String, Integer> coveredSequences) {
+        int sequence = sequenceOf(txn);
+        if (sequence > coveredSequences.getOrDefault(txn.getAccountNumber(), 0)) {
+            transactions.add(txn);
+            if (sequence != UNNUMBERED) {
+                coveredSequences.put(txn.getAccountNumber(), sequence);
+            }
+        }
+    }
+
+    /**
+     * Queues one record per touched account and per committed transaction for the journal.
+     * The cost is proportional to the size of the commit, not the size of the ledger.
+     *
+     * @return future completed once the records are durable under the configured sync policy
+     */
+    public CompletableFuture<Void> appendToJournal(Collection<Account> accounts, Collection<Transaction> transactions) throws IOException {
+        synchronized (journalLock) {
+            List<byte[]> records = new ArrayList<>(accounts.size() + transactions.size());
+            accounts.forEach(account -> records.add(encodeRecord(ACCOUNT_RECORD, formatAccount(account))));
+            transactions.forEach(txn -> records.add(encodeRecord(TRANSACTION_RECORD, formatTransaction(txn))));
+            int frameBytes = records.stream().mapToInt(record -> JOURNAL_FRAME_SIZE + record.length).sum();
+            ByteBuffer frames = ByteBuffer.allocate(frameBytes);
+            records.forEach(record -> frames.putInt(record.length)
+                    .putInt(RecordChecksum.compute(record, 0, record.length))
+                    .put(record));
+            journalRecordCount.addAndGet(records.size());
+            // LSNs are assigned and enqueued under the same lock so file order matches LSN order.
+            return journalWriter().append(frames.array(), records.size());
+        }
+    }
+
+    private byte[] encodeRecord(String kind, String payload) {
+        String record = lastAssignedLsn.incrementAndGet() + DELIMITER + kind + DELIMITER + payload;
+        return record.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the journal frame by frame, verifying each length and CRC32C. The first frame that is
+     * cut short or fails its checksum marks a torn write: the file is truncated there and every
+     * intact record before it is returned. Records from a pre-framing text journal come first.
+     */
+    private List<String> readJournalRecords() throws IOException {
+        List<String> records = new ArrayList<>();
+        if (Files.exists(legacyJournalPath)) {
+            Files.readAllLines(legacyJournalPath, StandardCharsets.UTF_8).stream()
+                    .filter(line -> !line.isBlank())
+                    .forEach(records::add);
+        }
+        if (Files.notExists(journalPath)) {
+            return records;
+        }
+        // The journal is bounded by the checkpoint interval, so reading it whole is cheap.
+        byte[] journal = Files.readAllBytes(journalPath);
+        ByteBuffer buffer = ByteBuffer.wrap(journal);
+        int offset = 0;
+        while (journal.length - offset >= JOURNAL_FRAME_SIZE) {
+            int length = buffer.getInt(offset);
+            int checksum = buffer.getInt(offset + 4);
+            int payloadOffset = offset + JOURNAL_FRAME_SIZE;
+            if (length < 0 || length > journal.length - payloadOffset
+                    || checksum != RecordChecksum.compute(journal, payloadOffset, length)) {
+                break;
+            }
+            records.add(new String(journal, payloadOffset, length, StandardCharsets.UTF_8));
+            offset = payloadOffset + length;
+        }
+        if (offset < journal.length) {
+            System.out.printf("Discarding %d byte(s) of torn journal tail.%n", journal.length - offset);
+            try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+                channel.truncate(offset);
+                channel.force(true);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * @return {@code true} once enough records have accumulated to warrant folding the journal into a checkpoint.
+     */
+    public boolean isCheckpointDue() {
+        return journalRecordCount.get() >= CHECKPOINT_INTERVAL;
+    }
+
+    /**
+     * Empties the journal after its contents have been written to the checkpoint files.
+     * Records queued before the reset are made durable first so the writer never loses them.
+     */
+    public void resetJournal() throws IOException {
+        awaitJournal(journalWriter().truncate());
+        Files.deleteIfExists(legacyJournalPath);
+        journalRecordCount.set(0);
+    }
+
+    /**
+     * Blocks until everything queued for the journal so far is durable.
+     */
+    public void flushJournal() throws IOException {
+        awaitJournal(journalWriter().flush());
+    }
+
+    /**
+     * Flushes and stops the journal writer, if one was started.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (journalWriter != null) {
+            journalWriter.close();
+            journalWriter = null;
+        }
+    }
+
+    /**
+     * Waits for a journal future, surfacing write failures as {@link IOException}.
+     */
+    public static void awaitJournal(CompletableFuture<Void> durable) throws IOException {
+        try {
+            durable.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException("Journal write failed", e.getCause());
+        }
+    }
+
+    private synchronized GroupCommitJournalWriter journalWriter() throws IOException {
+        if (journalWriter == null) {
+            ensureDataDirectory();
+            journalWriter = new GroupCommitJournalWriter(journalPath, syncPolicy);
+        }
+        return journalWriter;
+    }
+
+    /**
+     * Adds the accounts of a snapshot file, keeping whichever copy of an account has the newer LSN.
+     *
+     * @return the LSN the file covers
+     */
+    private long readAccountsInto(Path accountsPath, Map<String, Account> accounts, Map<String, Long> accountLsns) throws IOException {
+        AccountsSnapshot snapshot = readAccountsSnapshot(accountsPath);
+        for (Account account : snapshot.accounts()) {
+            Long previous = accountLsns.get(account.getAccountNumber());
+            if (previous == null || snapshot.checkpointLsn() >= previous) {
+                accounts.put(account.getAccountNumber(), account);
+                accountLsns.put(account.getAccountNumber(), snapshot.checkpointLsn());
+            }
+        }
+        return snapshot.checkpointLsn();
+    }
+
+    private AccountsSnapshot readAccountsSnapshot(Path accountsPath) throws IOException {
         ensureDataDirectory();
-        List<String> lines = transactions.stream()
-                .map(this::formatTransaction)
-                .toList();
-        Files.write(transactionsPath, lines, StandardCharsets.UTF_8, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.CREATE);
+        if (Files.notExists(accountsPath)) {
+            return new AccountsSnapshot(0, List.of());
+        }
+        long checkpointLsn = 0;
+        try (BufferedReader reader = Files.newBufferedReader(accountsPath, StandardCharsets.UTF_8)) {
+            String firstLine = reader.readLine();
+            if (firstLine != null && firstLine.startsWith(CHECKPOINT_HEADER + DELIMITER)) {
+                checkpointLsn = Long.parseLong(firstLine.substring(CHECKPOINT_HEADER.length() + 1));
+            }
+        }
+        List<Account> accounts = loader.parseLines(accountsPath, line -> {
+            if (line.startsWith(CHECKPOINT_HEADER + DELIMITER)) {
+                return null;
+            }
+            String row = line.startsWith(FRAMED_ROW) ? unframeRow(line) : line;
+            return row == null ? null : parseOrSkip(row, this::parseAccount);
+        });
+        return new AccountsSnapshot(checkpointLsn, accounts);
+    }
+
+    /**
+     * Prefixes a snapshot row with its UTF-8 length and CRC32C: {@code @<length>:<crc>|<row>}.
+     */
+    private static String frameRow(String row) {
+        byte[] bytes = row.getBytes(StandardCharsets.UTF_8);
+        int checksum = RecordChecksum.compute(bytes, 0, bytes.length);
+        return FRAMED_ROW + bytes.length + ":" + Integer.toHexString(checksum) + DELIMITER + row;
+    }
+
+    /**
+     * @return the row inside a framed line, or {@code null} if its length or checksum does not match.
+     */
+    private static String unframeRow(String line) {
+        int lengthEnd = line.indexOf(':');
+        int checksumEnd = line.indexOf(DELIMITER);
+        if (lengthEnd < 0 || checksumEnd < lengthEnd) {
+            System.out.println("Skipping malformed snapshot row.");
+            return null;
+        }
+        String row = line.substring(checksumEnd + 1);
+        byte[] bytes = row.getBytes(StandardCharsets.UTF_8);
+        try {
+            int length = Integer.parseInt(line, 1, lengthEnd, 10);
+            int checksum = Integer.parseUnsignedInt(line, lengthEnd + 1, checksumEnd, 16);
+            if (length == bytes.length && checksum == RecordChecksum.compute(bytes, 0, bytes.length)) {
+                return row;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        System.out.println("Skipping snapshot row that failed its checksum.");
+        return null;
+    }
+
+    /**
+     * Parses one persisted row, reporting and skipping it instead of aborting the whole load.
+     */
+    private <T> T parseOrSkip(String row, Function<String, T> parser) {
+        try {
+            return parser.apply(row);
+        } catch (RuntimeException e) {
+            System.out.println("Skipping unreadable record: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private List<Transaction> readLegacyTransactions() throws IOException {
+        return loader.parseLines(transactionsPath, line -> parseOrSkip(line, this::parseTransaction));
+    }
+
+    private List<Integer> allShards() {
+        List<Integer> shardIds = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            shardIds.add(i);
+        }
+        return shardIds;
+    }
+
+    private <T> List<List<T>> partition(Collection<T> items, Function<T, String> accountNumber) {
+        List<List<T>> parts = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            parts.add(new ArrayList<>());
+        }
+        items.forEach(item -> parts.get(shardOf(accountNumber.apply(item))).add(item));
+        return parts;
+    }
+
+    private void writeShards(Collection<Integer> shardIds, List<Account> accounts, List<Transaction> transactions, long checkpointLsn) throws IOException {
+        List<List<Account>> accountsByShard = partition(accounts, Account::getAccountNumber);
+        List<List<Transaction>> transactionsByShard = partition(transactions, Transaction::getAccountNumber);
+        for (int shard : shardIds) {
+            writeAccountsSnapshot(shards.get(shard).accountsPath(), accountsByShard.get(shard), checkpointLsn);
+            writeLedgerSnapshot(shard, transactionsByShard.get(shard), checkpointLsn);
+        }
+    }
+
+    /**
+     * @return snapshot files present on disk that belong to a layout other than the configured one.
+     */
+    private List<Path> foreignSnapshotFiles() throws IOException {
+        Set<Path> configured = new HashSet<>();
+        shards.forEach(shard -> {
+            configured.add(shard.accountsPath());
+            configured.add(shard.ledger().getPath());
+        });
+        List<Path> candidates = new ArrayList<>(List.of(dataDirectory.resolve(ACCOUNTS_FILE), dataDirectory.resolve(LEDGER_FILE)));
+        if (Files.isDirectory(shardDirectory)) {
+            try (Stream<Path> files = Files.list(shardDirectory)) {
+                files.filter(file -> {
+                    String name = file.getFileName().toString();
+                    return (name.startsWith(SHARD_ACCOUNTS_PREFIX) && name.endsWith(".txt"))
+                            || (name.startsWith(SHARD_LEDGER_PREFIX) && name.endsWith(".bin"));
+                }).sorted().forEach(candidates::add);
+            }
+        }
+        candidates.removeIf(file -> configured.contains(file) || Files.notExists(file));
+        return candidates;
+    }
+
+    private void writeAccountsSnapshot(Path accountsPath, List<Account> accounts, long checkpointLsn) throws IOException {
+        ensureDataDirectory();
+        List<String> lines = new ArrayList<>(accounts.size() + 1);
+        lines.add(CHECKPOINT_HEADER + DELIMITER + checkpointLsn);
+        accounts.forEach(account -> lines.add(frameRow(formatAccount(account))));
+        SnapshotFiles.replaceAtomically(accountsPath, temporary ->
+                Files.write(temporary, lines, StandardCharsets.UTF_8, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.CREATE));
+    }
+
+    private void writeLedgerSnapshot(int shard, List<Transaction> transactions, long checkpointLsn) throws IOException {
+        ensureDataDirectory();
+        shardIndexes[shard] = shards.get(shard).ledger().write(transactions, checkpointLsn);
+    }
+
+    private static Map<String, Integer> highestSequences(List<Transaction> transactions) {
+        Map<String, Integer> sequences = new HashMap<>();
+        transactions.stream()
+                .filter(txn -> sequenceOf(txn) != UNNUMBERED)
+                .forEach(txn -> sequences.merge(txn.getAccountNumber(), sequenceOf(txn), Math::max));
+        return sequences;
+    }
+
+    /**
+     * @return sequence number of the transaction's ID, or {@link #UNNUMBERED} when it has none or
+     * it is not {@code TXN} followed by digits; such a transaction is never treated as covered
+     */
+    private static int sequenceOf(Transaction txn) {
+        int sequence = txn.getSequence();
+        return sequence == 0 ? UNNUMBERED : sequence;
     }
 
     /**
@@ -123,9 +750,22 @@ public class FilePersistenceService {
         validator.validateContact(customer.getContact());
         validator.validateEmail(customer.getEmail());
 
+        String period = parts.length > 12 ? parts[12] : "";
         return switch (accountType.toLowerCase()) {
-            case "savings" -> new SavingsAccount(customer, balance, accountNumber, status);
-            case "checking" -> new CheckingAccount(customer, balance, accountNumber, status);
+            case "savings" -> {
+                SavingsAccount savings = new SavingsAccount(customer, balance, accountNumber, status);
+                if (!period.isEmpty()) {
+                    savings.setInterestAccruedThrough(LocalDate.parse(period));
+                }
+                yield savings;
+            }
+            case "checking" -> {
+                CheckingAccount checking = new CheckingAccount(customer, balance, accountNumber, status);
+                if (!period.isEmpty()) {
+                    checking.setFeesChargedThrough(YearMonth.parse(period));
+                }
+                yield checking;
+            }
             default -> throw new IllegalArgumentException("Unsupported account type: " + accountType);
         };
     }
@@ -145,13 +785,18 @@ public class FilePersistenceService {
     }
 
     /**
-     * Serializes an account to the delimited text format.
+     * Serializes an account to the delimited text format. The last field is the latest period a
+     * periodic job has handled the account for, empty if none has: the interest business date of
+     * a savings account or the fee month of a checking account.
      */
     private String formatAccount(Account account) {
         Customer customer = account.getCustomer();
         double extra = account instanceof CheckingAccount
                 ? ((CheckingAccount) account).getOverdraftLimit()
                 : ((SavingsAccount) account).getInterestRate();
+        Object period = account instanceof SavingsAccount savings
+                ? savings.getInterestAccruedThrough()
+                : ((CheckingAccount) account).getFeesChargedThrough();
         return String.join(DELIMITER,
                 account.getAccountNumber(),
                 account.getAccountType(),
@@ -164,11 +809,12 @@ public class FilePersistenceService {
                 customer.getContact(),
                 sanitize(customer.getEmail()),
                 sanitize(customer.getAddress()),
-                String.valueOf(extra));
+                String.valueOf(extra),
+                period == null ? "" : period.toString());
     }
 
     /**
-     * Parses a transaction row from the delimited text format.
+     * Parses a transaction row from the delimited text format used by the journal and legacy files.
      */
     private Transaction parseTransaction(String line) {
         String[] parts = line.split("\\|", -1);
@@ -182,12 +828,7 @@ public class FilePersistenceService {
         double balanceAfter = Double.parseDouble(parts[4]);
         Instant instant = Instant.parse(parts[5]);
 
-        Transaction txn = new Transaction(txnId.isBlank() ? null : txnId, accountNumber, type, amount, balanceAfter, Date.from(instant));
-        if (txnId != null && !txnId.isBlank()) {
-            txn.setTransactionId(txnId);
-        }
-        txn.setTimestamp(Date.from(instant));
-        return txn;
+        return new Transaction(txnId.isBlank() ? null : txnId, accountNumber, type, amount, balanceAfter, Date.from(instant));
     }
 
     /**
@@ -197,7 +838,7 @@ public class FilePersistenceService {
         return String.join(DELIMITER,
                 txn.getTransactionId() == null ? "" : txn.getTransactionId(),
                 txn.getAccountNumber(),
-                txn.getType(),
+                txn.getType().label(),
                 String.valueOf(txn.getAmount()),
                 String.valueOf(txn.getBalanceAfter()),
                 FORMATTER.format(txn.getTimestamp().toInstant()));
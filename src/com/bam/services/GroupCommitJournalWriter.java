@@ -0,0 +1,207 @@
+package com.bam.services;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends journal records on a single background thread. Callers enqueue encoded records and
+ * receive a future that completes once the records have been forced to disk; the writer drains
+ * everything queued since its last pass, writes it with one gathering write and covers the whole
+ * batch with a single {@link FileChannel#force(boolean)} according to the {@link JournalSyncPolicy}.
+ */
+public class GroupCommitJournalWriter implements AutoCloseable {
+    private static final int MAX_BATCH = 1024;
+    private static final long IDLE_POLL_MS = 100;
+
+    private enum Kind { APPEND, SYNC, TRUNCATE }
+
+    private record PendingWrite(Kind kind, ByteBuffer payload, int recordCount, CompletableFuture<Void> completion) {
+    }
+
+    private final JournalSyncPolicy policy;
+    private final FileChannel channel;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+    private final AtomicLong syncCount = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * Opens (or creates) the journal for appending and starts the writer thread.
+     */
+    public GroupCommitJournalWriter(Path journalPath, JournalSyncPolicy policy) throws IOException {
+        this.policy = policy;
+        this.channel = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.writerThread = new Thread(this::runWriter, "journal-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Queues already-encoded records for the next group commit.
+     *
+     * @param payload     bytes to append
+     * @param recordCount number of logical records contained in the payload
+     * @return future completed once the payload is durable, or exceptionally if the write fails
+     */
+    public CompletableFuture<Void> append(byte[] payload, int recordCount) {
+        return enqueue(Kind.APPEND, ByteBuffer.wrap(payload), recordCount);
+    }
+
+    /**
+     * @return future completed once everything queued before this call is durable.
+     */
+    public CompletableFuture<Void> flush() {
+        return enqueue(Kind.SYNC, null, 0);
+    }
+
+    /**
+     * Makes everything queued before this call durable and then empties the journal. Records
+     * queued afterwards land in the emptied journal.
+     */
+    public CompletableFuture<Void> truncate() {
+        return enqueue(Kind.TRUNCATE, null, 0);
+    }
+
+    /** @return number of forces issued so far; useful for observing how well commits are grouped. */
+    public long getSyncCount() {
+        return syncCount.get();
+    }
+
+    /**
+     * Flushes pending records, stops the writer thread and closes the journal channel.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        CompletableFuture<Void> drained = flush();
+        closed = true;
+        try {
+            drained.join();
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private CompletableFuture<Void> enqueue(Kind kind, ByteBuffer payload, int recordCount) {
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        if (closed) {
+            completion.completeExceptionally(new IllegalStateException("Journal writer is closed."));
+            return completion;
+        }
+        queue.add(new PendingWrite(kind, payload, recordCount, completion));
+        return completion;
+    }
+
+    private void runWriter() {
+        List<PendingWrite> batch = new ArrayList<>();
+        List<PendingWrite> unsynced = new ArrayList<>();
+        int unsyncedRecords = 0;
+        long lastSync = System.nanoTime();
+
+        while (!closed || !queue.isEmpty() || !unsynced.isEmpty()) {
+            long timeout = policy.pollTimeoutMillis(unsyncedRecords, millisSince(lastSync), IDLE_POLL_MS);
+            PendingWrite first;
+            try {
+                first = queue.poll(timeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failAll(unsynced, e);
+                return;
+            }
+
+            batch.clear();
+            if (first != null) {
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+            }
+
+            boolean syncRequested = false;
+            List<ByteBuffer> buffers = new ArrayList<>(batch.size());
+            try {
+                for (PendingWrite pending : batch) {
+                    switch (pending.kind()) {
+                        case APPEND -> {
+                            buffers.add(pending.payload());
+                            unsynced.add(pending);
+                            unsyncedRecords += pending.recordCount();
+                        }
+                        case SYNC -> {
+                            unsynced.add(pending);
+                            syncRequested = true;
+                        }
+                        case TRUNCATE -> {
+                            writeAll(buffers);
+                            sync(unsynced);
+                            unsyncedRecords = 0;
+                            lastSync = System.nanoTime();
+                            channel.truncate(0);
+                            channel.force(true);
+                            pending.completion().complete(null);
+                        }
+                    }
+                }
+                writeAll(buffers);
+                boolean idle = first == null;
+                if (!unsynced.isEmpty()
+                        && (syncRequested || closed || policy.shouldSync(unsyncedRecords, millisSince(lastSync), idle))) {
+                    sync(unsynced);
+                    unsyncedRecords = 0;
+                    lastSync = System.nanoTime();
+                }
+            } catch (IOException e) {
+                failAll(unsynced, e);
+                batch.forEach(pending -> pending.completion().completeExceptionally(e));
+                unsyncedRecords = 0;
+            }
+        }
+    }
+
+    private void writeAll(List<ByteBuffer> buffers) throws IOException {
+        if (buffers.isEmpty()) {
+            return;
+        }
+        ByteBuffer[] pendingBuffers = buffers.toArray(new ByteBuffer[0]);
+        long remaining = 0;
+        for (ByteBuffer buffer : pendingBuffers) {
+            remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(pendingBuffers);
+        }
+        buffers.clear();
+    }
+
+    private void sync(List<PendingWrite> unsynced) throws IOException {
+        if (unsynced.isEmpty()) {
+            return;
+        }
+        channel.force(false);
+        syncCount.incrementAndGet();
+        unsynced.forEach(pending -> pending.completion().complete(null));
+        unsynced.clear();
+    }
+
+    private static void failAll(List<PendingWrite> pendingWrites, Exception cause) {
+        pendingWrites.forEach(pending -> pending.completion().completeExceptionally(cause));
+        pendingWrites.clear();
+    }
+
+    private static long millisSince(long nanoTime) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - nanoTime);
+    }
+}
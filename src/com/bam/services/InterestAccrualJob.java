@@ -0,0 +1,117 @@
+package com.bam.services;
+
+import com.bam.models.Account;
+import com.bam.models.SavingsAccount;
+import com.bam.models.Transaction;
+import com.bam.models.TransactionType;
+import com.bam.utils.Money;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+
+/**
+ * End-of-day interest accrual over every savings account. Accounts are split into partitions that
+ * a fork-join pool accrues in parallel without console output; each partition credits its
+ * accounts, appends their interest transactions to the ledger in one batch and commits them
+ * together.
+ * <p>
+ * A run is idempotent per business date: each account records the last date it was accrued for
+ * ({@link SavingsAccount#getInterestAccruedThrough}), which is journaled with its interest
+ * transaction, and accounts already accrued for the date (or a later one) are skipped without
+ * reading their ledger. A run that was cancelled or interrupted can therefore simply be started
+ * again for the same date. Interest transactions are stamped with the time of the run. Runs must
+ * not overlap.
+ */
+public final class InterestAccrualJob extends AccountBatchJob<SavingsAccount> {
+    /** Accrual periods per year; interest is accrued daily. */
+    public static final int DAYS_PER_YEAR = 365;
+
+    private LocalDate businessDate;
+
+    /**
+     * @param commit durably records each partition's accounts and transactions, e.g.
+     *               {@link AccountManager#recordCommit}
+     */
+    public InterestAccrualJob(TransactionManager transactionManager,
+                              BiConsumer<Collection<Account>, Collection<Transaction>> commit) {
+        this(transactionManager, commit, ForkJoinPool.commonPool(), DEFAULT_PARTITION_SIZE);
+    }
+
+    public InterestAccrualJob(TransactionManager transactionManager,
+                              BiConsumer<Collection<Account>, Collection<Transaction>> commit,
+                              ForkJoinPool pool, int partitionSize) {
+        super(transactionManager, commit, pool, partitionSize);
+    }
+
+    /**
+     * Accrues one day's interest on the savings accounts among {@code accounts}. Other account
+     * types are ignored.
+     *
+     * @return what was accrued; {@link Report#complete()} is {@code false} if the run was cancelled
+     */
+    public Report run(Collection<? extends Account> accounts, LocalDate businessDate) {
+        long start = System.nanoTime();
+        List<SavingsAccount> savings = new ArrayList<>();
+        for (Account account : accounts) {
+            if (account instanceof SavingsAccount savingsAccount) {
+                savings.add(savingsAccount);
+            }
+        }
+        // Published to the pool's workers by the happens-before edge of invoke().
+        this.businessDate = businessDate;
+        Tally tally = runPartitions(savings, System.currentTimeMillis());
+        return new Report(businessDate, tally.applied, tally.alreadyApplied, tally.skipped,
+                tally.amountCents, !isCancelled() && tally.pending == 0, System.nanoTime() - start);
+    }
+
+    @Override
+    Transaction apply(SavingsAccount account, Date timestamp, Tally tally) {
+        LocalDate accruedThrough = account.getInterestAccruedThrough();
+        if (accruedThrough != null && !businessDate.isAfter(accruedThrough)) {
+            tally.alreadyApplied++;
+            return null;
+        }
+        SavingsAccount.Accrual accrual = account.accrueInterest(DAYS_PER_YEAR);
+        if (accrual.interestCents() == 0) {
+            tally.skipped++;
+            return null;
+        }
+        account.setInterestAccruedThrough(businessDate);
+        tally.applied++;
+        tally.amountCents += accrual.interestCents();
+        return new Transaction(null, account.getAccountNumber(), TransactionType.INTEREST,
+                Money.toDollars(accrual.interestCents()), Money.toDollars(accrual.balanceAfterCents()), timestamp);
+    }
+
+    /**
+     * Outcome of an accrual run.
+     *
+     * @param businessDate    date interest was accrued for
+     * @param accrued         accounts credited by this run
+     * @param alreadyAccrued  accounts skipped because they were accrued for this date or a later one
+     * @param withoutInterest accounts whose interest rounded to zero
+     * @param interestCents   interest credited by this run, in cents
+     * @param complete        whether every savings account was processed
+     * @param elapsedNanos    run time
+     */
+    public record Report(LocalDate businessDate, int accrued, int alreadyAccrued, int withoutInterest,
+                         long interestCents, boolean complete, long elapsedNanos) {
+
+        /** @return interest credited by this run. */
+        public double totalInterest() {
+            return Money.toDollars(interestCents);
+        }
+
+        /** @return one-line summary for logs and the CLI. */
+        public String summary() {
+            return String.format("Interest accrual for %s %s: %d accounts credited $%.2f, %d already accrued, %d without interest (%.1f ms)",
+                    businessDate, complete ? "complete" : "INCOMPLETE", accrued, totalInterest(), alreadyAccrued,
+                    withoutInterest, elapsedNanos / 1e6);
+        }
+    }
+}
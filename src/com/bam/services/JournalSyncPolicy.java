@@ -0,0 +1,87 @@
+package com.bam.services;
+
+/**
+ * Decides when the group-commit journal writer forces appended records to stable storage.
+ * Callers waiting on a journal append are only released once a force covers their records.
+ */
+public final class JournalSyncPolicy {
+    private static final long RECORD_POLICY_LINGER_MS = 50;
+
+    private enum Mode { PER_COMMIT, INTERVAL, RECORD_COUNT }
+
+    private final Mode mode;
+    private final long threshold;
+
+    private JournalSyncPolicy(Mode mode, long threshold) {
+        this.mode = mode;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Forces after every batch the writer drains; concurrent commits still share one force.
+     */
+    public static JournalSyncPolicy perCommit() {
+        return new JournalSyncPolicy(Mode.PER_COMMIT, 0);
+    }
+
+    /**
+     * Forces at most once every {@code millis} milliseconds while records are pending.
+     */
+    public static JournalSyncPolicy everyMillis(long millis) {
+        if (millis <= 0) {
+            throw new IllegalArgumentException("Sync interval must be greater than zero.");
+        }
+        return new JournalSyncPolicy(Mode.INTERVAL, millis);
+    }
+
+    /**
+     * Forces once {@code records} records are pending, or when the writer goes idle so
+     * stragglers below the threshold are not held back indefinitely.
+     */
+    public static JournalSyncPolicy everyRecords(int records) {
+        if (records <= 0) {
+            throw new IllegalArgumentException("Sync record threshold must be greater than zero.");
+        }
+        return new JournalSyncPolicy(Mode.RECORD_COUNT, records);
+    }
+
+    /**
+     * @param pendingRecords  records written since the last force
+     * @param millisSinceSync time elapsed since the last force
+     * @param idle            {@code true} when the writer found no new work while waiting
+     * @return {@code true} if the pending records should be forced now
+     */
+    boolean shouldSync(int pendingRecords, long millisSinceSync, boolean idle) {
+        if (pendingRecords == 0) {
+            return false;
+        }
+        return switch (mode) {
+            case PER_COMMIT -> true;
+            case INTERVAL -> millisSinceSync >= threshold;
+            case RECORD_COUNT -> pendingRecords >= threshold || idle;
+        };
+    }
+
+    /**
+     * @return how long the writer may wait for more work before re-evaluating the policy.
+     */
+    long pollTimeoutMillis(int pendingRecords, long millisSinceSync, long defaultTimeout) {
+        if (pendingRecords == 0) {
+            return defaultTimeout;
+        }
+        return switch (mode) {
+            case PER_COMMIT -> 0;
+            case INTERVAL -> Math.max(0, threshold - millisSinceSync);
+            case RECORD_COUNT -> RECORD_POLICY_LINGER_MS;
+        };
+    }
+
+    @Override
+    public String toString() {
+        return switch (mode) {
+            case PER_COMMIT -> "per-commit";
+            case INTERVAL -> "every " + threshold + " ms";
+            case RECORD_COUNT -> "every " + threshold + " records";
+        };
+    }
+}
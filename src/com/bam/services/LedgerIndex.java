@@ -0,0 +1,97 @@
+package com.bam.services;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-account offset index into a {@link TransactionLedgerFile}: for every account the runs of
+ * consecutive records holding its transactions and the highest transaction sequence among them.
+ * Ledgers are written grouped by account, so each account normally has a single run and the index
+ * costs a few dozen bytes per account regardless of how many transactions it covers.
+ */
+public final class LedgerIndex {
+    private static final LedgerIndex EMPTY = new LedgerIndex(Map.of(), Map.of());
+
+    private final Map<String, long[]> runs;
+    private final Map<String, Integer> highestSequences;
+
+    LedgerIndex(Map<String, long[]> runs, Map<String, Integer> highestSequences) {
+        this.runs = runs;
+        this.highestSequences = highestSequences;
+    }
+
+    /** @return index of a ledger without any records. */
+    public static LedgerIndex empty() {
+        return EMPTY;
+    }
+
+    /** @return every account with at least one record in the ledger. */
+    public Set<String> accountNumbers() {
+        return Collections.unmodifiableSet(runs.keySet());
+    }
+
+    /**
+     * @return highest transaction sequence per account, e.g. 12 for an account whose last ID is TXN012.
+     */
+    public Map<String, Integer> highestSequences() {
+        return Collections.unmodifiableMap(highestSequences);
+    }
+
+    /** @return number of ledger records belonging to the account. */
+    public long transactionCount(String accountNumber) {
+        long[] accountRuns = runs.get(accountNumber);
+        long count = 0;
+        if (accountRuns != null) {
+            for (int i = 1; i < accountRuns.length; i += 2) {
+                count += accountRuns[i];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return alternating (first record, record count) pairs for the account, empty if it has none.
+     */
+    long[] runs(String accountNumber) {
+        return runs.getOrDefault(accountNumber, new long[0]);
+    }
+
+    /**
+     * Accumulates runs while records are visited in ledger order.
+     */
+    static final class Builder {
+        private final Map<String, long[]> runs = new HashMap<>();
+        private final Map<String, Integer> highestSequences = new HashMap<>();
+
+        void add(String accountNumber, long record, int sequence) {
+            long[] accountRuns = runs.get(accountNumber);
+            if (accountRuns == null) {
+                runs.put(accountNumber, new long[]{record, 1});
+            } else if (accountRuns[accountRuns.length - 2] + accountRuns[accountRuns.length - 1] == record) {
+                accountRuns[accountRuns.length - 1]++;
+            } else {
+                accountRuns = Arrays.copyOf(accountRuns, accountRuns.length + 2);
+                accountRuns[accountRuns.length - 2] = record;
+                accountRuns[accountRuns.length - 1] = 1;
+                runs.put(accountNumber, accountRuns);
+            }
+            highestSequences.merge(accountNumber, sequence, Math::max);
+        }
+
+        void addRuns(String accountNumber, long[] accountRuns, int highestSequence) {
+            runs.put(accountNumber, accountRuns);
+            highestSequences.put(accountNumber, highestSequence);
+        }
+
+        LedgerIndex build() {
+            return new LedgerIndex(runs, highestSequences);
+        }
+    }
+
+    Map<String, long[]> allRuns() {
+        return runs;
+    }
+}
@@ -0,0 +1,130 @@
+package com.bam.services;
+
+import com.bam.models.Account;
+import com.bam.models.CheckingAccount;
+import com.bam.models.Customer;
+import com.bam.models.Transaction;
+import com.bam.models.TransactionType;
+import com.bam.utils.Money;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+
+/**
+ * Month-end fee run over every checking account. Fee waivers are decided once per customer before
+ * the run starts; accounts are then charged in parallel partitions with an atomic balance update,
+ * and each partition appends its fee transactions to the ledger in one batch and commits them
+ * together.
+ * <p>
+ * Like {@link InterestAccrualJob}, a run is idempotent per month: each account records the last
+ * month it was charged for ({@link CheckingAccount#getFeesChargedThrough}), which is journaled with
+ * its fee transaction, and accounts already charged for the month (or a later one) are skipped
+ * when a cancelled or interrupted run is started again. Fee transactions are stamped with the time
+ * of the run. A fee is charged even when it takes the balance past the overdraft limit; such
+ * accounts are listed in the report. Runs must not overlap.
+ */
+public final class MonthlyFeeJob extends AccountBatchJob<CheckingAccount> {
+    private Map<String, Boolean> waivers = Map.of();
+    private YearMonth month;
+
+    /**
+     * @param commit durably records each partition's accounts and transactions, e.g.
+     *               {@link AccountManager#recordCommit}
+     */
+    public MonthlyFeeJob(TransactionManager transactionManager,
+                         BiConsumer<Collection<Account>, Collection<Transaction>> commit) {
+        this(transactionManager, commit, ForkJoinPool.commonPool(), DEFAULT_PARTITION_SIZE);
+    }
+
+    public MonthlyFeeJob(TransactionManager transactionManager,
+                         BiConsumer<Collection<Account>, Collection<Transaction>> commit,
+                         ForkJoinPool pool, int partitionSize) {
+        super(transactionManager, commit, pool, partitionSize);
+    }
+
+    /**
+     * Charges the monthly fee to the checking accounts among {@code accounts}. Other account
+     * types are ignored.
+     *
+     * @return what was charged; {@link Report#complete()} is {@code false} if the run was cancelled
+     */
+    public Report run(Collection<? extends Account> accounts, YearMonth month) {
+        long start = System.nanoTime();
+        List<CheckingAccount> checking = new ArrayList<>();
+        Map<String, Boolean> waived = new HashMap<>();
+        for (Account account : accounts) {
+            if (account instanceof CheckingAccount checkingAccount) {
+                checking.add(checkingAccount);
+                Customer customer = account.getCustomer();
+                waived.computeIfAbsent(customer.getCustomerId(), id -> CheckingAccount.hasWaivedFees(customer));
+            }
+        }
+        // Published to the pool's workers by the happens-before edge of invoke().
+        waivers = waived;
+        this.month = month;
+        Tally tally = runPartitions(checking, System.currentTimeMillis());
+        return new Report(month, tally.applied, tally.alreadyApplied, tally.skipped, tally.amountCents,
+                List.copyOf(tally.pastLimit), !isCancelled() && tally.pending == 0, System.nanoTime() - start);
+    }
+
+    @Override
+    Transaction apply(CheckingAccount account, Date timestamp, Tally tally) {
+        if (waivers.get(account.getCustomer().getCustomerId()) || account.getMonthlyFee() <= 0) {
+            tally.skipped++;
+            return null;
+        }
+        YearMonth chargedThrough = account.getFeesChargedThrough();
+        if (chargedThrough != null && !month.isAfter(chargedThrough)) {
+            tally.alreadyApplied++;
+            return null;
+        }
+        long balanceAfter = account.chargeMonthlyFee();
+        account.setFeesChargedThrough(month);
+        long feeCents = Money.toCents(account.getMonthlyFee());
+        tally.applied++;
+        tally.amountCents += feeCents;
+        if (balanceAfter < -CheckingAccount.OVERDRAFT_LIMIT_CENTS) {
+            tally.pastLimit.add(account.getAccountNumber());
+        }
+        // Checking balances are recorded with the overdraft included, as getBalanceAfter does.
+        return new Transaction(null, account.getAccountNumber(), TransactionType.FEE, Money.toDollars(feeCents),
+                Money.toDollars(balanceAfter + CheckingAccount.OVERDRAFT_LIMIT_CENTS), timestamp);
+    }
+
+    /**
+     * Outcome of a fee run.
+     *
+     * @param month          month the fee was charged for
+     * @param charged        accounts charged by this run
+     * @param alreadyCharged accounts skipped because they were charged for this month or a later one
+     * @param waived         accounts whose customer is exempt from fees
+     * @param feeCents       fees charged by this run, in cents
+     * @param pastLimit      accounts whose fee took the balance past the overdraft limit
+     * @param complete       whether every checking account was processed
+     * @param elapsedNanos   run time
+     */
+    public record Report(YearMonth month, int charged, int alreadyCharged, int waived, long feeCents,
+                         List<String> pastLimit, boolean complete, long elapsedNanos) {
+
+        /** @return fees charged by this run. */
+        public double totalFees() {
+            return Money.toDollars(feeCents);
+        }
+
+        /** @return one-line summary for logs and the CLI. */
+        public String summary() {
+            String summary = String.format("Monthly fees for %s %s: %d accounts charged $%.2f, %d already charged, %d waived (%.1f ms)",
+                    month, complete ? "complete" : "INCOMPLETE", charged, totalFees(), alreadyCharged, waived,
+                    elapsedNanos / 1e6);
+            return pastLimit.isEmpty() ? summary
+                    : summary + "; past overdraft limit: " + String.join(", ", pastLimit);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.bam.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+/**
+ * Parses persisted data in chunks on a {@link ForkJoinPool} so startup scales with the number of
+ * cores instead of running through one sequential stream. Text files are cut at line boundaries,
+ * fixed-width files at record boundaries, and every result is returned in file order.
+ */
+public class ParallelLoader {
+    private static final long DEFAULT_MIN_CHUNK_BYTES = 1 << 20;
+    private static final long MAX_CHUNK_BYTES = 256L << 20;
+    private static final int MIN_GROUP_CHUNK = 1 << 14;
+    private static final int BOUNDARY_SCAN_BYTES = 8192;
+
+    private final ForkJoinPool pool;
+    private final long minChunkBytes;
+
+    /**
+     * Reads one chunk, adding its results in order to {@code output}.
+     */
+    @FunctionalInterface
+    public interface ChunkReader<T> {
+        void read(int chunk, List<T> output) throws IOException;
+    }
+
+    public ParallelLoader() {
+        this(ForkJoinPool.commonPool(), DEFAULT_MIN_CHUNK_BYTES);
+    }
+
+    /**
+     * Creates a loader on the given pool that never cuts chunks smaller than {@code minChunkBytes}.
+     */
+    public ParallelLoader(ForkJoinPool pool, long minChunkBytes) {
+        this.pool = pool;
+        this.minChunkBytes = minChunkBytes;
+    }
+
+    /**
+     * @return number of chunks worth splitting {@code totalBytes} into on this loader's pool.
+     */
+    public int chunkCount(long totalBytes) {
+        long chunkBytes = Math.min(MAX_CHUNK_BYTES, Math.max(minChunkBytes, totalBytes / (pool.getParallelism() * 4L)));
+        return (int) Math.max(1, (totalBytes + chunkBytes - 1) / chunkBytes);
+    }
+
+    /**
+     * Parses every non-blank line of {@code file}. Lines for which {@code parser} returns
+     * {@code null} are dropped.
+     */
+    public <T> List<T> parseLines(Path file, Function<String, T> parser) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = lineBoundaries(channel, chunkCount(channel.size()));
+            return readChunks(bounds.length - 1, (chunk, output) -> {
+                long start = bounds[chunk];
+                long length = bounds[chunk + 1] - start;
+                if (length == 0) {
+                    return;
+                }
+                ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                String text = StandardCharsets.UTF_8.decode(bytes).toString();
+                int lineStart = 0;
+                while (lineStart < text.length()) {
+                    int lineEnd = text.indexOf('\n', lineStart);
+                    if (lineEnd < 0) {
+                        lineEnd = text.length();
+                    }
+                    int contentEnd = lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+                    String line = text.substring(lineStart, contentEnd);
+                    if (!line.isBlank()) {
+                        T parsed = parser.apply(line);
+                        if (parsed != null) {
+                            output.add(parsed);
+                        }
+                    }
+                    lineStart = lineEnd + 1;
+                }
+            });
+        }
+    }
+
+    /**
+     * Reads {@code chunkCount} independent chunks in parallel and concatenates them in chunk order.
+     */
+    public <T> List<T> readChunks(int chunkCount, ChunkReader<T> reader) throws IOException {
+        if (chunkCount <= 1) {
+            List<T> output = new ArrayList<>();
+            if (chunkCount == 1) {
+                reader.read(0, output);
+            }
+            return output;
+        }
+        try {
+            return pool.invoke(new ChunkTask<>(reader, 0, chunkCount));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Groups {@code items} by key in parallel. Each chunk builds its own per-key lists and the
+     * partial maps are merged pairwise, so every list keeps the items' original relative order.
+     */
+    public <T> Map<String, List<T>> groupBy(List<T> items, Function<T, String> key) {
+        int chunkSize = Math.max(MIN_GROUP_CHUNK, items.size() / (pool.getParallelism() * 4));
+        GroupTask<T> task = new GroupTask<>(items, key, chunkSize, 0, items.size());
+        return items.size() <= chunkSize ? task.compute() : pool.invoke(task);
+    }
+
+    /**
+     * Finds chunk start offsets: each target offset is moved forward to just past the next newline.
+     */
+    private static long[] lineBoundaries(FileChannel channel, int chunks) throws IOException {
+        long size = channel.size();
+        long[] bounds = new long[chunks + 1];
+        bounds[chunks] = size;
+        ByteBuffer scan = ByteBuffer.allocate(BOUNDARY_SCAN_BYTES);
+        for (int i = 1; i < chunks; i++) {
+            long position = Math.max(bounds[i - 1], size / chunks * i);
+            bounds[i] = nextLineStart(channel, position, size, scan);
+        }
+        return bounds;
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long size, ByteBuffer scan) throws IOException {
+        if (position == 0) {
+            return 0;
+        }
+        // Starting one byte back keeps a chunk that already begins on a line start unchanged.
+        long cursor = position - 1;
+        while (cursor < size) {
+            scan.clear();
+            int read = channel.read(scan, cursor);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == '\n') {
+                    return cursor + i + 1;
+                }
+            }
+            cursor += read;
+        }
+        return size;
+    }
+
+    private static final class ChunkTask<T> extends RecursiveTask<List<T>> {
+        private final ChunkReader<T> reader;
+        private final int from;
+        private final int to;
+
+        ChunkTask(ChunkReader<T> reader, int from, int to) {
+            this.reader = reader;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<T> compute() {
+            if (to - from == 1) {
+                List<T> output = new ArrayList<>();
+                try {
+                    reader.read(from, output);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return output;
+            }
+            int middle = (from + to) >>> 1;
+            ChunkTask<T> right = new ChunkTask<>(reader, middle, to);
+            right.fork();
+            List<T> left = new ChunkTask<>(reader, from, middle).compute();
+            left.addAll(right.join());
+            return left;
+        }
+    }
+
+    private static final class GroupTask<T> extends RecursiveTask<Map<String, List<T>>> {
+        private final List<T> items;
+        private final Function<T, String> key;
+        private final int chunkSize;
+        private final int from;
+        private final int to;
+
+        GroupTask(List<T> items, Function<T, String> key, int chunkSize, int from, int to) {
+            this.items = items;
+            this.key = key;
+            this.chunkSize = chunkSize;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<String, List<T>> compute() {
+            if (to - from <= chunkSize) {
+                Map<String, List<T>> groups = new HashMap<>();
+                for (int i = from; i < to; i++) {
+                    T item = items.get(i);
+                    groups.computeIfAbsent(key.apply(item), ignored -> new ArrayList<>()).add(item);
+                }
+                return groups;
+            }
+            int middle = (from + to) >>> 1;
+            GroupTask<T> right = new GroupTask<>(items, key, chunkSize, middle, to);
+            right.fork();
+            Map<String, List<T>> left = new GroupTask<>(items, key, chunkSize, from, middle).compute();
+            right.join().forEach((groupKey, values) -> left.merge(groupKey, values, (earlier, later) -> {
+                earlier.addAll(later);
+                return earlier;
+            }));
+            return left;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.bam.services;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+/**
+ * CRC32C helpers shared by the persisted record formats. {@link CRC32C} is a JVM intrinsic on
+ * common hardware, so verifying every record during startup costs little next to decoding it.
+ */
+public final class RecordChecksum {
+
+    private RecordChecksum() {
+    }
+
+    /** @return CRC32C of {@code length} bytes of {@code data} starting at {@code offset}. */
+    public static int compute(byte[] data, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * @return CRC32C of {@code length} bytes of {@code buffer} starting at absolute {@code offset};
+     * the buffer's position and limit are left untouched.
+     */
+    public static int compute(ByteBuffer buffer, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+}
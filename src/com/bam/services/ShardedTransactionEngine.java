@@ -0,0 +1,276 @@
+package com.bam.services;
+
+import com.bam.exceptions.InvalidAccountException;
+import com.bam.models.Account;
+import com.bam.models.Transaction;
+import com.bam.models.TransactionOutcome;
+import com.bam.models.TransactionType;
+import com.bam.utils.AccountNumbers;
+import com.bam.utils.Money;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Runs deposits, withdrawals and transfers on a fixed set of shard threads, each of which owns
+ * the accounts hashed to it and is the only thread that ever changes their balances. Callers
+ * publish commands to the owning shard's {@link CommandRing} and get a future back, so no account
+ * is ever contended and no lock is taken on the way.
+ * <p>
+ * Commands use the exception-free {@link TransactionOutcome} paths: a future completes with the
+ * outcome, and a declined withdrawal or transfer is an outcome rather than an exception. Every
+ * applied change is appended to the account's ledger through the {@link TransactionManager} and
+ * handed to the commit sink (e.g. {@link AccountManager#recordCommit}) by the shard that made it,
+ * so work done through the engine appears in statements and the journal like any other.
+ * <p>
+ * A transfer between shards runs in two phases: the source shard debits the source account
+ * (declining the transfer if it would breach the account's floor), records the debit and passes a
+ * credit message to the target shard, which credits and records the target. The amount was
+ * validated by the debit, so the credit cannot be declined. Shard-to-shard messages use an
+ * unbounded queue so two shards publishing to each other can never deadlock on full rings.
+ * <p>
+ * Registered accounts must only be changed through the engine while it is running.
+ */
+public class ShardedTransactionEngine implements AutoCloseable {
+    public static final int DEFAULT_RING_CAPACITY = 1024;
+
+    private enum Op { DEPOSIT, WITHDRAW, TRANSFER, CREDIT }
+
+    private record Command(Op op, Account account, Account target, double amount,
+                           CompletableFuture<TransactionOutcome> result, TransactionOutcome debit) {
+        Command credit(TransactionOutcome debitOutcome) {
+            return new Command(Op.CREDIT, account, target, amount, result, debitOutcome);
+        }
+    }
+
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+    private final TransactionManager transactionManager;
+    private final BiConsumer<Collection<Account>, Collection<Transaction>> commits;
+    private final Shard[] shards;
+    private final AtomicLong pending = new AtomicLong();
+    private volatile boolean running = true;
+
+    /**
+     * Starts an engine with {@code shardCount} shard threads and the default ring capacity that
+     * records to the ledgers without journaling.
+     */
+    public ShardedTransactionEngine(int shardCount, TransactionManager transactionManager) {
+        this(shardCount, DEFAULT_RING_CAPACITY, transactionManager, (accounts, transactions) -> {
+        });
+    }
+
+    /**
+     * Starts an engine with {@code shardCount} shard threads, each reading a ring of
+     * {@code ringCapacity} slots.
+     *
+     * @param transactionManager records a ledger entry for every applied change
+     * @param commits            receives each change's account and recorded entry from the shard
+     *                           thread that made it, e.g. to journal them
+     */
+    public ShardedTransactionEngine(int shardCount, int ringCapacity, TransactionManager transactionManager,
+                                    BiConsumer<Collection<Account>, Collection<Transaction>> commits) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shardCount);
+        }
+        this.transactionManager = transactionManager;
+        this.commits = commits;
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(ringCapacity);
+            Thread thread = new Thread(shards[i], "txn-shard-" + i);
+            thread.setDaemon(true);
+            shards[i].thread = thread;
+            thread.start();
+        }
+    }
+
+    /**
+     * Hands {@code account} to the shard that owns its account number.
+     */
+    public void register(Account account) {
+        accounts.putIfAbsent(account.getAccountNumber(), account);
+    }
+
+    /**
+     * Registers every account in {@code accountsToRegister}.
+     */
+    public void registerAll(Collection<? extends Account> accountsToRegister) {
+        accountsToRegister.forEach(this::register);
+    }
+
+    /** @return number of shard threads. */
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * @return the shard owning {@code accountNumber}: its numeric id modulo the shard count, or
+     * the hash of its text for a number outside the {@code ACC} scheme
+     */
+    public int shardOf(String accountNumber) {
+        long id = AccountNumbers.parse(accountNumber, AccountNumbers.PREFIX);
+        return id == AccountNumbers.INVALID
+                ? Math.floorMod(accountNumber.hashCode(), shards.length)
+                : (int) (id % shards.length);
+    }
+
+    /**
+     * Queues a deposit; the future completes with the outcome of {@link Account#tryDeposit}.
+     */
+    public CompletableFuture<TransactionOutcome> deposit(String accountNumber, double amount) {
+        return submit(Op.DEPOSIT, accountNumber, null, amount);
+    }
+
+    /**
+     * Queues a withdrawal; the future completes with the outcome of {@link Account#tryWithdraw}.
+     */
+    public CompletableFuture<TransactionOutcome> withdraw(String accountNumber, double amount) {
+        return submit(Op.WITHDRAW, accountNumber, null, amount);
+    }
+
+    /**
+     * Queues a transfer; the future completes with the outcome of the debit, once the target has
+     * been credited when the debit was applied.
+     */
+    public CompletableFuture<TransactionOutcome> transfer(String sourceAccountNumber, String targetAccountNumber, double amount) {
+        return submit(Op.TRANSFER, sourceAccountNumber, targetAccountNumber, amount);
+    }
+
+    /**
+     * Stops accepting commands, waits for every queued command to finish and stops the shards.
+     */
+    @Override
+    public void close() {
+        running = false;
+        for (Shard shard : shards) {
+            try {
+                shard.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private CompletableFuture<TransactionOutcome> submit(Op op, String accountNumber, String targetAccountNumber, double amount) {
+        CompletableFuture<TransactionOutcome> result = new CompletableFuture<>();
+        // Counted before the running check so close() cannot stop the shards under this command.
+        pending.incrementAndGet();
+        if (!running) {
+            pending.decrementAndGet();
+            throw new IllegalStateException("Transaction engine is closed.");
+        }
+        Account account = accounts.get(accountNumber);
+        Account target = targetAccountNumber == null ? null : accounts.get(targetAccountNumber);
+        if (account == null || (op == Op.TRANSFER && target == null)) {
+            String missing = account == null ? accountNumber : targetAccountNumber;
+            fail(result, new InvalidAccountException("Account not registered with the engine: " + missing));
+        } else if (account == target) {
+            fail(result, new InvalidAccountException("Cannot transfer to the same account"));
+        } else {
+            shards[shardOf(accountNumber)].ring.publish(new Command(op, account, target, amount, result, null));
+        }
+        return result;
+    }
+
+    private void complete(CompletableFuture<TransactionOutcome> result, TransactionOutcome outcome) {
+        result.complete(outcome);
+        pending.decrementAndGet();
+    }
+
+    private void fail(CompletableFuture<TransactionOutcome> result, Exception cause) {
+        result.completeExceptionally(cause);
+        pending.decrementAndGet();
+    }
+
+    private Shard ownerOf(Account account) {
+        return shards[shardOf(account.getAccountNumber())];
+    }
+
+    private final class Shard implements Runnable {
+        private final CommandRing<Command> ring;
+        private final Queue<Command> messages = new ConcurrentLinkedQueue<>();
+        private Thread thread;
+
+        Shard(int ringCapacity) {
+            ring = new CommandRing<>(ringCapacity);
+        }
+
+        @Override
+        public void run() {
+            int idle = 0;
+            while (true) {
+                Command command = messages.poll();
+                if (command == null) {
+                    command = ring.poll();
+                }
+                if (command != null) {
+                    execute(command);
+                    idle = 0;
+                } else if (!running && pending.get() == 0) {
+                    return;
+                } else {
+                    idle = CommandRing.backOff(idle);
+                }
+            }
+        }
+
+        private void execute(Command command) {
+            try {
+                Account account = command.account();
+                switch (command.op()) {
+                    case DEPOSIT -> complete(command.result(),
+                            record(account, TransactionType.DEPOSIT, command.amount(), account.tryDeposit(command.amount())));
+                    case WITHDRAW -> complete(command.result(),
+                            record(account, TransactionType.WITHDRAWAL, command.amount(), account.tryWithdraw(command.amount())));
+                    case TRANSFER -> {
+                        TransactionOutcome debit = record(account, TransactionType.TRANSFER_OUT, command.amount(),
+                                account.tryWithdraw(command.amount()));
+                        if (debit.isApplied()) {
+                            send(ownerOf(command.target()), command.credit(debit));
+                        } else {
+                            complete(command.result(), debit);
+                        }
+                    }
+                    case CREDIT -> {
+                        Account target = command.target();
+                        record(target, TransactionType.TRANSFER_IN, command.amount(),
+                                target.tryDepositCents(Money.amountToCents(command.amount())));
+                        complete(command.result(), command.debit());
+                    }
+                }
+            } catch (RuntimeException e) {
+                fail(command.result(), e);
+            }
+        }
+
+        /**
+         * Appends the ledger entry for an applied change and hands it to the commit sink.
+         *
+         * @return {@code outcome}
+         */
+        private TransactionOutcome record(Account account, TransactionType type, double amount, TransactionOutcome outcome) {
+            if (outcome.isApplied()) {
+                Transaction recorded = transactionManager.addTransaction(new Transaction(account.getAccountNumber(), type,
+                        amount, TransactionManager.recordedBalance(account, outcome.balanceCents())));
+                commits.accept(List.of(account), List.of(recorded));
+            }
+            return outcome;
+        }
+
+        private void send(Shard shard, Command command) {
+            if (shard == this) {
+                execute(command);
+            } else {
+                shard.messages.add(command);
+            }
+        }
+    }
+}
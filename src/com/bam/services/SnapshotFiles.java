@@ -0,0 +1,59 @@
+package com.bam.services;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes checkpoint snapshots with write-temp-then-rename so a crash mid-write never leaves a
+ * half-written snapshot in place of the previous one.
+ */
+final class SnapshotFiles {
+    static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * Produces the snapshot contents at the given temporary path.
+     */
+    @FunctionalInterface
+    interface SnapshotWriter {
+        void writeTo(Path temporary) throws IOException;
+    }
+
+    private SnapshotFiles() {
+    }
+
+    /**
+     * Writes the snapshot beside {@code target}, forces it to disk and renames it over the target.
+     */
+    static void replaceAtomically(Path target, SnapshotWriter writer) throws IOException {
+        Path temporary = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        writer.writeTo(temporary);
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        try {
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Removes temporaries left behind by a checkpoint that crashed before its rename.
+     */
+    static void deleteStaleTemporaries(Path directory) throws IOException {
+        if (Files.notExists(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> temporaries = Files.newDirectoryStream(directory, "*" + TEMP_SUFFIX)) {
+            for (Path temporary : temporaries) {
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+}
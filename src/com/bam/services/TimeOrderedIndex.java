@@ -0,0 +1,168 @@
+package com.bam.services;
+
+import com.bam.models.Transaction;
+import com.bam.models.TransactionPage;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An account's transactions ordered by (timestamp, sequence number), answering "last N", time
+ * range and cursor pagination queries with binary searches. Ledgers are appended in time order,
+ * so the index normally wraps the ledger snapshot as is and costs nothing to build; only a
+ * history with out-of-order timestamps is copied and sorted. Query cost therefore depends on the
+ * page size, not on the length of the history.
+ */
+public final class TimeOrderedIndex {
+    /** Orders transactions by timestamp, then by the sequence number in their ID. */
+    public static final Comparator<Transaction> ORDER = Comparator
+            .comparingLong(TimeOrderedIndex::timeOf)
+            .thenComparingInt(Transaction::getSequence);
+
+    private final List<Transaction> ordered;
+
+    private TimeOrderedIndex(List<Transaction> ordered) {
+        this.ordered = ordered;
+    }
+
+    /**
+     * @param snapshot      an immutable ledger snapshot
+     * @param chronological whether {@code snapshot} is already in {@link #ORDER}
+     */
+    static TimeOrderedIndex of(List<Transaction> snapshot, boolean chronological) {
+        if (chronological) {
+            return new TimeOrderedIndex(snapshot);
+        }
+        List<Transaction> sorted = new ArrayList<>(snapshot);
+        sorted.sort(ORDER);
+        return new TimeOrderedIndex(sorted);
+    }
+
+    /** @return number of indexed transactions. */
+    public int size() {
+        return ordered.size();
+    }
+
+    /** @return every transaction, oldest first. */
+    public List<Transaction> chronological() {
+        return ordered;
+    }
+
+    /** @return every transaction, newest first, as a view. */
+    public List<Transaction> newestFirst() {
+        return new Reversed(ordered);
+    }
+
+    /** @return the {@code count} most recent transactions, newest first. */
+    public List<Transaction> last(int count) {
+        return newestFirst().subList(0, Math.max(0, Math.min(count, ordered.size())));
+    }
+
+    /** @return transactions with {@code from <= timestamp <= to}, oldest first. */
+    public List<Transaction> between(Date from, Date to) {
+        int start = bound(from.getTime(), Integer.MIN_VALUE, false);
+        int end = bound(to.getTime(), Integer.MAX_VALUE, true);
+        return start >= end ? List.of() : ordered.subList(start, end);
+    }
+
+    /**
+     * Pages through the history from newest to oldest. A cursor names the oldest transaction of
+     * the page it came from by its (timestamp, sequence) key and its rank among the transactions
+     * sharing that key, e.g. {@code -5000:0:2}, so transactions with equal keys (unnumbered IDs in
+     * the same millisecond) are neither skipped nor repeated across a page boundary.
+     *
+     * @param cursor   {@code null} for the first page, otherwise a previous page's {@link TransactionPage#nextCursor()}
+     * @param pageSize maximum transactions per page
+     * @throws IllegalArgumentException if the cursor is malformed or the page size not positive
+     */
+    public TransactionPage page(String cursor, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        int end = cursor == null ? ordered.size() : positionOf(cursor);
+        int start = Math.max(0, end - pageSize);
+        String nextCursor = start == 0 ? null : cursorAt(start);
+        return new TransactionPage(new Reversed(ordered.subList(start, end)), nextCursor);
+    }
+
+    /** @return timestamp of the transaction in epoch millis, 0 when unknown. */
+    static long timeOf(Transaction transaction) {
+        return transaction.getTimestampMillis();
+    }
+
+    private String cursorAt(int position) {
+        Transaction transaction = ordered.get(position);
+        long time = timeOf(transaction);
+        int sequence = transaction.getSequence();
+        return time + ":" + sequence + ":" + (position - bound(time, sequence, false));
+    }
+
+    /**
+     * @return position of the transaction {@code cursor} names; when transactions sharing its key
+     * have since been removed, the position after the last of them
+     */
+    private int positionOf(String cursor) {
+        int first = cursor.indexOf(':');
+        int second = cursor.indexOf(':', first + 1);
+        try {
+            long time = Long.parseLong(cursor, 0, first, 10);
+            int sequence = Integer.parseInt(cursor, first + 1, second, 10);
+            int rank = Integer.parseInt(cursor, second + 1, cursor.length(), 10);
+            if (rank < 0) {
+                throw new NumberFormatException();
+            }
+            int firstWithKey = bound(time, sequence, false);
+            return (int) Math.min((long) firstWithKey + rank, bound(time, sequence, true));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Malformed transaction cursor: " + cursor);
+        }
+    }
+
+    /**
+     * @return index of the first transaction ordered at or after (time, sequence), or strictly
+     * after it when {@code after} is set
+     */
+    private int bound(long time, int sequence, boolean after) {
+        int low = 0;
+        int high = ordered.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            Transaction candidate = ordered.get(middle);
+            long candidateTime = timeOf(candidate);
+            int candidateSequence = candidate.getSequence();
+            boolean before = candidateTime < time || (candidateTime == time
+                    && (after ? candidateSequence <= sequence : candidateSequence < sequence));
+            if (before) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Reverse-order view of a list.
+     */
+    private static final class Reversed extends AbstractList<Transaction> implements RandomAccess {
+        private final List<Transaction> source;
+
+        Reversed(List<Transaction> source) {
+            this.source = source;
+        }
+
+        @Override
+        public Transaction get(int index) {
+            return source.get(source.size() - 1 - index);
+        }
+
+        @Override
+        public int size() {
+            return source.size();
+        }
+    }
+}
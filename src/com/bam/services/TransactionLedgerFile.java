@@ -0,0 +1,571 @@
+package com.bam.services;
+
+import com.bam.models.Transaction;
+import com.bam.models.TransactionType;
+import com.bam.utils.AccountNumbers;
+import com.bam.utils.Money;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-width binary transaction ledger read and written through memory-mapped buffers.
+ * <p>
+ * Layout: a {@value #HEADER_SIZE}-byte header (magic, version, record size, record count, the
+ * journal LSN the snapshot covers, and the length and CRC32C of the name table), the name table,
+ * then {@value #RECORD_SIZE}-byte records. Each record is framed by its payload length and a CRC32C
+ * of the payload; the {@value #PAYLOAD_SIZE}-byte payload holds the numeric account id as a
+ * {@code long}, the transaction sequence, a type code, the amount and resulting balance in cents,
+ * and the timestamp in epoch millis. Account numbers and transaction IDs are rebuilt from shared
+ * caches, so loading does no per-record text parsing.
+ * <p>
+ * Only a number that formats back to exactly the same text is stored numerically. Any other
+ * account number or transaction ID ({@code ACC0001}, {@code ACC123-0}, {@code LEGACY-7}) is kept
+ * verbatim in the name table and the record refers to it by a negative position, so every
+ * transaction reads back under the key it was written with.
+ * <p>
+ * Records that fail their checksum are skipped and a ledger cut short is read up to its last
+ * complete record, so one damaged record no longer aborts the whole load. Large ledgers are
+ * decoded in record-aligned chunks on a {@link ParallelLoader}.
+ * <p>
+ * Every write also stores a {@link LedgerIndex} beside the ledger ({@code <ledger>.idx}) so a
+ * single account's history can be read without touching the other records.
+ */
+public class TransactionLedgerFile {
+    static final long MAGIC = 0x42414D4C45444752L; // "BAMLEDGR"
+    static final int VERSION = 4;
+    static final int HEADER_SIZE = 40;
+    static final int PAYLOAD_SIZE = 8 + 4 + 1 + 8 + 8 + 8;
+    static final int FRAME_SIZE = 4 + 4;
+    static final int RECORD_SIZE = FRAME_SIZE + PAYLOAD_SIZE;
+    static final long INDEX_MAGIC = 0x42414D4C49445831L; // "BAMLIDX1"
+    static final int INDEX_VERSION = 2;
+    static final int INDEX_HEADER_SIZE = 32;
+    private static final int V1_HEADER_SIZE = 24;
+    private static final int V2_HEADER_SIZE = 32;
+    /** Payload of versions 1 to 3, whose account id is an {@code int}. */
+    private static final int V3_PAYLOAD_SIZE = 4 + 4 + 1 + 8 + 8 + 8;
+    private static final int RECORDS_PER_MAPPING = 1 << 22;
+    private static final String ACCOUNT_PREFIX = "ACC";
+    private static final String TRANSACTION_PREFIX = "TXN";
+
+    private final Path path;
+    private final Path indexPath;
+    private final ParallelLoader loader;
+    private final IdCache accountNumbers = new IdCache(ACCOUNT_PREFIX);
+    private final IdCache transactionIds = new IdCache(TRANSACTION_PREFIX);
+
+    public TransactionLedgerFile(Path path) {
+        this(path, new ParallelLoader());
+    }
+
+    /**
+     * Creates a ledger whose reads are split into chunks decoded on {@code loader}.
+     */
+    public TransactionLedgerFile(Path path, ParallelLoader loader) {
+        this.path = path;
+        this.indexPath = path.resolveSibling(path.getFileName() + ".idx");
+        this.loader = loader;
+    }
+
+    /** @return location of the ledger file. */
+    public Path getPath() {
+        return path;
+    }
+
+    /** @return {@code true} when the ledger file is present on disk. */
+    public boolean exists() {
+        return Files.exists(path);
+    }
+
+    /**
+     * Parsed header fields. Versions 1 and 2 predate per-record checksums and versions 1 to 3 store
+     * the account id as an {@code int} and have no name table.
+     *
+     * @param size  offset of the first record
+     * @param names name table, {@code null} when it failed its checksum
+     */
+    private record Header(int size, int recordSize, boolean checksummed, boolean longIds, long recordCount,
+                          long checkpointLsn, String[] names) {
+    }
+
+    /**
+     * @return journal LSN covered by this snapshot, or 0 for snapshots written before LSNs existed.
+     */
+    public long readCheckpointLsn() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readHeader(channel).checkpointLsn();
+        }
+    }
+
+    /**
+     * Reads every intact record in file order.
+     */
+    public List<Transaction> read() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = readHeader(channel);
+            int recordSize = header.recordSize();
+            long recordCount = header.recordCount();
+            long available = (channel.size() - header.size()) / recordSize;
+            if (available < recordCount) {
+                System.out.printf("Ledger %s is cut short: reading %d of %d records.%n", path, available, recordCount);
+                recordCount = available;
+            }
+            // Fixed-width records make every chunk boundary a record boundary.
+            long recordsPerChunk = Math.max(1, recordCount / loader.chunkCount(recordCount * recordSize));
+            int chunks = (int) ((recordCount + recordsPerChunk - 1) / recordsPerChunk);
+            long totalRecords = recordCount;
+            LongAdder corruptRecords = new LongAdder();
+            List<Transaction> transactions = loader.readChunks(chunks, (chunk, output) -> {
+                long first = chunk * recordsPerChunk;
+                int count = (int) Math.min(recordsPerChunk, totalRecords - first);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                        header.size() + first * recordSize, (long) count * recordSize);
+                for (int i = 0; i < count; i++) {
+                    int offset = i * recordSize;
+                    if (header.checksummed()) {
+                        if (!isIntact(header, buffer, offset)) {
+                            corruptRecords.increment();
+                            continue;
+                        }
+                        offset += FRAME_SIZE;
+                    }
+                    Transaction transaction = decode(header, buffer, offset);
+                    if (transaction == null) {
+                        corruptRecords.increment();
+                    } else {
+                        output.add(transaction);
+                    }
+                }
+            });
+            long corrupt = corruptRecords.sum();
+            if (corrupt > 0) {
+                System.out.printf("Skipped %d corrupt record(s) in ledger %s.%n", corrupt, path);
+            }
+            return transactions;
+        }
+    }
+
+    /**
+     * Reads the records of one account listed in {@code index}, skipping any that fail their checksum.
+     */
+    public List<Transaction> readAccount(LedgerIndex index, String accountNumber) throws IOException {
+        long[] runs = index.runs(accountNumber);
+        List<Transaction> transactions = new ArrayList<>((int) Math.min(index.transactionCount(accountNumber), Integer.MAX_VALUE));
+        if (runs.length == 0) {
+            return transactions;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = readHeader(channel);
+            int recordSize = header.recordSize();
+            for (int run = 0; run < runs.length; run += 2) {
+                int count = (int) runs[run + 1];
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                        header.size() + runs[run] * recordSize, (long) count * recordSize);
+                for (int i = 0; i < count; i++) {
+                    int offset = i * recordSize;
+                    if (header.checksummed()) {
+                        if (!isIntact(header, buffer, offset)) {
+                            continue;
+                        }
+                        offset += FRAME_SIZE;
+                    }
+                    Transaction transaction = decode(header, buffer, offset);
+                    if (transaction != null) {
+                        transactions.add(transaction);
+                    }
+                }
+            }
+        }
+        return transactions;
+    }
+
+    /**
+     * Loads the index written beside the ledger, rebuilding it from the account ids in the ledger
+     * when it is missing, damaged or belongs to a different ledger snapshot.
+     */
+    public LedgerIndex readIndex() throws IOException {
+        if (!exists()) {
+            return LedgerIndex.empty();
+        }
+        Header header;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            header = readHeader(channel);
+        }
+        LedgerIndex index = readIndexFile(header);
+        if (index == null) {
+            System.out.println("Rebuilding ledger index for " + path);
+            index = scanIndex(header);
+            writeIndex(index, header.recordCount(), header.checkpointLsn());
+        }
+        return index;
+    }
+
+    /**
+     * Atomically replaces the ledger with the supplied transactions and writes its index.
+     *
+     * @param checkpointLsn highest journal LSN whose effects the transactions include
+     * @return index of the ledger just written
+     */
+    public LedgerIndex write(List<Transaction> transactions, long checkpointLsn) throws IOException {
+        // Dropped first so a crash before the new index lands forces a rebuild instead of a stale read.
+        Files.deleteIfExists(indexPath);
+        SnapshotFiles.replaceAtomically(path, temporary -> writeTo(temporary, transactions, checkpointLsn));
+        LedgerIndex.Builder builder = new LedgerIndex.Builder();
+        for (int i = 0; i < transactions.size(); i++) {
+            Transaction txn = transactions.get(i);
+            builder.add(txn.getAccountNumber(), i, txn.getSequence());
+        }
+        LedgerIndex index = builder.build();
+        writeIndex(index, transactions.size(), checkpointLsn);
+        return index;
+    }
+
+    private LedgerIndex readIndexFile(Header header) throws IOException {
+        if (Files.notExists(indexPath)) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(indexPath));
+        int bodyLength = buffer.limit() - Integer.BYTES;
+        if (bodyLength < INDEX_HEADER_SIZE
+                || buffer.getInt(bodyLength) != RecordChecksum.compute(buffer, 0, bodyLength)
+                || buffer.getLong() != INDEX_MAGIC
+                || buffer.getInt() != INDEX_VERSION) {
+            return null;
+        }
+        int entries = buffer.getInt();
+        if (buffer.getLong() != header.recordCount() || buffer.getLong() != header.checkpointLsn()) {
+            return null;
+        }
+        LedgerIndex.Builder builder = new LedgerIndex.Builder();
+        for (int i = 0; i < entries; i++) {
+            long accountId = buffer.getLong();
+            String accountNumber;
+            if (accountId == AccountNumbers.INVALID) {
+                byte[] text = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(text);
+                accountNumber = new String(text, StandardCharsets.UTF_8);
+            } else {
+                accountNumber = accountNumbers.get(accountId);
+            }
+            int highestSequence = buffer.getInt();
+            long[] runs = new long[buffer.getInt() * 2];
+            for (int run = 0; run < runs.length; run++) {
+                runs[run] = buffer.getLong();
+            }
+            builder.addRuns(accountNumber, runs, highestSequence);
+        }
+        return builder.build();
+    }
+
+    private void writeIndex(LedgerIndex index, long recordCount, long checkpointLsn) throws IOException {
+        // Account numbers that do not round-trip through their id are written out after an INVALID id.
+        Map<String, byte[]> irregular = new HashMap<>();
+        int size = INDEX_HEADER_SIZE + Integer.BYTES;
+        for (Map.Entry<String, long[]> entry : index.allRuns().entrySet()) {
+            size += Long.BYTES + 2 * Integer.BYTES + entry.getValue().length * Long.BYTES;
+            if (accountIdOf(entry.getKey()) == AccountNumbers.INVALID) {
+                byte[] text = nameBytes(entry.getKey());
+                irregular.put(entry.getKey(), text);
+                size += Short.BYTES + text.length;
+            }
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putLong(INDEX_MAGIC).putInt(INDEX_VERSION).putInt(index.allRuns().size())
+                .putLong(recordCount).putLong(checkpointLsn);
+        index.allRuns().forEach((accountNumber, runs) -> {
+            byte[] text = irregular.get(accountNumber);
+            if (text == null) {
+                buffer.putLong(accountIdOf(accountNumber));
+            } else {
+                buffer.putLong(AccountNumbers.INVALID).putShort((short) text.length).put(text);
+            }
+            buffer.putInt(index.highestSequences().getOrDefault(accountNumber, 0))
+                    .putInt(runs.length / 2);
+            for (long value : runs) {
+                buffer.putLong(value);
+            }
+        });
+        buffer.putInt(RecordChecksum.compute(buffer, 0, size - Integer.BYTES));
+        SnapshotFiles.replaceAtomically(indexPath, temporary -> Files.write(temporary, buffer.array()));
+    }
+
+    /**
+     * Builds the index from the account id and sequence of every record, without decoding the rest.
+     */
+    private LedgerIndex scanIndex(Header header) throws IOException {
+        LedgerIndex.Builder builder = new LedgerIndex.Builder();
+        int recordSize = header.recordSize();
+        int payloadOffset = header.checksummed() ? FRAME_SIZE : 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long recordCount = Math.min(header.recordCount(), (channel.size() - header.size()) / recordSize);
+            for (long first = 0; first < recordCount; first += RECORDS_PER_MAPPING) {
+                int count = (int) Math.min(RECORDS_PER_MAPPING, recordCount - first);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                        header.size() + first * recordSize, (long) count * recordSize);
+                for (int i = 0; i < count; i++) {
+                    int offset = i * recordSize + payloadOffset;
+                    long account = header.longIds() ? buffer.getLong(offset) : buffer.getInt(offset);
+                    int sequence = buffer.getInt(offset + (header.longIds() ? Long.BYTES : Integer.BYTES));
+                    String accountNumber = accountNumber(header, account);
+                    if (accountNumber != null) {
+                        builder.add(accountNumber, first + i, Math.max(0, sequence));
+                    }
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private void writeTo(Path target, List<Transaction> transactions, long checkpointLsn) throws IOException {
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long recordCount = transactions.size();
+            NameTable names = new NameTable();
+            for (Transaction txn : transactions) {
+                names.accountRef(txn.getAccountNumber());
+                names.sequenceRef(txn);
+            }
+            byte[] table = names.toBytes();
+            int recordsStart = HEADER_SIZE + table.length;
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, recordsStart);
+            header.putLong(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putLong(recordCount).putLong(checkpointLsn)
+                    .putInt(table.length).putInt(RecordChecksum.compute(table, 0, table.length)).put(table);
+            header.force();
+            for (int first = 0; first < recordCount; first += RECORDS_PER_MAPPING) {
+                int count = (int) Math.min(RECORDS_PER_MAPPING, recordCount - first);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE,
+                        recordsStart + (long) first * RECORD_SIZE, (long) count * RECORD_SIZE);
+                for (int i = 0; i < count; i++) {
+                    int offset = i * RECORD_SIZE;
+                    encode(transactions.get(first + i), names, buffer, offset + FRAME_SIZE);
+                    buffer.putInt(offset, PAYLOAD_SIZE);
+                    buffer.putInt(offset + 4, RecordChecksum.compute(buffer, offset + FRAME_SIZE, PAYLOAD_SIZE));
+                }
+                buffer.force();
+            }
+        }
+    }
+
+    private Header readHeader(FileChannel channel) throws IOException {
+        if (channel.size() < V1_HEADER_SIZE) {
+            throw new IOException("Ledger file is too short: " + path);
+        }
+        MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, V1_HEADER_SIZE);
+        if (header.getLong() != MAGIC) {
+            throw new IOException("Not a transaction ledger: " + path);
+        }
+        int version = header.getInt();
+        int recordSize = header.getInt();
+        boolean checksummed = version >= 3;
+        boolean longIds = version == VERSION;
+        int payloadSize = longIds ? PAYLOAD_SIZE : V3_PAYLOAD_SIZE;
+        if (version < 1 || version > VERSION || recordSize != (checksummed ? FRAME_SIZE + payloadSize : payloadSize)) {
+            throw new IOException("Unsupported ledger version " + version + " in " + path);
+        }
+        long recordCount = header.getLong();
+        if (version == 1) {
+            return new Header(V1_HEADER_SIZE, recordSize, false, false, recordCount, 0, new String[0]);
+        }
+        if (!longIds) {
+            long checkpointLsn = channel.map(FileChannel.MapMode.READ_ONLY, V1_HEADER_SIZE, Long.BYTES).getLong();
+            return new Header(V2_HEADER_SIZE, recordSize, checksummed, false, recordCount, checkpointLsn, new String[0]);
+        }
+        if (channel.size() < HEADER_SIZE) {
+            throw new IOException("Ledger file is too short: " + path);
+        }
+        MappedByteBuffer rest = channel.map(FileChannel.MapMode.READ_ONLY, V1_HEADER_SIZE, HEADER_SIZE - V1_HEADER_SIZE);
+        long checkpointLsn = rest.getLong();
+        int tableLength = rest.getInt();
+        int tableChecksum = rest.getInt();
+        if (tableLength < 0 || HEADER_SIZE + (long) tableLength > channel.size()) {
+            throw new IOException("Ledger file is too short: " + path);
+        }
+        String[] names = null;
+        MappedByteBuffer table = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, tableLength);
+        if (RecordChecksum.compute(table, 0, tableLength) == tableChecksum) {
+            names = NameTable.read(table);
+        } else {
+            System.out.println("Name table of ledger " + path + " failed its checksum.");
+        }
+        return new Header(HEADER_SIZE + tableLength, recordSize, true, true, recordCount, checkpointLsn, names);
+    }
+
+    private static boolean isIntact(Header header, MappedByteBuffer buffer, int offset) {
+        int payloadSize = header.recordSize() - FRAME_SIZE;
+        return buffer.getInt(offset) == payloadSize
+                && buffer.getInt(offset + 4) == RecordChecksum.compute(buffer, offset + FRAME_SIZE, payloadSize);
+    }
+
+    /**
+     * @return the record at {@code offset}, or {@code null} when it names an entry of a damaged or
+     * shorter name table or carries an unknown type code
+     */
+    private Transaction decode(Header header, MappedByteBuffer buffer, int offset) {
+        long account = header.longIds() ? buffer.getLong(offset) : buffer.getInt(offset);
+        int fields = offset + (header.longIds() ? Long.BYTES : Integer.BYTES);
+        int sequence = buffer.getInt(fields);
+        String accountNumber = accountNumber(header, account);
+        String transactionId = sequence == 0 ? null
+                : sequence > 0 ? transactionIds.get(sequence) : name(header, sequence);
+        TransactionType type = TransactionType.lookupCode(buffer.get(fields + 4));
+        if (accountNumber == null || (sequence < 0 && transactionId == null) || type == null) {
+            return null;
+        }
+        long amountCents = buffer.getLong(fields + 5);
+        long balanceAfterCents = buffer.getLong(fields + 13);
+        long epochMillis = buffer.getLong(fields + 21);
+        return new Transaction(
+                transactionId,
+                accountNumber,
+                type,
+                Money.toDollars(amountCents),
+                Money.toDollars(balanceAfterCents),
+                new Date(epochMillis));
+    }
+
+    private String accountNumber(Header header, long account) {
+        return account >= 0 ? accountNumbers.get(account) : name(header, account);
+    }
+
+    /** @return name table entry a negative reference points to, {@code null} when there is none. */
+    private static String name(Header header, long reference) {
+        long position = -reference - 1;
+        String[] names = header.names();
+        return names == null || position >= names.length ? null : names[(int) position];
+    }
+
+    private static void encode(Transaction txn, NameTable names, MappedByteBuffer buffer, int offset) {
+        buffer.putLong(offset, names.accountRef(txn.getAccountNumber()));
+        buffer.putInt(offset + 8, names.sequenceRef(txn));
+        buffer.put(offset + 12, txn.getType().code());
+        buffer.putLong(offset + 13, Money.toCents(txn.getAmount()));
+        buffer.putLong(offset + 21, Money.toCents(txn.getBalanceAfter()));
+        buffer.putLong(offset + 29, txn.getTimestampMillis());
+    }
+
+    /**
+     * @return numeric id of {@code accountNumber} when formatting the id gives back the same text,
+     * otherwise {@link AccountNumbers#INVALID}
+     */
+    private static long accountIdOf(String accountNumber) {
+        return AccountNumbers.parse(accountNumber, ACCOUNT_PREFIX);
+    }
+
+    private static byte[] nameBytes(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("Identifier is too long for the ledger: " + name.substring(0, 32) + "...");
+        }
+        return bytes;
+    }
+
+    /**
+     * Account numbers and transaction IDs written verbatim because their number does not format
+     * back to the same text. Records refer to entry {@code i} as {@code -(i + 1)}.
+     */
+    private static final class NameTable {
+        private final Map<String, Integer> positions = new HashMap<>();
+        private final List<byte[]> entries = new ArrayList<>();
+        private int byteLength;
+
+        /** @return account id to store for {@code accountNumber}, negative for a name table entry. */
+        long accountRef(String accountNumber) {
+            long id = accountIdOf(accountNumber);
+            return id != AccountNumbers.INVALID ? id : reference(accountNumber);
+        }
+
+        /** @return sequence to store for the transaction's ID: 0 for none, negative for a name table entry. */
+        int sequenceRef(Transaction txn) {
+            int sequence = txn.getSequence();
+            return sequence > 0 || txn.getTransactionId() == null ? sequence : reference(txn.getTransactionId());
+        }
+
+        private int reference(String name) {
+            Integer position = positions.get(name);
+            if (position == null) {
+                byte[] bytes = nameBytes(name);
+                position = entries.size();
+                positions.put(name, position);
+                entries.add(bytes);
+                byteLength += Short.BYTES + bytes.length;
+            }
+            return -position - 1;
+        }
+
+        /** @return entries as (unsigned short length, UTF-8 bytes) pairs. */
+        byte[] toBytes() {
+            ByteBuffer buffer = ByteBuffer.allocate(byteLength);
+            for (byte[] entry : entries) {
+                buffer.putShort((short) entry.length).put(entry);
+            }
+            return buffer.array();
+        }
+
+        static String[] read(ByteBuffer table) {
+            List<String> names = new ArrayList<>();
+            while (table.hasRemaining()) {
+                byte[] bytes = new byte[table.getShort() & 0xFFFF];
+                table.get(bytes);
+                names.add(new String(bytes, StandardCharsets.UTF_8));
+            }
+            return names.toArray(new String[0]);
+        }
+    }
+
+    /**
+     * Reuses the formatted identifier for each number, e.g. every account's "TXN001" is one String.
+     * Safe for the concurrent chunk decoders: a racing miss only formats the same value twice.
+     */
+    private static final class IdCache {
+        private static final int MAX_CACHED = 1 << 20;
+        private final String prefix;
+        private volatile String[] values = new String[1024];
+
+        IdCache(String prefix) {
+            this.prefix = prefix;
+        }
+
+        String get(long number) {
+            if (number >= MAX_CACHED) {
+                return format(number);
+            }
+            String[] current = values;
+            if (number >= current.length) {
+                current = grow((int) number);
+            }
+            String value = current[(int) number];
+            if (value == null) {
+                value = format(number);
+                current[(int) number] = value;
+            }
+            return value;
+        }
+
+        private synchronized String[] grow(int number) {
+            String[] current = values;
+            if (number >= current.length) {
+                current = Arrays.copyOf(current, Math.min(MAX_CACHED, Math.max(number + 1, current.length * 2)));
+                values = current;
+            }
+            return current;
+        }
+
+        private String format(long number) {
+            return AccountNumbers.format(prefix, number);
+        }
+    }
+}
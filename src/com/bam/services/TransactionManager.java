@@ -1,30 +1,68 @@
 package com.bam.services;
 
 import com.bam.exceptions.InvalidAccountNumberException;
+import com.bam.interfaces.TransactionHistoryLoader;
 import com.bam.models.Account;
+import com.bam.models.BatchOperation;
+import com.bam.models.BatchResult;
 import com.bam.models.CheckingAccount;
 import com.bam.models.Transaction;
+import com.bam.models.TransactionPage;
+import com.bam.models.TransactionOutcome;
+import com.bam.models.TransactionType;
+import com.bam.models.TransferLeg;
+import com.bam.models.TransferResult;
+import com.bam.utils.AccountNumbers;
 import com.bam.utils.InputHandler;
 import com.bam.utils.InputValidator;
+import com.bam.utils.Money;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * Manages the in-memory transaction ledger, sorting, persistence integration,
  * and summary statistics for account histories.
+ * <p>
+ * Each account's history is an {@link AccountLedger} in a concurrent map keyed on the account's
+ * numeric id, so appends to different accounts run in parallel and readers get lock-free
+ * snapshots. Account numbers outside the {@code ACC} scheme are kept in a separate map by text.
+ * <p>
+ * In lazy mode ({@link #seedLazily}) only transactions not yet in the persisted ledger are kept
+ * up front; an account's history is paged in from a {@link TransactionHistoryLoader} on first
+ * access and held in a bounded least-recently-used cache. Reads from the loader share a lock
+ * that checkpoints take exclusively, so no history is read while the ledger files are rewritten.
  */
 public class TransactionManager {
-    private  static final Map<String, List<Transaction>> transactionsMap = new HashMap<>();
-    private static final Map<String, Integer> transactionCounters = new HashMap<>();
-    private static final Object ledgerLock = new Object();
+    public static final int DEFAULT_HISTORY_CACHE_SIZE = 256;
+    private static final Ledgers ledgers = new Ledgers();
+    private static final Map<String, Boolean> residentHistories = new LinkedHashMap<>(16, 0.75f, true);
+    private static final ReadWriteLock persistedLedgerLock = new ReentrantReadWriteLock();
+    private static final ParallelLoader LOADER = new ParallelLoader();
+    private static final Comparator<Account> TRANSFER_ORDER =
+            Comparator.comparingLong(Account::getAccountId).thenComparing(Account::getAccountNumber);
+    private static volatile TransactionHistoryLoader historyLoader;
+    private static volatile int historyCacheSize;
     private final InputHandler inputHandler;
     private final InputValidator validator = new InputValidator();
 
@@ -39,85 +77,368 @@ public class TransactionManager {
      * Reloads all transactions from persistence, replacing any in-memory state.
      */
     public void reloadTransactions(List<Transaction> persistedTransactions) {
-        synchronized (ledgerLock) {
-            transactionsMap.clear();
-            transactionCounters.clear();
-            persistedTransactions.forEach(txn -> {
-                transactionsMap.computeIfAbsent(txn.getAccountNumber(), key -> new ArrayList<>()).add(txn);
-                updateCounter(txn);
-            });
-        }
+        seedTransactions(persistedTransactions);
     }
 
     /**
      * Snapshot of every transaction across accounts.
      */
     public List<Transaction> snapshotAllTransactions() {
-        synchronized (ledgerLock) {
-            return transactionsMap.values().stream()
-                    .flatMap(List::stream)
-                    .map(TransactionManager::cloneTransaction)
-                    .collect(Collectors.toList());
-        }
+        return allTransactions();
     }
 
     /**
      * Seeds the static map for scenarios without a TransactionManager instance.
+     * The per-account ledgers are built in parallel and swapped in while checkpoints are excluded.
      */
     public static void seedTransactions(List<Transaction> transactions) {
-        synchronized (ledgerLock) {
-            transactionsMap.clear();
-            transactionCounters.clear();
-            transactions.forEach(txn -> {
-                transactionsMap.computeIfAbsent(txn.getAccountNumber(), key -> new ArrayList<>()).add(txn);
-                updateCounter(txn);
-            });
+        Map<String, List<Transaction>> byAccount = LOADER.groupBy(transactions, Transaction::getAccountNumber);
+        Map<String, AccountLedger> seeded = byAccount.entrySet().parallelStream()
+                .collect(Collectors.toMap(Map.Entry::getKey,
+                        entry -> new AccountLedger(entry.getValue(), highestSequence(entry.getValue()), true)));
+        replaceLedgers(seeded, null, 0);
+    }
+
+    /**
+     * Seeds the ledgers from a columnar store. Seeded rows stay in the store's primitive arrays
+     * and are materialized only when read; transactions added afterwards are held as objects.
+     */
+    public static void seedTransactions(ColumnarTransactionStore store) {
+        Map<String, AccountLedger> seeded = store.accounts().parallelStream()
+                .collect(Collectors.toMap(accountNumber -> accountNumber,
+                        accountNumber -> new AccountLedger(store.accountView(accountNumber), store.highestSequence(accountNumber))));
+        replaceLedgers(seeded, null, 0);
+    }
+
+    /**
+     * Switches to lazy mode: histories are read from {@code loader} on first access and at most
+     * {@code cacheSize} accounts are kept resident.
+     *
+     * @param unpersisted        transactions not yet in the loader's ledger, kept until the next checkpoint
+     * @param persistedSequences highest transaction sequence per account in the loader's ledger
+     */
+    public static void seedLazily(TransactionHistoryLoader loader, List<Transaction> unpersisted,
+                                  Map<String, Integer> persistedSequences, int cacheSize) {
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("History cache size must be positive: " + cacheSize);
+        }
+        Map<String, List<Transaction>> byAccount = LOADER.groupBy(unpersisted, Transaction::getAccountNumber);
+        Map<String, AccountLedger> seeded = new HashMap<>();
+        persistedSequences.forEach((accountNumber, sequence) ->
+                seeded.put(accountNumber, new AccountLedger(List.of(), sequence, false)));
+        byAccount.forEach((accountNumber, transactions) -> seeded.put(accountNumber, new AccountLedger(transactions,
+                Math.max(persistedSequences.getOrDefault(accountNumber, 0), highestSequence(transactions)), false)));
+        replaceLedgers(seeded, loader, cacheSize);
+    }
+
+    private static void replaceLedgers(Map<String, AccountLedger> seeded, TransactionHistoryLoader loader, int cacheSize) {
+        persistedLedgerLock.writeLock().lock();
+        try {
+            historyLoader = loader;
+            historyCacheSize = cacheSize;
+            synchronized (residentHistories) {
+                residentHistories.clear();
+            }
+            ledgers.replaceAll(seeded);
+        } finally {
+            persistedLedgerLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Receives the ledger of the accounts being checkpointed.
+     */
+    @FunctionalInterface
+    public interface LedgerWriter {
+        void write(List<Transaction> transactions) throws IOException;
+    }
+
+    /**
+     * Hands every transaction to {@code writer}. Transactions added while the writer runs are not
+     * part of the checkpoint and stay pending. In lazy mode the handed-over pending transactions
+     * are then part of the persisted ledger and are dropped from memory unless resident.
+     */
+    public static void checkpoint(LedgerWriter writer) throws IOException {
+        checkpoint(accountNumber -> true, writer);
+    }
+
+    /**
+     * Like {@link #checkpoint(LedgerWriter)} but hands over only the transactions of accounts
+     * accepted by {@code accounts}; pending transactions of other accounts stay pending.
+     */
+    public static void checkpoint(Predicate<String> accounts, LedgerWriter writer) throws IOException {
+        persistedLedgerLock.writeLock().lock();
+        try {
+            Map<AccountLedger, AccountLedger.Capture> captures = new HashMap<>();
+            writer.write(collectTransactions(accounts, captures));
+            captures.forEach((ledger, capture) -> ledger.markPersisted(capture.pending()));
+        } finally {
+            persistedLedgerLock.writeLock().unlock();
         }
     }
 
     /**
-     * @return view of all transactions currently tracked.
+     * @return view of all transactions currently tracked. In lazy mode this reads every
+     * non-resident history from disk.
+     * @throws UncheckedIOException if a history cannot be read in lazy mode
      */
     public static List<Transaction> allTransactions() {
-        synchronized (ledgerLock) {
-            return transactionsMap.values().stream()
-                    .flatMap(List::stream)
-                    .map(TransactionManager::cloneTransaction)
-                    .collect(Collectors.toList());
+        persistedLedgerLock.readLock().lock();
+        try {
+            return collectTransactions(accountNumber -> true, new HashMap<>());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            persistedLedgerLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copies the full history of every accepted account, recording the capture each copy was
+     * taken from.
+     */
+    private static List<Transaction> collectTransactions(Predicate<String> accounts,
+                                                         Map<AccountLedger, AccountLedger.Capture> captures) throws IOException {
+        TransactionHistoryLoader loader = historyLoader;
+        Set<String> accountNumbers = ledgers.accountNumbers();
+        if (loader != null) {
+            accountNumbers.addAll(loader.accountsWithHistory());
         }
+        accountNumbers.removeIf(accounts.negate());
+        List<Transaction> transactions = new ArrayList<>();
+        for (String accountNumber : accountNumbers) {
+            AccountLedger ledger = ledgers.get(accountNumber);
+            AccountLedger.Capture capture = ledger == null ? null : ledger.capture();
+            if (capture != null) {
+                captures.put(ledger, capture);
+            }
+            if (capture == null || !capture.resident()) {
+                if (loader != null) {
+                    transactions.addAll(loader.loadHistory(accountNumber));
+                }
+                if (capture == null) {
+                    continue;
+                }
+                transactions.addAll(capture.unpersisted());
+            } else {
+                transactions.addAll(capture.entries());
+            }
+        }
+        return transactions;
     }
 
     /**
      * Computes the projected balance after applying the provided transaction type.
+     *
+     * @throws IllegalArgumentException if {@code transactionType} is not a transaction type label
      */
     public static double getBalanceAfter(Account account, double amount, String transactionType) {
-        if (transactionType.equalsIgnoreCase("deposit") || transactionType.equalsIgnoreCase("transfer in")) {
-            if (account.getAccountType().equalsIgnoreCase("Checking")) {
-                // For checking accounts, include overdraft limit in balance calculation
-                return account.getBalance() + CheckingAccount.OVERDRAFT_LIMIT + amount;
+        TransactionType type = TransactionType.lookup(transactionType);
+        if (type == null) {
+            throw new IllegalArgumentException("Invalid transaction type: " + transactionType);
+        }
+        return getBalanceAfter(account, amount, type);
+    }
+
+    /**
+     * Computes the projected balance after applying a transaction of {@code type}.
+     */
+    public static double getBalanceAfter(Account account, double amount, TransactionType type) {
+        // For checking accounts, include overdraft limit in balance calculation
+        double base = account instanceof CheckingAccount ? account.getBalance() + CheckingAccount.OVERDRAFT_LIMIT : account.getBalance();
+        return type.isCredit() ? base + amount : base - amount;
+    }
+
+    /**
+     * Adds a transaction to its account's ledger under the next transaction ID.
+     *
+     * @return the recorded transaction, a copy of {@code transaction} carrying the ID
+     */
+    public Transaction addTransaction(Transaction transaction) {
+        return ledgerFor(transaction.getAccountNumber()).append(transaction);
+    }
+
+    /**
+     * Applies a batch of deposits and withdrawals. Operations are grouped by the account they
+     * resolve to, so two spellings of one account number (e.g. with and without its check digit)
+     * form one group. Each group is applied as one atomic balance update
+     * ({@link Account#applyBatch}), then appended to the account's ledger in one step under its
+     * own account number; groups run in parallel.
+     *
+     * @param accounts resolves account numbers; operations on unknown accounts are rejected
+     * @return one result per operation, in input order, with its transaction when applied
+     */
+    public List<BatchResult> applyBatch(List<BatchOperation> operations, Function<String, Account> accounts) {
+        BatchResult[] results = new BatchResult[operations.size()];
+        Map<String, Account> resolved = new HashMap<>();
+        Map<Account, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            Account account = resolved.computeIfAbsent(operation.accountNumber(), accounts);
+            if (account == null) {
+                results[i] = BatchResult.rejected(operation, "Account number " + operation.accountNumber() + " not found.");
+            } else {
+                groups.computeIfAbsent(account, key -> new ArrayList<>()).add(i);
             }
-            return account.getBalance() + amount; // For savings accounts
-        } else if (transactionType.equalsIgnoreCase("withdrawal") || transactionType.equalsIgnoreCase("transfer out")) {
-            if (account.getAccountType().equalsIgnoreCase("Checking")) {
-                // For checking accounts, include overdraft limit in balance calculation
-                return account.getBalance() + CheckingAccount.OVERDRAFT_LIMIT - amount;
+        }
+        groups.entrySet().parallelStream().forEach(group -> {
+            List<Integer> indexes = group.getValue();
+            Account account = group.getKey();
+            List<BatchResult> applied = account.applyBatch(indexes.stream().map(operations::get).toList());
+            List<Transaction> pending = new ArrayList<>();
+            List<Integer> pendingIndexes = new ArrayList<>();
+            for (int j = 0; j < indexes.size(); j++) {
+                BatchResult result = applied.get(j);
+                if (result.success()) {
+                    BatchOperation operation = result.operation();
+                    pending.add(new Transaction(account.getAccountNumber(), operation.type(), operation.amount(),
+                            recordedBalance(account, result.balanceAfterCents())));
+                    pendingIndexes.add(indexes.get(j));
+                }
+                results[indexes.get(j)] = result;
             }
-            return account.getBalance() - amount;
-        } else {
-            throw new IllegalArgumentException("Invalid transaction type: " + transactionType);
+            if (!pending.isEmpty()) {
+                List<Transaction> recorded = ledgerFor(account.getAccountNumber()).appendAll(pending);
+                for (int j = 0; j < recorded.size(); j++) {
+                    int index = pendingIndexes.get(j);
+                    results[index] = results[index].withTransaction(recorded.get(j));
+                }
+            }
+        });
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Moves money from the debit accounts to the credit accounts as one all-or-nothing operation,
+     * e.g. a bulk payout from one account to many. Every touched account's balance is held
+     * ({@link Account#holdBalance}) in a stable order, by account id, so concurrent transfers
+     * cannot deadlock and no other change to those accounts runs until the transfer is done. Every
+     * debit is checked against the held balances before any balance changes, so once the first
+     * debit is applied all legs are applied and nothing is ever refunded.
+     * <p>
+     * One {@code Transfer Out} entry is recorded per debit leg and one {@code Transfer In} entry
+     * per credit leg, all through a single {@link #addTransactions} call made while the balances
+     * are still held.
+     *
+     * @param accounts resolves account numbers; a transfer naming an unknown account is rejected
+     * @return the recorded entries, or why nothing was moved
+     */
+    public TransferResult transfer(List<TransferLeg> debits, List<TransferLeg> credits, Function<String, Account> accounts) {
+        if (debits.isEmpty() || credits.isEmpty()) {
+            return TransferResult.rejected("A transfer needs at least one debit and one credit.");
+        }
+        Account[] debitAccounts = new Account[debits.size()];
+        Account[] creditAccounts = new Account[credits.size()];
+        Map<Account, Long> debitTotals = new HashMap<>();
+        Map<Account, Long> creditTotals = new HashMap<>();
+        String error = collectLegs(debits, accounts, debitAccounts, debitTotals);
+        if (error == null) {
+            error = collectLegs(credits, accounts, creditAccounts, creditTotals);
+        }
+        if (error != null) {
+            return TransferResult.rejected(error);
+        }
+        long debited = debitTotals.values().stream().mapToLong(Long::longValue).sum();
+        long credited = creditTotals.values().stream().mapToLong(Long::longValue).sum();
+        if (debited != credited) {
+            return TransferResult.rejected(String.format("Debits ($%.2f) and credits ($%.2f) must be equal.",
+                    Money.toDollars(debited), Money.toDollars(credited)));
+        }
+        for (Account account : debitTotals.keySet()) {
+            if (creditTotals.containsKey(account)) {
+                return TransferResult.rejected("Account " + account.getAccountNumber() + " cannot be both debited and credited.");
+            }
+        }
+        List<Account> ordered = new ArrayList<>(debitTotals.size() + creditTotals.size());
+        ordered.addAll(debitTotals.keySet());
+        ordered.addAll(creditTotals.keySet());
+        ordered.sort(TRANSFER_ORDER);
+
+        Map<Account, Long> holds = new HashMap<>();
+        try {
+            for (Account account : ordered) {
+                holds.put(account, account.holdBalance());
+            }
+            for (Account account : ordered) {
+                Long total = debitTotals.get(account);
+                TransactionOutcome check = total == null ? null : account.checkWithdrawalCents(total, account.getBalanceCents());
+                if (check != null && !check.isApplied()) {
+                    return TransferResult.rejected(account.getAccountNumber() + ": " + check.message());
+                }
+            }
+
+            // Running balance per account, starting from the balance before the transfer.
+            Map<Account, Long> balances = new HashMap<>();
+            for (Account account : ordered) {
+                balances.put(account, account.getBalanceCents());
+                Long debit = debitTotals.get(account);
+                account.adjustHeldBalance(holds.get(account), debit != null ? -debit : creditTotals.get(account));
+            }
+
+            List<Transaction> pending = new ArrayList<>(debits.size() + credits.size());
+            addLegEntries(debits, debitAccounts, TransactionType.TRANSFER_OUT, balances, pending);
+            addLegEntries(credits, creditAccounts, TransactionType.TRANSFER_IN, balances, pending);
+            return TransferResult.applied(addTransactions(pending));
+        } finally {
+            holds.forEach(Account::releaseBalance);
         }
     }
 
     /**
-     * Adds a transaction and ensures it has a generated ID.
+     * Resolves each leg's account into {@code resolved} and sums the legs per account.
+     *
+     * @return why the legs are invalid, {@code null} when they are valid
      */
-    public void addTransaction(Transaction transaction) {
-        synchronized (ledgerLock) {
-            transactionsMap
-                    .computeIfAbsent(transaction.getAccountNumber(), key -> new ArrayList<>())
-                    .add(transaction);
-            generateTransactionId(transaction);
+    private static String collectLegs(List<TransferLeg> legs, Function<String, Account> accounts, Account[] resolved,
+                                      Map<Account, Long> totals) {
+        for (int i = 0; i < legs.size(); i++) {
+            TransferLeg leg = legs.get(i);
+            Account account = accounts.apply(leg.accountNumber());
+            if (account == null) {
+                return "Account number " + leg.accountNumber() + " not found.";
+            }
+            long cents = Money.amountToCents(leg.amount());
+            if (cents <= 0) {
+                return "Transfer amount for " + leg.accountNumber() + " must be greater than zero.";
+            }
+            resolved[i] = account;
+            totals.merge(account, cents, Long::sum);
         }
+        return null;
+    }
+
+    private static void addLegEntries(List<TransferLeg> legs, Account[] resolved, TransactionType type,
+                                      Map<Account, Long> balances, List<Transaction> pending) {
+        for (int i = 0; i < legs.size(); i++) {
+            TransferLeg leg = legs.get(i);
+            long cents = Money.amountToCents(leg.amount());
+            long balance = balances.merge(resolved[i], type.isCredit() ? cents : -cents, Long::sum);
+            pending.add(new Transaction(resolved[i].getAccountNumber(), type, leg.amount(), recordedBalance(resolved[i], balance)));
+        }
+    }
+
+    /**
+     * Checking balances are recorded with the overdraft included, as {@link #getBalanceAfter} does.
+     */
+    static double recordedBalance(Account account, long balanceCents) {
+        return Money.toDollars(balanceCents) + (account instanceof CheckingAccount ? CheckingAccount.OVERDRAFT_LIMIT : 0);
+    }
+
+    /**
+     * Adds already-applied transactions, appending each account's share to its ledger in one step.
+     *
+     * @return the recorded transactions carrying their IDs, in input order per account
+     */
+    public List<Transaction> addTransactions(List<Transaction> transactions) {
+        Map<String, List<Transaction>> byAccount = new LinkedHashMap<>();
+        transactions.forEach(txn -> byAccount.computeIfAbsent(txn.getAccountNumber(), key -> new ArrayList<>()).add(txn));
+        List<Transaction> recorded = new ArrayList<>(transactions.size());
+        byAccount.forEach((accountNumber, group) -> recorded.addAll(ledgerFor(accountNumber).appendAll(group)));
+        return recorded;
+    }
+
+    private static AccountLedger ledgerFor(String accountNumber) {
+        return ledgers.computeIfAbsent(accountNumber, () -> new AccountLedger(List.of(), 0, historyLoader == null));
     }
 
     /**
@@ -130,8 +451,7 @@ public class TransactionManager {
             System.out.println(e.getMessage());
         }
         System.out.println("TRANSACTION HISTORY FOR ACCOUNT NUMBER " + accountNumber);
-        final List<Transaction> accountTransactions = getTransactions(accountNumber);
-        final List<Transaction> sortedTransactions = sortTransactions(accountTransactions);
+        final List<Transaction> sortedTransactions = sortTransactions(accountNumber);
         printTransactionsTable(sortedTransactions);
         if (!sortedTransactions.isEmpty()) {
             printSummary(accountNumber);
@@ -146,10 +466,22 @@ public class TransactionManager {
      * Aggregates total transaction amounts by type.
      */
     public double calculateTotalTransaction(String accountNumber, String type ) {
-        return getTransactions(accountNumber).stream()
-                .filter(txn -> txn.getType().equalsIgnoreCase(type))
-                .mapToDouble(Transaction::getAmount)
-                .sum();
+        return getSummary(accountNumber).total(type);
+    }
+
+    /**
+     * @return running totals for the account, read in constant time. In lazy mode an account
+     * whose history has never been resident is paged in once to build them.
+     */
+    public static TransactionSummary getSummary(String accountNumber) {
+        AccountLedger ledger = ledgers.get(accountNumber);
+        if (ledger == null) {
+            return new TransactionSummary();
+        }
+        if (!ledger.hasCompleteSummary()) {
+            getTransactions(accountNumber);
+        }
+        return ledger.summary();
     }
 
     /**
@@ -173,8 +505,7 @@ public class TransactionManager {
         System.out.printf("%-25s: $%.2f%n", "Current Balance", account.getBalance());
         System.out.printf("%-25s: %s%n", "Account Status", "Active");
 
-        List<Transaction> accountTransactions = getTransactions(accountNumber);
-        List<Transaction> sortedTransactions = sortTransactions(accountTransactions);
+        List<Transaction> sortedTransactions = sortTransactions(accountNumber);
         System.out.println("\nTransactions:");
         printTransactionsTable(sortedTransactions);
 
@@ -188,10 +519,49 @@ public class TransactionManager {
     }
 
     /**
-     * @return immutable list of transactions for the supplied account number.
+     * @return immutable snapshot of the transactions for the supplied account number; later
+     * appends do not change it.
      */
     public static List<Transaction> getTransactions(String accountNumber) {
-        return transactionsMap.getOrDefault(accountNumber, List.of());
+        AccountLedger ledger = ledgers.get(accountNumber);
+        TransactionHistoryLoader loader = historyLoader;
+        if (ledger == null) {
+            return List.of();
+        }
+        if (loader == null) {
+            return ledger.snapshot();
+        }
+        if (!ledger.isResident()) {
+            persistedLedgerLock.readLock().lock();
+            try {
+                ledger.load(loader.loadHistory(accountNumber));
+            } catch (IOException e) {
+                System.out.println("Failed to load transaction history for " + accountNumber + ": " + e.getMessage());
+                return ledger.snapshot();
+            } finally {
+                persistedLedgerLock.readLock().unlock();
+            }
+        }
+        markResident(accountNumber);
+        return ledger.snapshot();
+    }
+
+    /**
+     * Moves the account to the most recently used end of the resident set, evicting the least
+     * recently used histories beyond the cache size.
+     */
+    private static void markResident(String accountNumber) {
+        synchronized (residentHistories) {
+            residentHistories.put(accountNumber, Boolean.TRUE);
+            Iterator<String> eldest = residentHistories.keySet().iterator();
+            while (residentHistories.size() > historyCacheSize && eldest.hasNext()) {
+                AccountLedger evicted = ledgers.get(eldest.next());
+                eldest.remove();
+                if (evicted != null) {
+                    evicted.evict();
+                }
+            }
+        }
     }
 
     /**
@@ -207,51 +577,76 @@ public class TransactionManager {
      * @return the latest transaction, if any, for the account.
      */
     public Optional<Transaction> getMostRecentTransaction(String accountNumber) {
-        return getTransactions(accountNumber).stream()
-                .max(Comparator.comparing(Transaction::getTimestamp));
+        return getLastTransactions(accountNumber, 1).stream().findFirst();
+    }
+
+    /**
+     * @return the account's transactions ordered by timestamp and sequence number. In lazy mode
+     * the history is paged in first.
+     */
+    public static TimeOrderedIndex getTimeIndex(String accountNumber) {
+        getTransactions(accountNumber);
+        AccountLedger ledger = ledgers.get(accountNumber);
+        return ledger == null ? TimeOrderedIndex.of(List.of(), true) : ledger.timeIndex();
+    }
+
+    /** @return the {@code count} most recent transactions of the account, newest first. */
+    public static List<Transaction> getLastTransactions(String accountNumber, int count) {
+        return getTimeIndex(accountNumber).last(count);
+    }
+
+    /** @return the account's transactions with {@code from <= timestamp <= to}, oldest first. */
+    public static List<Transaction> getTransactionsBetween(String accountNumber, Date from, Date to) {
+        return getTimeIndex(accountNumber).between(from, to);
+    }
+
+    /**
+     * Pages through the account's history from newest to oldest.
+     *
+     * @param cursor {@code null} for the first page, otherwise the previous page's next cursor
+     */
+    public static TransactionPage getTransactionPage(String accountNumber, String cursor, int pageSize) {
+        return getTimeIndex(accountNumber).page(cursor, pageSize);
     }
 
     /**
      * Prints summary information showing totals by transaction type.
      */
     private void printSummary(String accountNumber) {
-        double totalDeposits = calculateTotalTransaction(accountNumber, "deposit");
-        double totalWithdrawals = calculateTotalTransaction(accountNumber, "withdrawal");
-        double totalTransfersIn = calculateTotalTransaction(accountNumber, "transfer in");
-        double totalTransfersOut = calculateTotalTransaction(accountNumber, "transfer out");
-        double netChange = (totalDeposits + totalTransfersIn) - (totalWithdrawals + totalTransfersOut);
+        TransactionSummary summary = getSummary(accountNumber);
+        double netChange = summary.netChange();
         System.out.println("\nSUMMARY:");
-        System.out.printf("Total Deposits:     +$%.2f%n", totalDeposits);
-        System.out.printf("Total Withdrawals:  -$%.2f%n", totalWithdrawals);
-        System.out.printf("Total Transfers In: +$%.2f%n", totalTransfersIn);
-        System.out.printf("Total Transfers Out: -$%.2f%n", totalTransfersOut);
+        System.out.printf("Total Deposits:     +$%.2f%n", summary.totalDeposits());
+        System.out.printf("Total Withdrawals:  -$%.2f%n", summary.totalWithdrawals());
+        System.out.printf("Total Transfers In: +$%.2f%n", summary.totalTransfersIn());
+        System.out.printf("Total Transfers Out: -$%.2f%n", summary.totalTransfersOut());
+        System.out.printf("Total Interest:     +$%.2f%n", summary.totalInterest());
+        System.out.printf("Total Fees:         -$%.2f%n", summary.totalFees());
         System.out.printf("Net Change:         %s$%.2f%n", netChange >= 0 ? "+" : "", netChange);
     }
 
     /**
-     * Sorts according to interactive preferences (if available) or defaults.
+     * Sorts according to interactive preferences (if available) or defaults to newest first.
+     * Ordering by date reads the time index instead of sorting.
      */
-    private List<Transaction> sortTransactions(List<Transaction> transactions) {
-        if (transactions.isEmpty()) {
-            return transactions;
+    private List<Transaction> sortTransactions(String accountNumber) {
+        TimeOrderedIndex index = getTimeIndex(accountNumber);
+        if (index.size() == 0) {
+            return List.of();
         }
-        Comparator<Transaction> comparator = resolveSortComparator();
-        return transactions.stream()
-                .sorted(comparator)
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Determines which comparator to use based on interactive choices.
-     */
-    private Comparator<Transaction> resolveSortComparator() {
-        if (inputHandler == null) {
-            return Comparator.comparing(Transaction::getTimestamp).reversed();
+        int fieldChoice = 1;
+        int directionChoice = 2;
+        if (inputHandler != null) {
+            System.out.println("\nChoose how to sort transactions:");
+            fieldChoice = inputHandler.getTransactionSortFieldChoice();
+            directionChoice = inputHandler.getTransactionSortDirectionChoice();
+        }
+        if (fieldChoice == 1) {
+            return directionChoice == 2 ? index.newestFirst() : index.chronological();
         }
-        System.out.println("\nChoose how to sort transactions:");
-        int fieldChoice = inputHandler.getTransactionSortFieldChoice();
-        int directionChoice = inputHandler.getTransactionSortDirectionChoice();
-        return buildComparator(fieldChoice, directionChoice);
+        return index.chronological().stream()
+                .sorted(buildComparator(fieldChoice, directionChoice))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -260,7 +655,7 @@ public class TransactionManager {
     private Comparator<Transaction> buildComparator(int fieldChoice, int directionChoice) {
         Comparator<Transaction> comparator = switch (fieldChoice) {
             case 2 -> Comparator.comparingDouble(Transaction::getAmount);
-            case 3 -> Comparator.comparing(txn -> txn.getType().toLowerCase());
+            case 3 -> Comparator.comparing(txn -> txn.getType().label().toLowerCase());
             case 4 -> Comparator.comparingDouble(Transaction::getBalanceAfter);
             default -> Comparator.comparing(Transaction::getTimestamp);
         };
@@ -287,7 +682,7 @@ public class TransactionManager {
             return;
         }
         transactions.forEach(txn -> {
-            String type = txn.getType().toUpperCase();
+            String type = txn.getType().label().toUpperCase();
             String amountValue = formatSignedAmount(txn);
             String balanceValue = String.format("$%.2f", txn.getBalanceAfter());
             System.out.printf(
@@ -305,33 +700,62 @@ public class TransactionManager {
      * Renders amounts with +/- signage for clarity.
      */
     private String formatSignedAmount(Transaction txn) {
-        boolean isCredit = txn.getType().equalsIgnoreCase("deposit") || txn.getType().equalsIgnoreCase("transfer in");
-        String sign = isCredit ? "+" : "-";
+        String sign = txn.getType().isCredit() ? "+" : "-";
         return String.format("%s$%.2f", sign, txn.getAmount());
     }
 
-    private static void generateTransactionId(Transaction transaction) {
-        String accountNumber = transaction.getAccountNumber();
-        int nextId = transactionCounters.merge(accountNumber, 1, Integer::sum);
-        transaction.setTransactionId(String.format("TXN%03d", nextId));
+    private static int highestSequence(List<Transaction> transactions) {
+        int highest = 0;
+        for (Transaction transaction : transactions) {
+            highest = Math.max(highest, transaction.getSequence());
+        }
+        return highest;
     }
 
-    private static void updateCounter(Transaction transaction) {
-        String accountNumber = transaction.getAccountNumber();
-        if (transaction.getTransactionId() == null) {
-            return;
+    /**
+     * Ledgers keyed on the numeric account id, with a text-keyed map for account numbers that do
+     * not format back from their id.
+     */
+    private static final class Ledgers {
+        private final Map<Long, AccountLedger> numbered = new ConcurrentHashMap<>();
+        private final Map<String, AccountLedger> irregular = new ConcurrentHashMap<>();
+
+        AccountLedger get(String accountNumber) {
+            long id = idOf(accountNumber);
+            return id == AccountNumbers.INVALID ? irregular.get(accountNumber) : numbered.get(id);
         }
-        try {
-            int existing = Integer.parseInt(transaction.getTransactionId().replace("TXN", ""));
-            transactionCounters.merge(accountNumber, existing, Math::max);
-        } catch (NumberFormatException ignored) {
+
+        AccountLedger computeIfAbsent(String accountNumber, Supplier<AccountLedger> ledger) {
+            long id = idOf(accountNumber);
+            return id == AccountNumbers.INVALID
+                    ? irregular.computeIfAbsent(accountNumber, key -> ledger.get())
+                    : numbered.computeIfAbsent(id, key -> ledger.get());
+        }
+
+        void replaceAll(Map<String, AccountLedger> seeded) {
+            numbered.clear();
+            irregular.clear();
+            seeded.forEach((accountNumber, ledger) -> {
+                long id = idOf(accountNumber);
+                if (id == AccountNumbers.INVALID) {
+                    irregular.put(accountNumber, ledger);
+                } else {
+                    numbered.put(id, ledger);
+                }
+            });
+        }
+
+        /** @return modifiable copy of the account numbers with a ledger. */
+        Set<String> accountNumbers() {
+            Set<String> accountNumbers = new LinkedHashSet<>(numbered.size() + irregular.size());
+            numbered.keySet().forEach(id -> accountNumbers.add(AccountNumbers.format(id)));
+            accountNumbers.addAll(irregular.keySet());
+            return accountNumbers;
         }
-    }
 
-    private static Transaction cloneTransaction(Transaction txn) {
-        Transaction clone = new Transaction(txn.getTransactionId(), txn.getAccountNumber(), txn.getType(), txn.getAmount(), txn.getBalanceAfter(), txn.getTimestamp());
-        clone.setTransactionId(txn.getTransactionId());
-        clone.setTimestamp(txn.getTimestamp());
-        return clone;
+        /** @return id when formatting it gives back {@code accountNumber}, otherwise {@link AccountNumbers#INVALID}. */
+        private static long idOf(String accountNumber) {
+            return AccountNumbers.parse(accountNumber, AccountNumbers.PREFIX);
+        }
     }
 }
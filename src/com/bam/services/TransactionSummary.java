@@ -0,0 +1,125 @@
+package com.bam.services;
+
+import com.bam.models.Transaction;
+import com.bam.models.TransactionType;
+import com.bam.utils.Money;
+
+import java.util.Date;
+
+/**
+ * Running totals over an account's transactions: amounts per type plus count, smallest and
+ * largest amount and the latest timestamp. An {@link AccountLedger} folds every appended
+ * transaction in as it arrives, so statements read these figures in constant time instead of
+ * streaming the history. Amounts are summed in cents to avoid drift.
+ */
+public final class TransactionSummary {
+    private final long[] totalCents = new long[TransactionType.values().length];
+    private long count;
+    private long minCents = Long.MAX_VALUE;
+    private long maxCents = Long.MIN_VALUE;
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    /** Creates an empty summary. */
+    public TransactionSummary() {
+    }
+
+    private TransactionSummary(TransactionSummary source) {
+        System.arraycopy(source.totalCents, 0, totalCents, 0, totalCents.length);
+        count = source.count;
+        minCents = source.minCents;
+        maxCents = source.maxCents;
+        lastTimestamp = source.lastTimestamp;
+    }
+
+    /**
+     * Folds one transaction into the totals.
+     */
+    void add(Transaction transaction) {
+        long amountCents = Money.toCents(transaction.getAmount());
+        totalCents[transaction.getType().ordinal()] += amountCents;
+        count++;
+        minCents = Math.min(minCents, amountCents);
+        maxCents = Math.max(maxCents, amountCents);
+        if (transaction.hasTimestamp()) {
+            lastTimestamp = Math.max(lastTimestamp, transaction.getTimestampMillis());
+        }
+    }
+
+    /** @return independent copy of the current totals. */
+    TransactionSummary copy() {
+        return new TransactionSummary(this);
+    }
+
+    /**
+     * @return total amount of transactions with the type label {@code type} ("Deposit", "Withdrawal",
+     * "Transfer In", "Transfer Out", "Interest" or "Fee", ignoring case); zero for any other label
+     */
+    public double total(String type) {
+        TransactionType kind = TransactionType.lookup(type);
+        return kind == null ? 0 : total(kind);
+    }
+
+    /** @return total amount of transactions of {@code type}. */
+    public double total(TransactionType type) {
+        return Money.toDollars(totalCents[type.ordinal()]);
+    }
+
+    /** @return total deposited. */
+    public double totalDeposits() {
+        return total(TransactionType.DEPOSIT);
+    }
+
+    /** @return total withdrawn. */
+    public double totalWithdrawals() {
+        return total(TransactionType.WITHDRAWAL);
+    }
+
+    /** @return total received by transfer. */
+    public double totalTransfersIn() {
+        return total(TransactionType.TRANSFER_IN);
+    }
+
+    /** @return total sent by transfer. */
+    public double totalTransfersOut() {
+        return total(TransactionType.TRANSFER_OUT);
+    }
+
+    /** @return total interest credited. */
+    public double totalInterest() {
+        return total(TransactionType.INTEREST);
+    }
+
+    /** @return total fees charged. */
+    public double totalFees() {
+        return total(TransactionType.FEE);
+    }
+
+    /** @return credits minus debits. */
+    public double netChange() {
+        long net = 0;
+        for (TransactionType type : TransactionType.values()) {
+            net += type.isCredit() ? totalCents[type.ordinal()] : -totalCents[type.ordinal()];
+        }
+        return Money.toDollars(net);
+    }
+
+    /** @return number of transactions. */
+    public long count() {
+        return count;
+    }
+
+    /** @return smallest transaction amount, zero without transactions. */
+    public double minAmount() {
+        return count == 0 ? 0 : Money.toDollars(minCents);
+    }
+
+    /** @return largest transaction amount, zero without transactions. */
+    public double maxAmount() {
+        return count == 0 ? 0 : Money.toDollars(maxCents);
+    }
+
+    /** @return timestamp of the latest transaction, {@code null} without transactions. */
+    public Date lastTimestamp() {
+        return lastTimestamp == Long.MIN_VALUE ? null : new Date(lastTimestamp);
+    }
+}
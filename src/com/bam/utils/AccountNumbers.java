@@ -0,0 +1,123 @@
+package com.bam.utils;
+
+/**
+ * Formats and parses account numbers without regular expressions or {@code String.format}. An
+ * account number is {@code ACC} followed by its numeric id, zero-padded to three digits
+ * ({@code ACC007}, {@code ACC123}, {@code ACC48213907}), so the id is the compact key accounts are
+ * looked up by and there is no limit of 999 accounts.
+ * <p>
+ * Where a number is typed in or read out, it can carry a Luhn check digit after a hyphen
+ * ({@code ACC123-0}) that catches a mistyped digit or two swapped digits. The check digit is
+ * optional on input; when present it must match.
+ */
+public final class AccountNumbers {
+    /** Prefix of every account number. */
+    public static final String PREFIX = "ACC";
+    /** Returned by the parsers for text that is not a well-formed number. */
+    public static final long INVALID = -1;
+
+    private static final int MIN_DIGITS = 3;
+    private static final int MAX_DIGITS = 18;
+
+    private AccountNumbers() {
+    }
+
+    /** @return account number for {@code id}, e.g. {@code ACC007}. */
+    public static String format(long id) {
+        return format(PREFIX, id);
+    }
+
+    /** @return account number for {@code id} followed by its check digit, e.g. {@code ACC007-5}. */
+    public static String formatWithCheckDigit(long id) {
+        return format(id) + '-' + checkDigit(id);
+    }
+
+    /**
+     * @return id of {@code accountNumber}, or {@link #INVALID} if it is not {@code ACC} followed by
+     * at least three digits without redundant leading zeros, or its check digit does not match
+     */
+    public static long parse(CharSequence accountNumber) {
+        if (accountNumber == null) {
+            return INVALID;
+        }
+        int length = accountNumber.length();
+        if (length > 2 && accountNumber.charAt(length - 2) == '-') {
+            long id = parse(accountNumber, PREFIX, length - 2);
+            int check = accountNumber.charAt(length - 1) - '0';
+            return id != INVALID && check == checkDigit(id) ? id : INVALID;
+        }
+        return parse(accountNumber, PREFIX, length);
+    }
+
+    /**
+     * Formats a sequential identifier such as a customer ID: {@code prefix} followed by
+     * {@code id}, zero-padded to three digits.
+     */
+    public static String format(String prefix, long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Identifier must not be negative: " + id);
+        }
+        int digits = 1;
+        for (long rest = id / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        int width = Math.max(MIN_DIGITS, digits);
+        int prefixLength = prefix.length();
+        char[] chars = new char[prefixLength + width];
+        prefix.getChars(0, prefixLength, chars, 0);
+        long rest = id;
+        for (int i = chars.length - 1; i >= prefixLength; i--) {
+            chars[i] = (char) ('0' + rest % 10);
+            rest /= 10;
+        }
+        return new String(chars);
+    }
+
+    /** @return id of an identifier written by {@link #format(String, long)}, or {@link #INVALID}. */
+    public static long parse(CharSequence text, String prefix) {
+        return text == null ? INVALID : parse(text, prefix, text.length());
+    }
+
+    /** @return the Luhn check digit of {@code id}. */
+    public static int checkDigit(long id) {
+        int sum = 0;
+        boolean doubled = true;
+        for (long rest = id; rest > 0; rest /= 10) {
+            int digit = (int) (rest % 10);
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private static long parse(CharSequence text, String prefix, int end) {
+        int prefixLength = prefix.length();
+        int digits = end - prefixLength;
+        if (digits < MIN_DIGITS || digits > MAX_DIGITS) {
+            return INVALID;
+        }
+        for (int i = 0; i < prefixLength; i++) {
+            if (text.charAt(i) != prefix.charAt(i)) {
+                return INVALID;
+            }
+        }
+        if (digits > MIN_DIGITS && text.charAt(prefixLength) == '0') {
+            return INVALID;
+        }
+        long id = 0;
+        for (int i = prefixLength; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return INVALID;
+            }
+            id = id * 10 + (c - '0');
+        }
+        return id;
+    }
+}
@@ -3,6 +3,7 @@ package com.bam.utils;
 import com.bam.exceptions.*;
 import com.bam.models.CheckingAccount;
 import com.bam.models.SavingsAccount;
+import com.bam.models.TransactionOutcome;
 
 import java.util.regex.Pattern;
 
@@ -10,7 +11,6 @@ import java.util.regex.Pattern;
  * Performs reusable validation for user inputs across the CLI.
  */
 public class InputValidator {
-    private static final Pattern ACCOUNT_NUMBER_PATTERN = Pattern.compile("ACC\\d{3}");
     private static final Pattern CONTACT_PATTERN = Pattern.compile("\\d{10}");
     private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+._%-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
 
@@ -92,41 +92,56 @@ public class InputValidator {
     /** Ensures deposits are positive. */
     public void validateDepositAmount(double amount) throws InvalidDepositAmountException {
         if (amount <= 0) {
-            throw new InvalidDepositAmountException("Deposit amount must be greater than zero.");
+            throw new InvalidDepositAmountException(TransactionOutcome.INVALID_DEPOSIT.message());
         }
     }
 
     /** Validates withdrawal limits for savings accounts, enforcing minimum balance. */
     public void validateSavingsWithdrawal(double amount, double currentBalance) throws InsufficientFundsException, InvalidWithdrawalAmountException {
-        if (amount <= 0) {
-            throw new InvalidWithdrawalAmountException("Withdrawal amount must be greater than zero.");
-        }
+        validateSavingsWithdrawalCents(Money.toCents(amount), Money.toCents(currentBalance));
+    }
 
-        if (currentBalance - amount < SavingsAccount.MINIMUM_BALANCE) {
-            throw new InsufficientFundsException(String.format(
-                    "You do not have sufficient funds (%.2f) to perform this transaction\n" +
-                            "You need a minimum balance of $%.2f in your account",
-                    currentBalance, SavingsAccount.MINIMUM_BALANCE));
+    /** Cent-denominated form of {@link #validateSavingsWithdrawal(double, double)}. */
+    public void validateSavingsWithdrawalCents(long amountCents, long balanceCents) throws InsufficientFundsException, InvalidWithdrawalAmountException {
+        requireSavingsWithdrawal(TransactionOutcome.withdrawal(amountCents, balanceCents,
+                SavingsAccount.MINIMUM_BALANCE_CENTS, TransactionOutcome.Status.INSUFFICIENT_FUNDS));
+    }
+
+    /** Throws the exception matching a declined savings withdrawal {@code outcome}. */
+    public void requireSavingsWithdrawal(TransactionOutcome outcome) throws InsufficientFundsException, InvalidWithdrawalAmountException {
+        if (outcome.status() == TransactionOutcome.Status.INVALID_WITHDRAWAL_AMOUNT) {
+            throw new InvalidWithdrawalAmountException(outcome.message());
+        }
+        if (!outcome.isApplied()) {
+            throw new InsufficientFundsException(outcome.message());
         }
     }
 
     /** Validates withdrawal limits for checking accounts, allowing overdraft up to limit. */
     public void validateCheckingWithdrawal(double amount, double currentBalance) throws OverdraftExceededException, InvalidWithdrawalAmountException {
-        if (amount <= 0) {
-            throw new InvalidWithdrawalAmountException("Withdrawal amount must be greater than zero.");
-        }
+        validateCheckingWithdrawalCents(Money.toCents(amount), Money.toCents(currentBalance));
+    }
 
-        if (currentBalance - amount < -CheckingAccount.OVERDRAFT_LIMIT) {
-            throw new OverdraftExceededException(String.format("Overdraft limit exceeded\n" +
-                    "You do not have sufficient funds ($%.2f + $%.2f overdraft limit) to perform this transaction",
-                    currentBalance, CheckingAccount.OVERDRAFT_LIMIT));
+    /** Cent-denominated form of {@link #validateCheckingWithdrawal(double, double)}. */
+    public void validateCheckingWithdrawalCents(long amountCents, long balanceCents) throws OverdraftExceededException, InvalidWithdrawalAmountException {
+        requireCheckingWithdrawal(TransactionOutcome.withdrawal(amountCents, balanceCents,
+                -CheckingAccount.OVERDRAFT_LIMIT_CENTS, TransactionOutcome.Status.OVERDRAFT_EXCEEDED));
+    }
+
+    /** Throws the exception matching a declined checking withdrawal {@code outcome}. */
+    public void requireCheckingWithdrawal(TransactionOutcome outcome) throws OverdraftExceededException, InvalidWithdrawalAmountException {
+        if (outcome.status() == TransactionOutcome.Status.INVALID_WITHDRAWAL_AMOUNT) {
+            throw new InvalidWithdrawalAmountException(outcome.message());
+        }
+        if (!outcome.isApplied()) {
+            throw new OverdraftExceededException(outcome.message());
         }
     }
 
     /** Validates the format of account numbers. */
     public void validateAccountNumberFormat(String accountNumber) throws InvalidAccountNumberException {
-        if (accountNumber == null || !ACCOUNT_NUMBER_PATTERN.matcher(accountNumber).matches()) {
-            throw new InvalidAccountNumberException("Account number must match ACC followed by three digits (e.g., ACC123).");
+        if (AccountNumbers.parse(accountNumber) == AccountNumbers.INVALID) {
+            throw new InvalidAccountNumberException("Account number must be ACC followed by at least three digits (e.g., ACC123).");
         }
     }
 }
@@ -0,0 +1,32 @@
+package com.bam.utils;
+
+/**
+ * Converts between dollar amounts and the whole cents balances are kept in. Holding money as a
+ * {@code long} count of cents keeps repeated deposits and withdrawals exact, where {@code double}
+ * arithmetic slowly drifts (ten deposits of 0.10 do not add up to 1.00).
+ */
+public final class Money {
+
+    private Money() {
+    }
+
+    /** @return {@code amount} rounded to the nearest cent. */
+    public static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    /**
+     * Converts a deposit, withdrawal or transfer amount. NaN and infinite amounts come back as 0,
+     * so validating the result with {@code <= 0} rejects them along with amounts under half a cent.
+     *
+     * @return {@code amount} rounded to the nearest cent, or 0 when it is not a finite number
+     */
+    public static long amountToCents(double amount) {
+        return Double.isFinite(amount) ? toCents(amount) : 0;
+    }
+
+    /** @return dollar value of {@code cents}. */
+    public static double toDollars(long cents) {
+        return cents / 100.0;
+    }
+}
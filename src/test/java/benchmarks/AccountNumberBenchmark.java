@@ -0,0 +1,60 @@
+package test.java.benchmarks;
+
+import com.bam.utils.AccountNumbers;
+
+import java.util.regex.Pattern;
+
+/**
+ * Compares formatting account numbers with {@code String.format} and validating them with the
+ * {@code ACC\d{3}} regex and {@code replace} + {@code parseInt}, as accounts were numbered and
+ * counters synced before {@link AccountNumbers}, with the hand-written formatter and parser. Each
+ * pass formats and parses 1M numbers. Run with
+ * {@code java -cp target/classes:target/test-classes test.java.benchmarks.AccountNumberBenchmark}.
+ */
+public class AccountNumberBenchmark {
+    private static final int NUMBERS = 1_000_000;
+    private static final int ROUNDS = 10;
+    private static final Pattern ACCOUNT_NUMBER_PATTERN = Pattern.compile("ACC\\d+");
+
+    public static void main(String[] args) {
+        long bestFormat = Long.MAX_VALUE;
+        long bestFast = Long.MAX_VALUE;
+        long check = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            check += formatAndRegex();
+            bestFormat = Math.min(bestFormat, System.nanoTime() - start);
+            start = System.nanoTime();
+            check -= accountNumbers();
+            bestFast = Math.min(bestFast, System.nanoTime() - start);
+        }
+        if (check != 0) {
+            throw new IllegalStateException("Sums differ: " + check);
+        }
+        System.out.printf("%,d numbers (best of %d rounds)%n", NUMBERS, ROUNDS);
+        System.out.printf("String.format + regex: %7.2f ms (%6.1f ns/number)%n", bestFormat / 1e6, (double) bestFormat / NUMBERS);
+        System.out.printf("AccountNumbers:        %7.2f ms (%6.1f ns/number)%n", bestFast / 1e6, (double) bestFast / NUMBERS);
+    }
+
+    private static long formatAndRegex() {
+        long sum = 0;
+        for (int id = 1; id <= NUMBERS; id++) {
+            String number = String.format("ACC%03d", id);
+            if (ACCOUNT_NUMBER_PATTERN.matcher(number).matches()) {
+                sum += Integer.parseInt(number.replace("ACC", ""));
+            }
+        }
+        return sum;
+    }
+
+    private static long accountNumbers() {
+        long sum = 0;
+        for (int id = 1; id <= NUMBERS; id++) {
+            long parsed = AccountNumbers.parse(AccountNumbers.format(id));
+            if (parsed != AccountNumbers.INVALID) {
+                sum += parsed;
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,171 @@
+package test.java.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Compares ways of guarding an account balance under a read-heavy (95% reads) and a mixed (50%)
+ * workload: the {@link AtomicLong} accounts use, where a read is one volatile load, against a
+ * {@link StampedLock} with optimistic reads, a read-write lock and a monitor. Each thread
+ * works on a random one of 64 balances for a fixed time. Run with
+ * {@code java -cp target/classes:target/test-classes test.java.benchmarks.BalanceReadBenchmark [threads]}.
+ */
+public class BalanceReadBenchmark {
+    private static final int BALANCES = 64;
+    private static final long RUN_MILLIS = 1_000;
+    private static final int ROUNDS = 3;
+
+    interface Balance {
+        long read();
+
+        void add(long deltaCents);
+    }
+
+    static final class Atomic implements Balance {
+        private final AtomicLong cents = new AtomicLong();
+
+        public long read() {
+            return cents.get();
+        }
+
+        public void add(long deltaCents) {
+            cents.addAndGet(deltaCents);
+        }
+    }
+
+    static final class Stamped implements Balance {
+        private final StampedLock lock = new StampedLock();
+        private long cents;
+
+        public long read() {
+            long stamp = lock.tryOptimisticRead();
+            long value = cents;
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    value = cents;
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return value;
+        }
+
+        public void add(long deltaCents) {
+            long stamp = lock.writeLock();
+            try {
+                cents += deltaCents;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    static final class ReadWrite implements Balance {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private long cents;
+
+        public long read() {
+            lock.readLock().lock();
+            try {
+                return cents;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        public void add(long deltaCents) {
+            lock.writeLock().lock();
+            try {
+                cents += deltaCents;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    static final class Monitor implements Balance {
+        private long cents;
+
+        public synchronized long read() {
+            return cents;
+        }
+
+        public synchronized void add(long deltaCents) {
+            cents += deltaCents;
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        System.out.printf("%d threads, %d balances, best of %d x %d ms%n", threads, BALANCES, ROUNDS, RUN_MILLIS);
+        for (int readPercent : new int[]{95, 50}) {
+            System.out.printf("%d%% reads / %d%% writes%n", readPercent, 100 - readPercent);
+            report("AtomicLong", readPercent, threads, Atomic::new);
+            report("StampedLock (optimistic)", readPercent, threads, Stamped::new);
+            report("ReentrantReadWriteLock", readPercent, threads, ReadWrite::new);
+            report("synchronized", readPercent, threads, Monitor::new);
+        }
+    }
+
+    private static void report(String name, int readPercent, int threads, java.util.function.Supplier<Balance> factory)
+            throws InterruptedException {
+        double best = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            Balance[] balances = new Balance[BALANCES];
+            for (int i = 0; i < BALANCES; i++) {
+                balances[i] = factory.get();
+            }
+            best = Math.max(best, run(balances, readPercent, threads));
+        }
+        System.out.printf("  %-26s %8.1f M ops/s%n", name, best / 1e6);
+    }
+
+    private static double run(Balance[] balances, int readPercent, int threads) throws InterruptedException {
+        AtomicBoolean stop = new AtomicBoolean();
+        LongAdder operations = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long sink = 0;
+                long count = 0;
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                while (!stop.get()) {
+                    for (int i = 0; i < 1_000; i++) {
+                        Balance balance = balances[random.nextInt(BALANCES)];
+                        if (random.nextInt(100) < readPercent) {
+                            sink += balance.read();
+                        } else {
+                            balance.add(1);
+                        }
+                    }
+                    count += 1_000;
+                }
+                operations.add(count + (sink == 42 ? 1 : 0));
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        Thread.sleep(RUN_MILLIS);
+        stop.set(true);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return operations.sum() / ((System.nanoTime() - begin) / 1e9);
+    }
+}
@@ -0,0 +1,74 @@
+package test.java.benchmarks;
+
+import com.bam.services.RecordChecksum;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Measures what verifying a CRC32C per ledger record adds to decoding. Run with
+ * {@code java -cp target/classes:target/test-classes test.java.benchmarks.ChecksumBenchmark}.
+ */
+public class ChecksumBenchmark {
+    private static final int RECORDS = 1_000_000;
+    private static final int PAYLOAD_SIZE = 33;
+    private static final int FRAME_SIZE = 8;
+    private static final int ROUNDS = 7;
+
+    public static void main(String[] args) {
+        ByteBuffer plain = ByteBuffer.allocateDirect(RECORDS * PAYLOAD_SIZE);
+        ByteBuffer framed = ByteBuffer.allocateDirect(RECORDS * (FRAME_SIZE + PAYLOAD_SIZE));
+        byte[] payload = new byte[PAYLOAD_SIZE];
+        for (int i = 0; i < RECORDS; i++) {
+            ThreadLocalRandom.current().nextBytes(payload);
+            plain.put(payload);
+            framed.putInt(PAYLOAD_SIZE).putInt(RecordChecksum.compute(payload, 0, PAYLOAD_SIZE)).put(payload);
+        }
+
+        long sink = 0;
+        long bestPlain = Long.MAX_VALUE;
+        long bestFramed = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            sink += decodePlain(plain);
+            bestPlain = Math.min(bestPlain, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            sink += decodeFramed(framed);
+            bestFramed = Math.min(bestFramed, System.nanoTime() - start);
+        }
+
+        System.out.printf("records: %,d (best of %d rounds)%n", RECORDS, ROUNDS);
+        System.out.printf("decode only:        %6.1f ms  %5.1f ns/record%n", bestPlain / 1e6, (double) bestPlain / RECORDS);
+        System.out.printf("decode + CRC32C:    %6.1f ms  %5.1f ns/record%n", bestFramed / 1e6, (double) bestFramed / RECORDS);
+        System.out.printf("checksum overhead:  %6.1f ms per million records%n", (bestFramed - bestPlain) / 1e6);
+        System.out.println("(sink " + sink + ")");
+    }
+
+    private static long decodePlain(ByteBuffer buffer) {
+        long sum = 0;
+        for (int i = 0; i < RECORDS; i++) {
+            sum += decode(buffer, i * PAYLOAD_SIZE);
+        }
+        return sum;
+    }
+
+    private static long decodeFramed(ByteBuffer buffer) {
+        long sum = 0;
+        int recordSize = FRAME_SIZE + PAYLOAD_SIZE;
+        for (int i = 0; i < RECORDS; i++) {
+            int offset = i * recordSize;
+            if (buffer.getInt(offset) != PAYLOAD_SIZE
+                    || buffer.getInt(offset + 4) != RecordChecksum.compute(buffer, offset + FRAME_SIZE, PAYLOAD_SIZE)) {
+                continue;
+            }
+            sum += decode(buffer, offset + FRAME_SIZE);
+        }
+        return sum;
+    }
+
+    private static long decode(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset) + buffer.getInt(offset + 4) + buffer.get(offset + 8)
+                + buffer.getLong(offset + 9) + buffer.getLong(offset + 17) + buffer.getLong(offset + 25);
+    }
+}
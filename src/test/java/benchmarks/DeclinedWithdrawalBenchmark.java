@@ -0,0 +1,64 @@
+package test.java.benchmarks;
+
+import com.bam.exceptions.InsufficientFundsException;
+import com.bam.exceptions.InvalidWithdrawalAmountException;
+import com.bam.models.RegularCustomer;
+import com.bam.models.SavingsAccount;
+import com.bam.models.TransactionOutcome;
+
+/**
+ * Compares declining withdrawals through the exception API, which builds a formatted message and
+ * a stack trace per decline, with {@link SavingsAccount#tryWithdraw}. Every withdrawal would take
+ * the account below its minimum balance. Run with
+ * {@code java -cp target/classes:target/test-classes test.java.benchmarks.DeclinedWithdrawalBenchmark}.
+ */
+public class DeclinedWithdrawalBenchmark {
+    private static final int WITHDRAWALS = 200_000;
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) {
+        RegularCustomer customer = new RegularCustomer("Alice", 30, "1234567890", "alice@test.com", "123 Street");
+        SavingsAccount account = new SavingsAccount(customer, 600);
+
+        long bestExceptions = Long.MAX_VALUE;
+        long bestOutcomes = Long.MAX_VALUE;
+        long declined = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            declined += withExceptions(account);
+            bestExceptions = Math.min(bestExceptions, System.nanoTime() - start);
+            start = System.nanoTime();
+            declined -= withOutcomes(account);
+            bestOutcomes = Math.min(bestOutcomes, System.nanoTime() - start);
+        }
+        if (declined != 0 || account.getBalance() != 600) {
+            throw new IllegalStateException("Paths disagree");
+        }
+        System.out.printf("%,d declined withdrawals (best of %d rounds)%n", WITHDRAWALS, ROUNDS);
+        System.out.printf("exceptions:     %7.2f ms (%7.1f ns/decline)%n", bestExceptions / 1e6, (double) bestExceptions / WITHDRAWALS);
+        System.out.printf("result codes:   %7.2f ms (%7.1f ns/decline)%n", bestOutcomes / 1e6, (double) bestOutcomes / WITHDRAWALS);
+    }
+
+    private static int withExceptions(SavingsAccount account) {
+        int declined = 0;
+        for (int i = 0; i < WITHDRAWALS; i++) {
+            try {
+                account.withdraw(150 + (i & 7));
+            } catch (InsufficientFundsException | InvalidWithdrawalAmountException e) {
+                declined++;
+            }
+        }
+        return declined;
+    }
+
+    private static int withOutcomes(SavingsAccount account) {
+        int declined = 0;
+        for (int i = 0; i < WITHDRAWALS; i++) {
+            TransactionOutcome outcome = account.tryWithdraw(150 + (i & 7));
+            if (!outcome.isApplied()) {
+                declined++;
+            }
+        }
+        return declined;
+    }
+}
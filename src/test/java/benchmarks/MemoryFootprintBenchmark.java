@@ -0,0 +1,66 @@
+package test.java.benchmarks;
+
+import com.bam.models.Transaction;
+import com.bam.models.TransactionType;
+import com.bam.services.ColumnarTransactionStore;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Compares the heap retained by a ledger of {@link Transaction} objects with the same ledger in a
+ * {@link ColumnarTransactionStore}, at 1M and 10M transactions spread over 1,000 accounts. The
+ * object ledger gets one ID string and {@link Date} per transaction, as loading from disk does.
+ * Run with {@code java -Xmx4g -cp target/classes:target/test-classes test.java.benchmarks.MemoryFootprintBenchmark}.
+ */
+public class MemoryFootprintBenchmark {
+    private static final int ACCOUNTS = 1_000;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    public static void main(String[] args) {
+        String[] accountNumbers = new String[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountNumbers[i] = String.format("ACC%03d", i + 1);
+        }
+        for (int rows : new int[]{1_000_000, 10_000_000}) {
+            long baseline = usedHeap();
+            List<Transaction> objects = new ArrayList<>(rows);
+            for (int row = 0; row < rows; row++) {
+                objects.add(new Transaction(String.format("TXN%03d", row / ACCOUNTS + 1), accountNumbers[row % ACCOUNTS],
+                        TYPES[row % TYPES.length], 10 + row % 500, 1_000 + row % 9_000, new Date(1_700_000_000_000L + row)));
+            }
+            long objectBytes = usedHeap() - baseline;
+            // Keeps the list reachable until after the measurement.
+            if (objects.size() != rows) {
+                throw new IllegalStateException();
+            }
+            objects = null;
+
+            baseline = usedHeap();
+            ColumnarTransactionStore.Builder builder = new ColumnarTransactionStore.Builder(rows);
+            for (int row = 0; row < rows; row++) {
+                builder.add(accountNumbers[row % ACCOUNTS], TYPES[row % TYPES.length], (10 + row % 500) * 100L,
+                        (1_000 + row % 9_000) * 100L, 1_700_000_000_000L + row, row / ACCOUNTS + 1);
+            }
+            ColumnarTransactionStore store = builder.build();
+            builder = null;
+            long columnarBytes = usedHeap() - baseline;
+            if (store.size() != rows) {
+                throw new IllegalStateException();
+            }
+
+            System.out.printf("%,11d transactions  objects: %,7.1f MB (%5.1f B/txn)   columnar: %,7.1f MB (%4.1f B/txn)   %4.1fx smaller%n",
+                    store.size(), objectBytes / 1e6, (double) objectBytes / rows,
+                    columnarBytes / 1e6, (double) columnarBytes / rows, (double) objectBytes / columnarBytes);
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
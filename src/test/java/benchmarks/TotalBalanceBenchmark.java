@@ -0,0 +1,63 @@
+package test.java.benchmarks;
+
+import com.bam.models.Account;
+import com.bam.models.CheckingAccount;
+import com.bam.models.RegularCustomer;
+import com.bam.services.AccountRegistry;
+
+/**
+ * Compares reading the bank-wide total balance by summing every account, as
+ * {@code AccountManager.getTotalBalance} did, with reading the maintained
+ * {@link com.bam.services.BankTotals}, and measures what maintaining them adds to a deposit. Run
+ * with {@code java -cp target/classes:target/test-classes test.java.benchmarks.TotalBalanceBenchmark}.
+ */
+public class TotalBalanceBenchmark {
+    private static final int ACCOUNTS = 1_000_000;
+    private static final int DEPOSITS = 10_000_000;
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) {
+        RegularCustomer customer = new RegularCustomer("Alice", 30, "1234567890", "alice@test.com", "123 Street");
+        AccountRegistry registry = new AccountRegistry();
+        for (int i = 1; i <= ACCOUNTS; i++) {
+            registry.register(new CheckingAccount(customer, i % 1_000, "ACC" + (1_000 + i), "Active"));
+        }
+        Account tracked = registry.find(1_001);
+        Account untracked = new CheckingAccount(customer, tracked.getBalance(), "ACC1000", "Active");
+
+        long bestSum = Long.MAX_VALUE;
+        long bestTotals = Long.MAX_VALUE;
+        long bestUntracked = Long.MAX_VALUE;
+        long bestTracked = Long.MAX_VALUE;
+        double check = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            check += registry.accounts().stream().mapToDouble(Account::getBalance).sum();
+            bestSum = Math.min(bestSum, System.nanoTime() - start);
+            start = System.nanoTime();
+            check -= registry.totals().totalBalance();
+            bestTotals = Math.min(bestTotals, System.nanoTime() - start);
+            start = System.nanoTime();
+            deposit(untracked);
+            bestUntracked = Math.min(bestUntracked, System.nanoTime() - start);
+            start = System.nanoTime();
+            deposit(tracked);
+            bestTracked = Math.min(bestTracked, System.nanoTime() - start);
+            check += untracked.getBalance() - tracked.getBalance();
+        }
+        if (Math.abs(check) > 1e-3 * ROUNDS) {
+            throw new IllegalStateException("Totals differ: " + check);
+        }
+        System.out.printf("%,d accounts, %,d deposits (best of %d rounds)%n", ACCOUNTS, DEPOSITS, ROUNDS);
+        System.out.printf("total by summing accounts: %10.3f ms%n", bestSum / 1e6);
+        System.out.printf("total from BankTotals:     %10.3f ms%n", bestTotals / 1e6);
+        System.out.printf("deposit, untracked:        %10.2f ns%n", (double) bestUntracked / DEPOSITS);
+        System.out.printf("deposit, tracked:          %10.2f ns%n", (double) bestTracked / DEPOSITS);
+    }
+
+    private static void deposit(Account account) {
+        for (int i = 0; i < DEPOSITS; i++) {
+            account.tryDepositCents(1);
+        }
+    }
+}
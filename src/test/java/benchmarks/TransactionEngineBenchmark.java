@@ -0,0 +1,137 @@
+package test.java.benchmarks;
+
+import com.bam.models.Account;
+import com.bam.models.CheckingAccount;
+import com.bam.models.Customer;
+import com.bam.models.RegularCustomer;
+import com.bam.models.Transaction;
+import com.bam.models.TransactionType;
+import com.bam.services.ShardedTransactionEngine;
+import com.bam.services.TransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compares throughput of the monitor-based path (callers lock the account, apply the change and
+ * record it) with {@link ShardedTransactionEngine} for a mix of 45% deposits, 45% withdrawals and
+ * 10% transfers. Both paths record every applied change through the {@link TransactionManager},
+ * whose ledgers are cleared between runs. Run with
+ * {@code java -cp target/classes:target/test-classes test.java.benchmarks.TransactionEngineBenchmark}.
+ */
+public class TransactionEngineBenchmark {
+    private static final int PRODUCERS = 4;
+    private static final int OPERATIONS_PER_PRODUCER = 500_000;
+    private static final int SHARDS = 4;
+    private static final int ROUNDS = 5;
+
+    private static final Customer CUSTOMER = new RegularCustomer("Bench", 30, "1234567890", "bench@test.com", "1 Street");
+    private static final TransactionManager TRANSACTIONS = new TransactionManager(null);
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.printf("%d producers x %,d operations, %d shards (best of %d rounds)%n",
+                PRODUCERS, OPERATIONS_PER_PRODUCER, SHARDS, ROUNDS);
+        for (int accountCount : new int[]{4, 1024}) {
+            long bestMonitor = Long.MAX_VALUE;
+            long bestEngine = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                bestMonitor = Math.min(bestMonitor, runMonitors(accounts(accountCount)));
+                TransactionManager.seedTransactions(List.of());
+                bestEngine = Math.min(bestEngine, runEngine(accounts(accountCount)));
+                TransactionManager.seedTransactions(List.of());
+            }
+            long operations = (long) PRODUCERS * OPERATIONS_PER_PRODUCER;
+            System.out.printf("%4d accounts  monitors: %,11.0f ops/s   engine: %,11.0f ops/s%n",
+                    accountCount, operations / (bestMonitor / 1e9), operations / (bestEngine / 1e9));
+        }
+    }
+
+    private static long runMonitors(List<Account> accounts) throws InterruptedException {
+        return timeProducers(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < OPERATIONS_PER_PRODUCER; i++) {
+                Account account = accounts.get(random.nextInt(accounts.size()));
+                int kind = random.nextInt(100);
+                if (kind < 45) {
+                    synchronized (account) {
+                        apply(account, TransactionType.DEPOSIT);
+                    }
+                } else if (kind < 90) {
+                    synchronized (account) {
+                        apply(account, TransactionType.WITHDRAWAL);
+                    }
+                } else {
+                    Account target = accounts.get(random.nextInt(accounts.size()));
+                    if (target == account) {
+                        continue;
+                    }
+                    Account first = account.getAccountNumber().compareTo(target.getAccountNumber()) < 0 ? account : target;
+                    Account second = first == account ? target : account;
+                    synchronized (first) {
+                        synchronized (second) {
+                            if (apply(account, TransactionType.TRANSFER_OUT)) {
+                                apply(target, TransactionType.TRANSFER_IN);
+                            }
+                        }
+                    }
+                }
+            }
+        }, null);
+    }
+
+    private static boolean apply(Account account, TransactionType type) {
+        boolean applied = type.isCredit() ? account.tryDeposit(1.00).isApplied() : account.tryWithdraw(1.00).isApplied();
+        if (applied) {
+            TRANSACTIONS.addTransaction(new Transaction(account.getAccountNumber(), type, 1.00, account.getBalance()));
+        }
+        return applied;
+    }
+
+    private static long runEngine(List<Account> accounts) throws InterruptedException {
+        CountDownLatch completed = new CountDownLatch(PRODUCERS * OPERATIONS_PER_PRODUCER);
+        try (ShardedTransactionEngine engine = new ShardedTransactionEngine(SHARDS, TRANSACTIONS)) {
+            engine.registerAll(accounts);
+            return timeProducers(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < OPERATIONS_PER_PRODUCER; i++) {
+                    String accountNumber = accounts.get(random.nextInt(accounts.size())).getAccountNumber();
+                    int kind = random.nextInt(100);
+                    if (kind < 45) {
+                        engine.deposit(accountNumber, 1.00).whenComplete((ok, error) -> completed.countDown());
+                    } else if (kind < 90) {
+                        engine.withdraw(accountNumber, 1.00).whenComplete((ok, error) -> completed.countDown());
+                    } else {
+                        String target = accounts.get(random.nextInt(accounts.size())).getAccountNumber();
+                        engine.transfer(accountNumber, target, 1.00).whenComplete((ok, error) -> completed.countDown());
+                    }
+                }
+            }, completed);
+        }
+    }
+
+    private static long timeProducers(Runnable producer, CountDownLatch completed) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < PRODUCERS; i++) {
+            threads.add(new Thread(producer));
+        }
+        long start = System.nanoTime();
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (completed != null) {
+            completed.await();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static List<Account> accounts(int count) {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            accounts.add(new CheckingAccount(CUSTOMER, 1_000_000, "ACC" + (100_000 + i), "Active"));
+        }
+        return accounts;
+    }
+}
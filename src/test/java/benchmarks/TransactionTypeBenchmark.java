@@ -0,0 +1,73 @@
+package test.java.benchmarks;
+
+import com.bam.models.Transaction;
+import com.bam.models.TransactionType;
+
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compares classifying transactions by case-insensitive label comparisons, as statement totals
+ * and signed amounts were computed before {@link TransactionType}, with a switch on the type.
+ * Each pass sums the signed amounts of 1M transactions. Run with
+ * {@code java -cp target/classes:target/test-classes test.java.benchmarks.TransactionTypeBenchmark}.
+ */
+public class TransactionTypeBenchmark {
+    private static final int TRANSACTIONS = 1_000_000;
+    private static final int ROUNDS = 20;
+
+    public static void main(String[] args) {
+        TransactionType[] types = TransactionType.values();
+        Transaction[] transactions = new Transaction[TRANSACTIONS];
+        String[] labels = new String[TRANSACTIONS];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            TransactionType type = types[random.nextInt(types.length)];
+            transactions[i] = new Transaction("TXN001", "ACC001", type, 1 + random.nextInt(100), 0, new Date());
+            // Separate String instances, as each record read from disk used to carry its own label.
+            labels[i] = new String(type.label());
+        }
+
+        long bestLabels = Long.MAX_VALUE;
+        long bestTypes = Long.MAX_VALUE;
+        double check = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            check += sumByLabel(transactions, labels);
+            bestLabels = Math.min(bestLabels, System.nanoTime() - start);
+            start = System.nanoTime();
+            check -= sumByType(transactions);
+            bestTypes = Math.min(bestTypes, System.nanoTime() - start);
+        }
+        if (check != 0) {
+            throw new IllegalStateException("Sums differ: " + check);
+        }
+        System.out.printf("%,d transactions (best of %d rounds)%n", TRANSACTIONS, ROUNDS);
+        System.out.printf("label compares: %6.2f ms (%5.2f ns/txn)%n", bestLabels / 1e6, (double) bestLabels / TRANSACTIONS);
+        System.out.printf("type switch:    %6.2f ms (%5.2f ns/txn)%n", bestTypes / 1e6, (double) bestTypes / TRANSACTIONS);
+    }
+
+    private static double sumByLabel(Transaction[] transactions, String[] labels) {
+        double sum = 0;
+        for (int i = 0; i < transactions.length; i++) {
+            String type = labels[i];
+            if (type.equalsIgnoreCase("deposit") || type.equalsIgnoreCase("transfer in")) {
+                sum += transactions[i].getAmount();
+            } else if (type.equalsIgnoreCase("withdrawal") || type.equalsIgnoreCase("transfer out")) {
+                sum -= transactions[i].getAmount();
+            }
+        }
+        return sum;
+    }
+
+    private static double sumByType(Transaction[] transactions) {
+        double sum = 0;
+        for (Transaction transaction : transactions) {
+            switch (transaction.getType()) {
+                case DEPOSIT, TRANSFER_IN -> sum += transaction.getAmount();
+                case WITHDRAWAL, TRANSFER_OUT -> sum -= transaction.getAmount();
+            }
+        }
+        return sum;
+    }
+}
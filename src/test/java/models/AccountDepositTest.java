@@ -1,10 +1,15 @@
 package test.java.models;
 
 import com.bam.exceptions.InvalidDepositAmountException;
+import com.bam.models.BatchOperation;
+import com.bam.models.BatchResult;
 import com.bam.models.CheckingAccount;
 import com.bam.models.SavingsAccount;
+import com.bam.models.TransactionOutcome;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class AccountDepositTest extends AccountTestBase {
@@ -115,5 +120,31 @@ class AccountDepositTest extends AccountTestBase {
         account.processTransaction(-100, "deposit");
         assertEquals(initialBalance, account.getBalance(), 0.01);
     }
-}
 
+    @Test
+    void depositsThatRoundToZeroCentsOrAreNotFiniteAreRejected() {
+        SavingsAccount account = new SavingsAccount(regularCustomer, 1000);
+
+        for (double amount : new double[]{0.001, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}) {
+            assertEquals(TransactionOutcome.INVALID_DEPOSIT, account.tryDeposit(amount));
+        }
+        List<BatchResult> results = account.applyBatch(List.of(
+                BatchOperation.deposit(account.getAccountNumber(), 0.001),
+                BatchOperation.deposit(account.getAccountNumber(), Double.POSITIVE_INFINITY)));
+
+        assertTrue(results.stream().noneMatch(BatchResult::success));
+        assertEquals(100000, account.getBalanceCents());
+    }
+
+    @Test
+    void repeatedCentDepositsDoNotDrift() {
+        CheckingAccount account = new CheckingAccount(regularCustomer, 0);
+
+        for (int i = 0; i < 10; i++) {
+            account.processTransaction(0.10, "deposit");
+        }
+
+        assertEquals(100, account.getBalanceCents());
+        assertEquals(1.00, account.getBalance());
+    }
+}
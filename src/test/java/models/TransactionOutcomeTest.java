@@ -0,0 +1,58 @@
+package test.java.models;
+
+import com.bam.exceptions.InsufficientFundsException;
+import com.bam.models.CheckingAccount;
+import com.bam.models.SavingsAccount;
+import com.bam.models.TransactionOutcome;
+import com.bam.models.TransactionOutcome.Status;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the exception-free deposit and withdrawal path.
+ */
+class TransactionOutcomeTest extends AccountTestBase {
+
+    @Test
+    void declinedWithdrawalsReportShortfallAndLeaveBalance() {
+        SavingsAccount savings = new SavingsAccount(regularCustomer, 600);
+        CheckingAccount checking = new CheckingAccount(regularCustomer, 100);
+
+        TransactionOutcome belowMinimum = savings.tryWithdraw(150);
+        TransactionOutcome pastOverdraft = checking.tryWithdraw(1_100.01);
+
+        assertEquals(Status.INSUFFICIENT_FUNDS, belowMinimum.status());
+        assertEquals(50, belowMinimum.shortfall());
+        assertEquals(600, savings.getBalance());
+        assertEquals(Status.OVERDRAFT_EXCEEDED, pastOverdraft.status());
+        assertEquals(1, pastOverdraft.shortfallCents());
+        assertTrue(pastOverdraft.message().startsWith("Overdraft limit exceeded"));
+        assertEquals(100, checking.getBalance());
+    }
+
+    @Test
+    void acceptedOperationsReportTheNewBalance() {
+        SavingsAccount savings = new SavingsAccount(regularCustomer, 600);
+
+        TransactionOutcome withdrawal = savings.tryWithdraw(100);
+        TransactionOutcome deposit = savings.tryDeposit(25.50);
+
+        assertTrue(withdrawal.isApplied());
+        assertEquals(50_000, withdrawal.balanceCents());
+        assertEquals(52_550, deposit.balanceCents());
+        assertNull(deposit.message());
+        assertSame(TransactionOutcome.INVALID_DEPOSIT, savings.tryDeposit(0));
+        assertSame(TransactionOutcome.INVALID_WITHDRAWAL, savings.tryWithdraw(-5));
+        assertEquals(525.50, savings.getBalance());
+    }
+
+    @Test
+    void exceptionApiStillThrowsWithTheSameMessage() {
+        SavingsAccount savings = new SavingsAccount(regularCustomer, 600);
+
+        InsufficientFundsException e = assertThrows(InsufficientFundsException.class, () -> savings.withdraw(150));
+        assertEquals(savings.tryWithdraw(150).message(), e.getMessage());
+        assertFalse(savings.processTransaction(150, "Withdrawal"));
+    }
+}
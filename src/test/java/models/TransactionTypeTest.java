@@ -0,0 +1,51 @@
+package test.java.models;
+
+import com.bam.models.SavingsAccount;
+import com.bam.models.Transaction;
+import com.bam.models.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the transaction type labels and codes used at the CLI and file boundaries.
+ */
+class TransactionTypeTest extends AccountTestBase {
+
+    @Test
+    void labelsAndCodesRoundTrip() {
+        for (TransactionType type : TransactionType.values()) {
+            assertSame(type, TransactionType.fromLabel(type.label().toUpperCase()));
+            assertSame(type, TransactionType.fromCode(type.code()));
+        }
+        assertSame(TransactionType.TRANSFER_IN, new Transaction("TXN001", "ACC001", "transfer in", 5, 5, new Date()).getType());
+        assertNull(TransactionType.lookup("Transfer"));
+        assertThrows(IllegalArgumentException.class, () -> new Transaction("ACC001", "Refund", 5, 5));
+        assertThrows(IllegalArgumentException.class, () -> TransactionType.fromCode((byte) 0));
+    }
+
+    @Test
+    void codesMatchTheLedgerFormat() {
+        assertEquals(1, TransactionType.DEPOSIT.code());
+        assertEquals(2, TransactionType.WITHDRAWAL.code());
+        assertEquals(3, TransactionType.TRANSFER_IN.code());
+        assertEquals(4, TransactionType.TRANSFER_OUT.code());
+        assertEquals(5, TransactionType.INTEREST.code());
+        assertEquals(6, TransactionType.FEE.code());
+        assertThrows(IllegalArgumentException.class, () -> TransactionType.fromCode((byte) 7));
+        assertThrows(IllegalArgumentException.class, () -> TransactionType.fromCode((byte) -1));
+    }
+
+    @Test
+    void typedAndLabelledProcessingAgree() {
+        SavingsAccount account = new SavingsAccount(regularCustomer, 1000);
+
+        assertTrue(account.processTransaction(100, TransactionType.DEPOSIT));
+        assertTrue(account.processTransaction(50, "WITHDRAWAL"));
+        assertFalse(account.processTransaction(10, TransactionType.TRANSFER_IN));
+        assertFalse(account.processTransaction(10, "Refund"));
+        assertEquals(1050, account.getBalance());
+    }
+}
@@ -0,0 +1,121 @@
+package test.java.services;
+
+import com.bam.models.Account;
+import com.bam.models.CheckingAccount;
+import com.bam.models.RegularCustomer;
+import com.bam.models.SavingsAccount;
+import com.bam.services.AccountRegistry;
+import com.bam.utils.AccountNumbers;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests concurrent registration, lookup and reload of accounts.
+ */
+class AccountRegistryTest {
+    private final RegularCustomer customer = new RegularCustomer("Alice", 30, "1234567890", "alice@test.com", "123 Street");
+
+    @Test
+    void concurrentlyCreatedAccountsGetUniqueNumbers() throws Exception {
+        AccountRegistry registry = new AccountRegistry();
+        int threads = 4;
+        int perThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<String> customerIds = ConcurrentHashMap.newKeySet();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        RegularCustomer owner = new RegularCustomer("Bob", 40, "0987654321", "bob@test.com", "1 Road");
+                        customerIds.add(owner.getCustomerId());
+                        registry.register(new SavingsAccount(owner, 1_000));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(threads * perThread, registry.size());
+        assertEquals(threads * perThread, customerIds.size());
+    }
+
+    @Test
+    void duplicateAccountNumberIsRejected() {
+        AccountRegistry registry = new AccountRegistry();
+        registry.register(new SavingsAccount(customer, 1_000, "ACC801", "Active"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> registry.register(new CheckingAccount(customer, 500, "ACC801", "Active")));
+        assertEquals(1_000, registry.find("ACC801").getBalance());
+    }
+
+    @Test
+    void accountsAreFoundByNumericIdAndCheckedNumber() {
+        AccountRegistry registry = new AccountRegistry();
+        SavingsAccount account = new SavingsAccount(customer, 1_000, "ACC12345678", "Active");
+        registry.register(account);
+        registry.register(new SavingsAccount(customer, 1_000, "LEGACY-7", "Active"));
+
+        assertEquals(12_345_678, account.getAccountId());
+        assertSame(account, registry.find(12_345_678));
+        assertSame(account, registry.find(AccountNumbers.formatWithCheckDigit(12_345_678)));
+        assertNull(registry.find("ACC012345678"));
+        assertNotNull(registry.find("LEGACY-7"));
+        assertEquals(2, registry.snapshot().size());
+    }
+
+    @Test
+    void readersNeverSeeAPartiallyReloadedRegistry() throws Exception {
+        int size = 2_000;
+        List<Account> first = new ArrayList<>();
+        List<Account> second = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            first.add(new SavingsAccount(customer, 1, "ACC-A" + i, "Active"));
+            second.add(new SavingsAccount(customer, 2, "ACC-B" + i, "Active"));
+        }
+        AccountRegistry registry = new AccountRegistry();
+        registry.replaceAll(first);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicBoolean torn = new AtomicBoolean();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                List<Account> seen = registry.snapshot();
+                double balance = seen.get(0).getBalance();
+                if (seen.size() != size || seen.stream().anyMatch(account -> account.getBalance() != balance)) {
+                    torn.set(true);
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < 200; i++) {
+            registry.replaceAll(i % 2 == 0 ? second : first);
+        }
+        done.set(true);
+        reader.join();
+
+        assertFalse(torn.get());
+        assertEquals(size, registry.size());
+        assertNotNull(registry.find("ACC-A0"));
+        assertNull(registry.find("ACC-B0"));
+    }
+}
@@ -0,0 +1,121 @@
+package test.java.services;
+
+import com.bam.models.Account;
+import com.bam.models.BatchOperation;
+import com.bam.models.CheckingAccount;
+import com.bam.models.RegularCustomer;
+import com.bam.models.SavingsAccount;
+import com.bam.models.TransferLeg;
+import com.bam.services.AccountRegistry;
+import com.bam.services.BankTotals;
+import com.bam.services.TransactionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the bank-wide totals follow every kind of balance change.
+ */
+class BankTotalsTest {
+    private final RegularCustomer customer = new RegularCustomer("Alice", 30, "1234567890", "alice@test.com", "123 Street");
+    private final AccountRegistry registry = new AccountRegistry();
+
+    @AfterEach
+    void tearDown() {
+        TransactionManager.seedTransactions(List.of());
+    }
+
+    private void assertTotalsMatchAccounts() {
+        BankTotals totals = registry.totals();
+        assertEquals(registry.snapshot().stream().mapToLong(Account::getBalanceCents).sum(), totals.totalBalanceCents());
+        double overdrawn = registry.snapshot().stream().mapToDouble(account -> Math.max(0, -account.getBalance())).sum();
+        assertEquals(overdrawn, totals.overdraftExposure(), 1e-9);
+    }
+
+    @Test
+    void totalsFollowEveryKindOfBalanceChange() throws Exception {
+        SavingsAccount savings = new SavingsAccount(customer, 1_000, "ACC601", "Active");
+        CheckingAccount checking = new CheckingAccount(customer, 100, "ACC602", "Active");
+        registry.register(savings);
+        registry.register(checking);
+        TransactionManager transactionManager = new TransactionManager(null);
+
+        assertEquals(1_100, registry.totals().totalBalance());
+        assertEquals(1, registry.totals().accountCount("Savings"));
+        assertEquals(1, registry.totals().accountCount("Checking"));
+
+        savings.deposit(250);
+        checking.withdraw(400);
+        assertEquals(300, registry.totals().overdraftExposure());
+        checking.chargeMonthlyFee();
+        savings.accrueInterest(365);
+        savings.tryWithdraw(10_000);
+        checking.applyBatch(List.of(BatchOperation.deposit("ACC602", 50), BatchOperation.withdrawal("ACC602", 20)));
+        transactionManager.transfer(List.of(new TransferLeg("ACC601", 200)), List.of(new TransferLeg("ACC602", 200)),
+                registry::find);
+        savings.transfer(checking, 25);
+
+        assertTotalsMatchAccounts();
+        assertEquals(55, registry.totals().overdraftExposure());
+    }
+
+    @Test
+    void concurrentChangesAreAllCounted() throws Exception {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Account account = new CheckingAccount(customer, 0, "ACC61" + i, "Active");
+            registry.register(account);
+            accounts.add(account);
+        }
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 2_000; i++) {
+                        Account account = accounts.get((offset + i) % accounts.size());
+                        if (i % 3 == 0) {
+                            account.tryWithdraw(7);
+                        } else {
+                            account.tryDeposit(3);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTotalsMatchAccounts();
+    }
+
+    @Test
+    void reloadStartsNewTotals() {
+        SavingsAccount dropped = new SavingsAccount(customer, 1_000, "ACC621", "Active");
+        registry.register(dropped);
+        registry.replaceAll(List.of(new CheckingAccount(customer, 40, "ACC622", "Active")));
+
+        dropped.tryDeposit(500);
+
+        assertEquals(40, registry.totals().totalBalance());
+        assertEquals(0, registry.totals().accountCount("Savings"));
+        assertEquals(1, registry.totals().accountCount("Checking"));
+    }
+}
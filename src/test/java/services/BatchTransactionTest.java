@@ -0,0 +1,98 @@
+package test.java.services;
+
+import com.bam.models.Account;
+import com.bam.models.BatchOperation;
+import com.bam.models.BatchResult;
+import com.bam.models.CheckingAccount;
+import com.bam.models.RegularCustomer;
+import com.bam.models.SavingsAccount;
+import com.bam.models.Transaction;
+import com.bam.models.TransactionOutcome;
+import com.bam.services.AccountRegistry;
+import com.bam.services.TransactionManager;
+import com.bam.utils.AccountNumbers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests applying grouped deposits and withdrawals with a single ledger append.
+ */
+class BatchTransactionTest {
+    private final RegularCustomer customer = new RegularCustomer("Alice", 30, "1234567890", "alice@test.com", "123 Street");
+    private final TransactionManager transactionManager = new TransactionManager(null);
+
+    @AfterEach
+    void tearDown() {
+        TransactionManager.seedTransactions(List.of());
+    }
+
+    @Test
+    void operationsAreValidatedAgainstTheRunningBalance() {
+        SavingsAccount savings = new SavingsAccount(customer, 600, "ACC501", "Active");
+        List<BatchOperation> operations = List.of(
+                BatchOperation.withdrawal("ACC501", 150),
+                BatchOperation.deposit("ACC501", 100),
+                BatchOperation.withdrawal("ACC501", 150),
+                BatchOperation.deposit("ACC501", -5));
+
+        List<BatchResult> results = transactionManager.applyBatch(operations, Map.of("ACC501", savings)::get);
+
+        assertEquals(List.of(false, true, true, false), results.stream().map(BatchResult::success).toList());
+        assertEquals(55_000, results.get(2).balanceAfterCents());
+        assertEquals(550, savings.getBalance());
+        assertNotNull(results.get(3).error());
+        assertEquals(TransactionOutcome.Status.INSUFFICIENT_FUNDS, results.get(0).outcome().status());
+        assertEquals(0, results.get(0).balanceAfterCents());
+    }
+
+    @Test
+    void transactionsAreRecordedInInputOrderPerAccount() {
+        Account first = new CheckingAccount(customer, 0, "ACC502", "Active");
+        Account second = new CheckingAccount(customer, 0, "ACC503", "Active");
+        List<BatchOperation> operations = new ArrayList<>();
+        for (int i = 1; i <= 1_000; i++) {
+            operations.add(BatchOperation.of(i % 2 == 0 ? "ACC502" : "ACC503", "Deposit", i));
+        }
+        operations.add(BatchOperation.of("ACC999", "Deposit", 10));
+
+        List<BatchResult> results = transactionManager.applyBatch(operations, Map.of("ACC502", first, "ACC503", second)::get);
+
+        assertFalse(results.get(1_000).success());
+        assertEquals(250_500, first.getBalance());
+        List<Transaction> history = TransactionManager.getTransactions("ACC502");
+        assertEquals(500, history.size());
+        assertEquals("TXN001", history.get(0).getTransactionId());
+        assertEquals(2, history.get(0).getAmount());
+        assertEquals(250_500 + CheckingAccount.OVERDRAFT_LIMIT, history.get(499).getBalanceAfter());
+        assertSame(results.get(999).transaction(), history.get(499));
+    }
+
+    @Test
+    void spellingsOfOneAccountShareItsGroupAndLedger() {
+        SavingsAccount savings = new SavingsAccount(customer, 600, "ACC001", "Active");
+        AccountRegistry registry = new AccountRegistry();
+        registry.register(savings);
+        String withCheckDigit = AccountNumbers.formatWithCheckDigit(1);
+
+        List<BatchResult> results = transactionManager.applyBatch(List.of(
+                BatchOperation.deposit("ACC001", 100),
+                BatchOperation.deposit(withCheckDigit, 50)), registry::find);
+
+        assertEquals(List.of(70_000L, 75_000L), results.stream().map(BatchResult::balanceAfterCents).toList());
+        assertEquals(List.of("ACC001", "ACC001"), results.stream().map(r -> r.transaction().getAccountNumber()).toList());
+        assertEquals(List.of("TXN001", "TXN002"),
+                TransactionManager.getTransactions("ACC001").stream().map(Transaction::getTransactionId).toList());
+        assertTrue(TransactionManager.getTransactions(withCheckDigit).isEmpty());
+    }
+
+    @Test
+    void unknownTypesAreRejectedWhenParsed() {
+        assertThrows(IllegalArgumentException.class, () -> BatchOperation.of("ACC504", "Transfer", 10));
+    }
+}
@@ -0,0 +1,122 @@
+package test.java.services;
+
+import com.bam.models.Account;
+import com.bam.models.RegularCustomer;
+import com.bam.models.SavingsAccount;
+import com.bam.models.Transaction;
+import com.bam.services.FilePersistenceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests snapshot checkpoints, journal compaction and recovery from interrupted checkpoints.
+ */
+class CheckpointRecoveryTest {
+    @TempDir
+    Path dataDirectory;
+
+    private FilePersistenceService persistenceService;
+    private RegularCustomer customer;
+
+    @BeforeEach
+    void setUp() {
+        persistenceService = new FilePersistenceService(dataDirectory);
+        customer = new RegularCustomer("Alice", 30, "1234567890", "alice@test.com", "123 Street");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        persistenceService.close();
+    }
+
+    @Test
+    void checkpointFoldsJournalIntoSnapshots() throws IOException {
+        SavingsAccount savings = new SavingsAccount(customer, 1500, "ACC201", "Active");
+        Transaction deposit = new Transaction("TXN001", "ACC201", "Deposit", 1500, 1500, new Date());
+        persistenceService.appendToJournal(List.of(savings), List.of(deposit)).join();
+
+        persistenceService.checkpoint(List.of(savings), List.of(deposit));
+
+        assertEquals(0, Files.size(dataDirectory.resolve("journal.log")));
+        FilePersistenceService.LoadedData loaded = reload();
+        assertEquals(1, loaded.accounts().size());
+        assertEquals(1500, loaded.accounts().get(0).getBalance());
+        assertEquals(1, loaded.transactions().size());
+    }
+
+    @Test
+    void crashBetweenSnapshotsReplaysOnlyUncoveredRecords() throws IOException {
+        SavingsAccount opened = new SavingsAccount(customer, 1000, "ACC202", "Active");
+        Transaction opening = new Transaction("TXN001", "ACC202", "Deposit", 1000, 1000, new Date());
+        persistenceService.checkpoint(List.of(opened), List.of(opening));
+
+        SavingsAccount afterDeposit = new SavingsAccount(customer, 1200, "ACC202", "Active");
+        Transaction deposit = new Transaction("TXN002", "ACC202", "Deposit", 200, 1200, new Date());
+        persistenceService.appendToJournal(List.of(afterDeposit), List.of(deposit)).join();
+        // Accounts snapshot renamed into place, then the process died before the ledger snapshot.
+        persistenceService.saveAccounts(List.of(afterDeposit));
+
+        FilePersistenceService.LoadedData loaded = reload();
+
+        assertEquals(1200, loaded.accounts().get(0).getBalance());
+        assertEquals(List.of("TXN001", "TXN002"),
+                loaded.transactions().stream().map(Transaction::getTransactionId).toList());
+    }
+
+    @Test
+    void leftoverTemporaryFromInterruptedCheckpointIsDiscarded() throws IOException {
+        SavingsAccount savings = new SavingsAccount(customer, 800, "ACC203", "Active");
+        persistenceService.checkpoint(List.of(savings), List.of());
+        Path temporary = dataDirectory.resolve("accounts.txt.tmp");
+        Files.writeString(temporary, "ACC203|Savings|99");
+
+        List<Account> accounts = reload().accounts();
+
+        assertFalse(Files.exists(temporary));
+        assertEquals(1, accounts.size());
+        assertEquals(800, accounts.get(0).getBalance());
+    }
+
+    @Test
+    void journalSequenceContinuesAfterRestart() throws IOException {
+        SavingsAccount first = new SavingsAccount(customer, 600, "ACC204", "Active");
+        persistenceService.appendToJournal(List.of(first), List.of()).join();
+        persistenceService.close();
+
+        persistenceService = new FilePersistenceService(dataDirectory);
+        persistenceService.loadState();
+        SavingsAccount second = new SavingsAccount(customer, 700, "ACC204", "Active");
+        persistenceService.appendToJournal(List.of(second), List.of()).join();
+
+        ByteBuffer journal = ByteBuffer.wrap(Files.readAllBytes(dataDirectory.resolve("journal.log")));
+        List<String> lsns = new ArrayList<>();
+        while (journal.hasRemaining()) {
+            byte[] record = new byte[journal.getInt()];
+            journal.getInt();
+            journal.get(record);
+            String line = new String(record, StandardCharsets.UTF_8);
+            lsns.add(line.substring(0, line.indexOf('|')));
+        }
+        assertEquals(List.of("1", "2"), lsns);
+        assertEquals(700, reload().accounts().get(0).getBalance());
+    }
+
+    private FilePersistenceService.LoadedData reload() throws IOException {
+        try (FilePersistenceService restarted = new FilePersistenceService(dataDirectory)) {
+            return restarted.loadState();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package test.java.services;
+
+import com.bam.models.Transaction;
+import com.bam.models.TransactionType;
+import com.bam.services.ColumnarTransactionStore;
+import com.bam.services.TransactionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the columnar transaction store and ledgers seeded from it.
+ */
+class ColumnarTransactionStoreTest {
+
+    @AfterEach
+    void tearDown() {
+        TransactionManager.seedTransactions(List.of());
+    }
+
+    @Test
+    void flyweightsReproduceStoredTransactions() {
+        List<Transaction> source = List.of(
+                new Transaction("TXN001", "ACC901", "Deposit", 100.25, 100.25, new Date(1_000)),
+                new Transaction("TXN001", "ACC902", "Withdrawal", 20, 480, new Date(2_000)),
+                new Transaction("LEGACY-7", "ACC901", "Transfer Out", 0.05, 100.20, null),
+                new Transaction("TXN0002", "ACC902", "Deposit", 5, 485, new Date(3_000)),
+                new Transaction("TXN1234", "ACC902", "Deposit", 5, 490, new Date(4_000)));
+
+        ColumnarTransactionStore store = ColumnarTransactionStore.of(source);
+
+        assertEquals(5, store.size());
+        for (int row = 0; row < source.size(); row++) {
+            Transaction expected = source.get(row);
+            Transaction actual = store.get(row);
+            assertEquals(expected.getTransactionId(), actual.getTransactionId());
+            assertEquals(expected.getAccountNumber(), actual.getAccountNumber());
+            assertEquals(expected.getType(), actual.getType());
+            assertEquals(expected.getAmount(), actual.getAmount());
+            assertEquals(expected.getBalanceAfter(), actual.getBalanceAfter());
+            assertEquals(expected.getTimestamp(), actual.getTimestamp());
+        }
+        assertEquals(List.of("TXN001", "LEGACY-7"),
+                store.accountView("ACC901").stream().map(Transaction::getTransactionId).toList());
+        assertTrue(store.accountView("ACC999").isEmpty());
+    }
+
+    @Test
+    void seededLedgerContinuesSequenceAndSummary() {
+        ColumnarTransactionStore store = new ColumnarTransactionStore.Builder(2)
+                .add("ACC903", TransactionType.DEPOSIT, 10_000, 10_000, 1_000, 1)
+                .add("ACC903", TransactionType.WITHDRAWAL, 2_550, 7_450, 2_000, 2)
+                .build();
+        TransactionManager.seedTransactions(store);
+
+        new TransactionManager(null).addTransaction(new Transaction("ACC903", "Deposit", 5, 79.50));
+
+        List<Transaction> history = TransactionManager.getTransactions("ACC903");
+        assertEquals(List.of("TXN001", "TXN002", "TXN003"), history.stream().map(Transaction::getTransactionId).toList());
+        assertEquals(105, TransactionManager.getSummary("ACC903").totalDeposits());
+        assertEquals(25.50, TransactionManager.getSummary("ACC903").totalWithdrawals());
+        assertEquals("TXN003", TransactionManager.getLastTransactions("ACC903", 1).get(0).getTransactionId());
+    }
+}
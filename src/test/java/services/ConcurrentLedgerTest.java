@@ -0,0 +1,109 @@
+package test.java.services;
+
+import com.bam.interfaces.TransactionHistoryLoader;
+import com.bam.models.Transaction;
+import com.bam.services.TransactionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the per-account ledgers under concurrent appends and reads.
+ */
+class ConcurrentLedgerTest {
+    private final TransactionManager transactionManager = new TransactionManager(null);
+
+    @AfterEach
+    void tearDown() {
+        TransactionManager.seedTransactions(List.of());
+    }
+
+    @Test
+    void concurrentAppendsKeepEveryAccountSequenceGapless() throws InterruptedException {
+        int threads = 8;
+        int perThread = 500;
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            String accountNumber = t % 2 == 0 ? "ACC601" : "ACC602";
+            new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    transactionManager.addTransaction(new Transaction(accountNumber, "Deposit", 1, 1));
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+
+        for (String accountNumber : List.of("ACC601", "ACC602")) {
+            List<String> ids = TransactionManager.getTransactions(accountNumber).stream()
+                    .map(Transaction::getTransactionId).toList();
+            assertEquals(IntStream.rangeClosed(1, threads / 2 * perThread).mapToObj(i -> String.format("TXN%03d", i)).toList(), ids);
+        }
+    }
+
+    @Test
+    void snapshotsAreUnaffectedByLaterAppends() {
+        transactionManager.addTransaction(new Transaction("ACC603", "Deposit", 10, 10));
+        List<Transaction> snapshot = TransactionManager.getTransactions("ACC603");
+
+        transactionManager.addTransaction(new Transaction("ACC603", "Deposit", 20, 30));
+
+        assertEquals(1, snapshot.size());
+        assertEquals(2, TransactionManager.getTransactions("ACC603").size());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(snapshot.get(0)));
+    }
+
+    @Test
+    void recordedTransactionsAreSharedNotCopied() {
+        Transaction runtime = new Transaction("ACC605", "Deposit", 10, 10);
+        Transaction recorded = transactionManager.addTransaction(runtime);
+        recorded.getTimestamp().setTime(0);
+
+        assertNull(runtime.getTransactionId());
+        assertEquals("TXN001", recorded.getTransactionId());
+        assertNotEquals(0, recorded.getTimestampMillis());
+        assertSame(recorded, TransactionManager.getTransactions("ACC605").get(0));
+        assertSame(recorded, TransactionManager.allTransactions().stream()
+                .filter(txn -> txn.getAccountNumber().equals("ACC605")).findFirst().orElseThrow());
+    }
+
+    @Test
+    void transactionsAddedDuringACheckpointStayPending() throws Exception {
+        TransactionManager.seedLazily(new EmptyLoader(), List.of(), Map.of(), 4);
+        transactionManager.addTransaction(new Transaction("ACC604", "Deposit", 10, 10));
+
+        List<Transaction> first = new ArrayList<>();
+        TransactionManager.checkpoint(transactions -> {
+            first.addAll(transactions);
+            transactionManager.addTransaction(new Transaction("ACC604", "Deposit", 20, 30));
+        });
+        List<Transaction> second = new ArrayList<>();
+        TransactionManager.checkpoint(second::addAll);
+
+        assertEquals(List.of("TXN001"), first.stream().map(Transaction::getTransactionId).toList());
+        assertEquals(List.of("TXN002"), second.stream().map(Transaction::getTransactionId).toList());
+    }
+
+    /**
+     * Loader for a ledger that has not been written yet.
+     */
+    private static final class EmptyLoader implements TransactionHistoryLoader {
+        @Override
+        public List<Transaction> loadHistory(String accountNumber) {
+            return List.of();
+        }
+
+        @Override
+        public Set<String> accountsWithHistory() {
+            return Set.of();
+        }
+    }
+}
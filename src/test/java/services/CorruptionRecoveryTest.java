@@ -0,0 +1,136 @@
+package test.java.services;
+
+import com.bam.models.RegularCustomer;
+import com.bam.models.SavingsAccount;
+import com.bam.models.Transaction;
+import com.bam.services.FilePersistenceService;
+import com.bam.services.RecordChecksum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that checksummed records let recovery drop torn or damaged data instead of failing.
+ */
+class CorruptionRecoveryTest {
+    @TempDir
+    Path dataDirectory;
+
+    private FilePersistenceService persistenceService;
+    private RegularCustomer customer;
+
+    @BeforeEach
+    void setUp() {
+        persistenceService = new FilePersistenceService(dataDirectory);
+        customer = new RegularCustomer("Alice", 30, "1234567890", "alice@test.com", "123 Street");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        persistenceService.close();
+    }
+
+    @Test
+    void tornJournalTailIsTruncatedAndEarlierRecordsSurvive() throws IOException {
+        persistenceService.appendToJournal(List.of(new SavingsAccount(customer, 800, "ACC301", "Active")), List.of()).join();
+        Path journal = dataDirectory.resolve("journal.log");
+        long intactSize = Files.size(journal);
+        persistenceService.appendToJournal(List.of(new SavingsAccount(customer, 900, "ACC301", "Active")), List.of()).join();
+        persistenceService.close();
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(journal) - 5);
+        }
+
+        FilePersistenceService.LoadedData loaded = reload();
+
+        assertEquals(1, loaded.accounts().size());
+        assertEquals(800, loaded.accounts().get(0).getBalance());
+        assertEquals(intactSize, Files.size(journal));
+    }
+
+    @Test
+    void journalRecordWithBadChecksumEndsReplay() throws IOException {
+        persistenceService.appendToJournal(List.of(new SavingsAccount(customer, 800, "ACC302", "Active")), List.of()).join();
+        long firstRecordEnd = Files.size(dataDirectory.resolve("journal.log"));
+        persistenceService.appendToJournal(List.of(new SavingsAccount(customer, 900, "ACC302", "Active")), List.of()).join();
+        persistenceService.close();
+        flipByte(dataDirectory.resolve("journal.log"), firstRecordEnd + 12);
+
+        assertEquals(800, reload().accounts().get(0).getBalance());
+    }
+
+    @Test
+    void corruptLedgerRecordIsSkipped() throws IOException {
+        List<Transaction> transactions = List.of(
+                new Transaction("TXN001", "ACC303", "Deposit", 100, 100, new Date()),
+                new Transaction("TXN002", "ACC303", "Deposit", 50, 150, new Date()),
+                new Transaction("TXN003", "ACC303", "Withdrawal", 20, 130, new Date()));
+        persistenceService.saveTransactions(transactions);
+        // Header is 40 bytes, the name table is empty and records are 45; land inside the second record's payload.
+        flipByte(dataDirectory.resolve("transactions.bin"), 40 + 45 + 20);
+
+        List<Transaction> loaded = reload().transactions();
+
+        assertEquals(List.of("TXN001", "TXN003"), loaded.stream().map(Transaction::getTransactionId).toList());
+    }
+
+    @Test
+    void ledgerRecordWithUnknownTypeCodeIsSkipped() throws IOException {
+        List<Transaction> transactions = List.of(
+                new Transaction("TXN001", "ACC306", "Deposit", 100, 100, new Date()),
+                new Transaction("TXN002", "ACC306", "Deposit", 50, 150, new Date()),
+                new Transaction("TXN003", "ACC306", "Withdrawal", 20, 130, new Date()));
+        persistenceService.saveTransactions(transactions);
+        // Rewrite the second record's type code and re-seal its frame, so only the code is wrong.
+        Path ledger = dataDirectory.resolve("transactions.bin");
+        byte[] bytes = Files.readAllBytes(ledger);
+        int record = 40 + 45;
+        bytes[record + 8 + 12] = 99;
+        ByteBuffer.wrap(bytes).putInt(record + 4, RecordChecksum.compute(bytes, record + 8, 37));
+        Files.write(ledger, bytes);
+
+        List<Transaction> loaded = reload().transactions();
+
+        assertEquals(List.of("TXN001", "TXN003"), loaded.stream().map(Transaction::getTransactionId).toList());
+    }
+
+    @Test
+    void damagedAccountSnapshotRowIsSkipped() throws IOException {
+        persistenceService.saveAccounts(List.of(
+                new SavingsAccount(customer, 1000, "ACC304", "Active"),
+                new SavingsAccount(customer, 2000, "ACC305", "Active")));
+        Path accounts = dataDirectory.resolve("accounts.txt");
+        String damaged = Files.readString(accounts, StandardCharsets.UTF_8).replace("|2000.0|", "|9000.0|");
+        Files.writeString(accounts, damaged, StandardCharsets.UTF_8);
+
+        FilePersistenceService.LoadedData loaded = reload();
+
+        assertEquals(1, loaded.accounts().size());
+        assertEquals("ACC304", loaded.accounts().get(0).getAccountNumber());
+    }
+
+    private static void flipByte(Path file, long position) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[(int) position] ^= 0x5A;
+        Files.write(file, bytes);
+    }
+
+    private FilePersistenceService.LoadedData reload() throws IOException {
+        try (FilePersistenceService restarted = new FilePersistenceService(dataDirectory)) {
+            return restarted.loadState();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package test.java.services;
+
+import com.bam.models.Account;
+import com.bam.models.CheckingAccount;
+import com.bam.models.RegularCustomer;
+import com.bam.models.SavingsAccount;
+import com.bam.models.Transaction;
+import com.bam.services.FilePersistenceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilePersistenceJournalTest {
+    @TempDir
+    Path dataDirectory;
+
+    private FilePersistenceService persistenceService;
+    private RegularCustomer customer;
+
+    @BeforeEach
+    void setUp() {
+        persistenceService = new FilePersistenceService(dataDirectory);
+        customer = new RegularCustomer("Alice", 30, "1234567890", "alice@test.com", "123 Street");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        persistenceService.close();
+    }
+
+    @Test
+    void journalRecordsAreReplayedOnTopOfCheckpoint() throws IOException {
+        SavingsAccount savings = new SavingsAccount(customer, 1000, "ACC101", "Active");
+        Transaction opening = new Transaction("TXN001", "ACC101", "Deposit", 1000, 1000, new Date());
+        persistenceService.saveAccounts(List.of(savings));
+        persistenceService.saveTransactions(List.of(opening));
+
+        SavingsAccount afterDeposit = new SavingsAccount(customer, 1250, "ACC101", "Active");
+        Transaction deposit = new Transaction("TXN002", "ACC101", "Deposit", 250, 1250, new Date());
+        persistenceService.appendToJournal(List.of(afterDeposit), List.of(deposit)).join();
+
+        FilePersistenceService.LoadedData loaded = new FilePersistenceService(dataDirectory).loadState();
+
+        assertEquals(1, loaded.accounts().size());
+        assertEquals(1250, loaded.accounts().get(0).getBalance());
+        assertEquals(2, loaded.transactions().size());
+        assertEquals("TXN002", loaded.transactions().get(1).getTransactionId());
+    }
+
+    @Test
+    void periodicJobMarkersAreJournaled() throws IOException {
+        SavingsAccount savings = new SavingsAccount(customer, 1000, "ACC103", "Active");
+        savings.setInterestAccruedThrough(LocalDate.of(2026, 3, 31));
+        CheckingAccount checking = new CheckingAccount(customer, 300, "ACC104", "Active");
+        checking.setFeesChargedThrough(YearMonth.of(2026, 2));
+        persistenceService.appendToJournal(List.of(savings, checking), List.of()).join();
+
+        List<Account> loaded = new FilePersistenceService(dataDirectory).loadState().accounts();
+
+        assertEquals(LocalDate.of(2026, 3, 31), ((SavingsAccount) loaded.get(0)).getInterestAccruedThrough());
+        assertEquals(YearMonth.of(2026, 2), ((CheckingAccount) loaded.get(1)).getFeesChargedThrough());
+    }
+
+    @Test
+    void newAccountsInJournalAreRestored() throws IOException {
+        CheckingAccount checking = new CheckingAccount(customer, 300, "ACC102", "Active");
+        persistenceService.appendToJournal(List.of(checking), List.of()).join();
+
+        List<Account> accounts = persistenceService.loadState().accounts();
+
+        assertEquals(1, accounts.size());
+        assertEquals("ACC102", accounts.get(0).getAccountNumber());
+        assertEquals("Checking", accounts.get(0).getAccountType());
+    }
+
+    @Test
+    void journalEntriesAlreadyInCheckpointAreNotDuplicated() throws IOException {
+        Transaction deposit = new Transaction("TXN001", "ACC103", "Deposit", 50, 550, new Date());
+        persistenceService.saveTransactions(List.of(deposit));
+        persistenceService.appendToJournal(List.of(), List.of(deposit)).join();
+
+        assertEquals(1, persistenceService.loadState().transactions().size());
+    }
+
+    @Test
+    void malformedTransactionIdDoesNotAbortRecovery() throws IOException {
+        Transaction numbered = new Transaction("TXN001", "ACC105", "Deposit", 50, 550, new Date());
+        Transaction malformed = new Transaction("TXN-X7", "ACC105", "Deposit", 25, 575, new Date());
+        persistenceService.saveTransactions(List.of(numbered));
+        persistenceService.appendToJournal(List.of(), List.of(numbered, malformed)).join();
+
+        List<Transaction> transactions = persistenceService.loadState().transactions();
+
+        assertEquals(2, transactions.size());
+        assertEquals("TXN-X7", transactions.get(1).getTransactionId());
+    }
+
+    @Test
+    void checkpointBecomesDueAndResetClearsJournal() throws IOException {
+        SavingsAccount savings = new SavingsAccount(customer, 1000, "ACC104", "Active");
+        for (int i = 0; i < FilePersistenceService.CHECKPOINT_INTERVAL; i++) {
+            assertFalse(persistenceService.isCheckpointDue());
+            persistenceService.appendToJournal(List.of(savings), List.of()).join();
+        }
+        assertTrue(persistenceService.isCheckpointDue());
+
+        persistenceService.resetJournal();
+
+        assertFalse(persistenceService.isCheckpointDue());
+        assertTrue(persistenceService.loadState().accounts().isEmpty());
+    }
+}
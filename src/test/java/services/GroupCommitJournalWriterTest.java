@@ -0,0 +1,115 @@
+package test.java.services;
+
+import com.bam.services.GroupCommitJournalWriter;
+import com.bam.services.JournalSyncPolicy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the background group-commit journal writer under each sync policy.
+ */
+class GroupCommitJournalWriterTest {
+    @TempDir
+    Path dataDirectory;
+
+    @Test
+    @DisplayName("Concurrent appends are all written and share forces")
+    void concurrentAppendsAreGrouped() throws Exception {
+        Path journal = dataDirectory.resolve("journal.txt");
+        int threadCount = 16;
+        int appendsPerThread = 50;
+        try (GroupCommitJournalWriter writer = new GroupCommitJournalWriter(journal, JournalSyncPolicy.perCommit())) {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < threadCount; t++) {
+                final int threadId = t;
+                Thread thread = new Thread(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < appendsPerThread; i++) {
+                            byte[] record = ("T|" + threadId + "|" + i + "\n").getBytes(StandardCharsets.UTF_8);
+                            writer.append(record, 1).join();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertEquals(threadCount * appendsPerThread, Files.readAllLines(journal).size());
+            assertTrue(writer.getSyncCount() <= threadCount * appendsPerThread);
+        }
+    }
+
+    @Test
+    @DisplayName("Record-count policy completes stragglers below the threshold")
+    void recordPolicyCompletesStragglers() throws Exception {
+        Path journal = dataDirectory.resolve("journal.txt");
+        try (GroupCommitJournalWriter writer = new GroupCommitJournalWriter(journal, JournalSyncPolicy.everyRecords(1000))) {
+            CompletableFuture<Void> durable = writer.append("T|1\n".getBytes(StandardCharsets.UTF_8), 1);
+
+            durable.get(5, TimeUnit.SECONDS);
+
+            assertEquals(1, writer.getSyncCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Interval policy completes appends within the interval")
+    void intervalPolicyCompletesAppends() throws Exception {
+        Path journal = dataDirectory.resolve("journal.txt");
+        try (GroupCommitJournalWriter writer = new GroupCommitJournalWriter(journal, JournalSyncPolicy.everyMillis(20))) {
+            List<CompletableFuture<Void>> pending = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                pending.add(writer.append(("T|" + i + "\n").getBytes(StandardCharsets.UTF_8), 1));
+            }
+
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+
+            assertEquals(100, Files.readAllLines(journal).size());
+        }
+    }
+
+    @Test
+    @DisplayName("Truncate empties the journal after earlier appends and keeps later ones")
+    void truncateIsOrderedWithAppends() throws Exception {
+        Path journal = dataDirectory.resolve("journal.txt");
+        try (GroupCommitJournalWriter writer = new GroupCommitJournalWriter(journal, JournalSyncPolicy.perCommit())) {
+            writer.append("T|before\n".getBytes(StandardCharsets.UTF_8), 1);
+            writer.truncate();
+            writer.append("T|after\n".getBytes(StandardCharsets.UTF_8), 1).join();
+
+            assertEquals(List.of("T|after"), Files.readAllLines(journal));
+        }
+    }
+
+    @Test
+    @DisplayName("Appends after close fail instead of hanging")
+    void appendAfterCloseFails() throws IOException {
+        GroupCommitJournalWriter writer = new GroupCommitJournalWriter(dataDirectory.resolve("journal.txt"), JournalSyncPolicy.perCommit());
+        writer.close();
+
+        CompletableFuture<Void> durable = writer.append("T|late\n".getBytes(StandardCharsets.UTF_8), 1);
+
+        assertTrue(durable.isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,97 @@
+package test.java.services;
+
+import com.bam.models.Account;
+import com.bam.models.CheckingAccount;
+import com.bam.models.RegularCustomer;
+import com.bam.models.SavingsAccount;
+import com.bam.models.Transaction;
+import com.bam.models.TransactionType;
+import com.bam.services.InterestAccrualJob;
+import com.bam.services.TransactionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the parallel end-of-day interest accrual job.
+ */
+class InterestAccrualJobTest {
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2026, 3, 31);
+
+    private final RegularCustomer customer = new RegularCustomer("Alice", 30, "1234567890", "alice@test.com", "123 Street");
+    private final TransactionManager transactionManager = new TransactionManager(null);
+    private final ForkJoinPool pool = new ForkJoinPool(1);
+    private final List<Collection<Transaction>> commits = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+        TransactionManager.seedTransactions(List.of());
+    }
+
+    @Test
+    void savingsAccountsAreCreditedOnceWithBatchedCommits() {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            accounts.add(new SavingsAccount(customer, 10_000, String.format("ACC9%02d", i), "Active"));
+        }
+        accounts.add(new SavingsAccount(customer, 1, "ACC906", "Active"));
+        accounts.add(new CheckingAccount(customer, 10_000, "ACC907", "Active"));
+        long before = System.currentTimeMillis();
+        InterestAccrualJob job = new InterestAccrualJob(transactionManager, (credited, txns) -> commits.add(txns), pool, 2);
+
+        InterestAccrualJob.Report report = job.run(accounts, BUSINESS_DATE);
+
+        assertTrue(report.complete());
+        assertEquals(5, report.accrued());
+        assertEquals(1, report.withoutInterest());
+        assertEquals(5 * 96, report.interestCents());
+        assertEquals(10_000.96, accounts.get(0).getBalance());
+        assertEquals(10_000, accounts.get(6).getBalance());
+        assertEquals(4, commits.size());
+        Transaction interest = TransactionManager.getTransactions("ACC901").get(0);
+        assertEquals(TransactionType.INTEREST, interest.getType());
+        assertEquals("TXN001", interest.getTransactionId());
+        assertTrue(interest.getTimestampMillis() >= before && interest.getTimestampMillis() <= System.currentTimeMillis());
+        assertEquals(BUSINESS_DATE, ((SavingsAccount) accounts.get(0)).getInterestAccruedThrough());
+
+        InterestAccrualJob.Report rerun = job.run(accounts, BUSINESS_DATE);
+
+        assertEquals(0, rerun.accrued());
+        assertEquals(5, rerun.alreadyAccrued());
+        assertEquals(10_000.96, accounts.get(0).getBalance());
+        assertEquals(0, job.run(accounts, BUSINESS_DATE.minusDays(1)).accrued());
+        assertEquals(5, job.run(accounts, BUSINESS_DATE.plusDays(1)).accrued());
+    }
+
+    @Test
+    void cancelledRunResumesWhereItStopped() {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            accounts.add(new SavingsAccount(customer, 10_000, String.format("ACC91%d", i), "Active"));
+        }
+        InterestAccrualJob[] job = new InterestAccrualJob[1];
+        job[0] = new InterestAccrualJob(transactionManager, (credited, txns) -> {
+            commits.add(txns);
+            job[0].cancel();
+        }, pool, 2);
+
+        InterestAccrualJob.Report first = job[0].run(accounts, BUSINESS_DATE);
+        InterestAccrualJob.Report second = new InterestAccrualJob(transactionManager, (credited, txns) -> commits.add(txns), pool, 2)
+                .run(accounts, BUSINESS_DATE);
+
+        assertFalse(first.complete());
+        assertEquals(2, first.accrued());
+        assertTrue(second.complete());
+        assertEquals(4, second.accrued());
+        assertEquals(2, second.alreadyAccrued());
+        accounts.forEach(account -> assertEquals(10_000.96, account.getBalance()));
+    }
+}
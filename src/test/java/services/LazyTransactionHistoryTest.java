@@ -0,0 +1,126 @@
+package test.java.services;
+
+import com.bam.interfaces.TransactionHistoryLoader;
+import com.bam.models.RegularCustomer;
+import com.bam.models.SavingsAccount;
+import com.bam.models.Transaction;
+import com.bam.services.FilePersistenceService;
+import com.bam.services.LedgerIndex;
+import com.bam.services.TransactionLedgerFile;
+import com.bam.services.TransactionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the ledger index and on-demand paging of account histories.
+ */
+class LazyTransactionHistoryTest {
+    @TempDir
+    Path dataDirectory;
+
+    @AfterEach
+    void tearDown() {
+        TransactionManager.seedTransactions(List.of());
+    }
+
+    @Test
+    void indexIsRebuiltWhenSidecarIsMissing() throws IOException {
+        TransactionLedgerFile ledger = new TransactionLedgerFile(dataDirectory.resolve("transactions.bin"));
+        LedgerIndex written = ledger.write(List.of(
+                transaction("TXN001", "ACC101"), transaction("TXN002", "ACC101"),
+                transaction("TXN001", "ACC102"), transaction("TXN003", "ACC101")), 0);
+        Files.delete(dataDirectory.resolve("transactions.bin.idx"));
+
+        LedgerIndex rebuilt = ledger.readIndex();
+
+        assertEquals(written.accountNumbers(), rebuilt.accountNumbers());
+        assertEquals(3, rebuilt.transactionCount("ACC101"));
+        assertEquals(Map.of("ACC101", 3, "ACC102", 1), rebuilt.highestSequences());
+        assertEquals(List.of("TXN001", "TXN002", "TXN003"),
+                ledger.readAccount(rebuilt, "ACC101").stream().map(Transaction::getTransactionId).toList());
+        assertTrue(Files.exists(dataDirectory.resolve("transactions.bin.idx")));
+    }
+
+    @Test
+    void lazyLoadReturnsOnlyJournalTransactions() throws IOException {
+        RegularCustomer customer = new RegularCustomer("Alice", 30, "1234567890", "alice@test.com", "123 Street");
+        SavingsAccount savings = new SavingsAccount(customer, 600, "ACC103", "Active");
+        try (FilePersistenceService persistence = new FilePersistenceService(dataDirectory)) {
+            persistence.checkpoint(List.of(savings), List.of(transaction("TXN001", "ACC103"), transaction("TXN002", "ACC103")));
+            persistence.appendToJournal(List.of(savings), List.of(transaction("TXN003", "ACC103"))).join();
+        }
+
+        try (FilePersistenceService restarted = new FilePersistenceService(dataDirectory)) {
+            FilePersistenceService.LoadedData loaded = restarted.loadStateLazily();
+
+            assertEquals(1, loaded.accounts().size());
+            assertEquals(List.of("TXN003"), loaded.transactions().stream().map(Transaction::getTransactionId).toList());
+            assertEquals(2, restarted.loadHistory("ACC103").size());
+            assertEquals(2, restarted.persistedSequences().get("ACC103"));
+        }
+    }
+
+    @Test
+    void historiesArePagedInOnceAndEvictedBeyondCapacity() {
+        CountingLoader loader = new CountingLoader();
+        TransactionManager.seedLazily(loader, List.of(), Map.of("ACC104", 1, "ACC105", 1, "ACC106", 1), 2);
+
+        TransactionManager.getTransactions("ACC104");
+        TransactionManager.getTransactions("ACC104");
+        TransactionManager.getTransactions("ACC105");
+        TransactionManager.getTransactions("ACC106");
+        TransactionManager.getTransactions("ACC104");
+
+        assertEquals(List.of("ACC104", "ACC105", "ACC106", "ACC104"), loader.loads);
+    }
+
+    @Test
+    void newTransactionsContinueSequenceAndSurviveEviction() throws IOException {
+        CountingLoader loader = new CountingLoader();
+        TransactionManager.seedLazily(loader, List.of(), Map.of("ACC104", 1, "ACC105", 1), 1);
+        TransactionManager manager = new TransactionManager(null);
+        Transaction deposit = manager.addTransaction(new Transaction("ACC104", "Deposit", 10, 110));
+        TransactionManager.getTransactions("ACC105");
+
+        assertEquals("TXN002", deposit.getTransactionId());
+        assertEquals(List.of("TXN001", "TXN002"),
+                TransactionManager.getTransactions("ACC104").stream().map(Transaction::getTransactionId).toList());
+        List<Transaction> checkpointed = new ArrayList<>();
+        TransactionManager.checkpoint(checkpointed::addAll);
+        assertEquals(4, checkpointed.size());
+    }
+
+    private static Transaction transaction(String id, String accountNumber) {
+        return new Transaction(id, accountNumber, "Deposit", 100, 100, new Date());
+    }
+
+    /**
+     * Serves one persisted transaction per account and records every load.
+     */
+    private static final class CountingLoader implements TransactionHistoryLoader {
+        private final List<String> loads = new ArrayList<>();
+
+        @Override
+        public List<Transaction> loadHistory(String accountNumber) {
+            loads.add(accountNumber);
+            return List.of(transaction("TXN001", accountNumber));
+        }
+
+        @Override
+        public Set<String> accountsWithHistory() {
+            return Set.of("ACC104", "ACC105", "ACC106");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package test.java.services;
+
+import com.bam.models.Account;
+import com.bam.models.CheckingAccount;
+import com.bam.models.PremiumCustomer;
+import com.bam.models.RegularCustomer;
+import com.bam.models.SavingsAccount;
+import com.bam.models.Transaction;
+import com.bam.models.TransactionType;
+import com.bam.services.MonthlyFeeJob;
+import com.bam.services.TransactionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the month-end fee run over checking accounts.
+ */
+class MonthlyFeeJobTest {
+    private static final YearMonth MONTH = YearMonth.of(2026, 2);
+
+    private final RegularCustomer regular = new RegularCustomer("Alice", 30, "1234567890", "alice@test.com", "123 Street");
+    private final PremiumCustomer premium = new PremiumCustomer("Bob", 40, "0987654321", "bob@test.com", "456 Avenue");
+    private final TransactionManager transactionManager = new TransactionManager(null);
+    private final ForkJoinPool pool = new ForkJoinPool(1);
+    private final List<Collection<Transaction>> commits = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+        TransactionManager.seedTransactions(List.of());
+    }
+
+    @Test
+    void feesAreChargedOncePerAccountAndWaivedForPremiumCustomers() {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            accounts.add(new CheckingAccount(regular, 100, "ACC95" + i, "Active"));
+        }
+        accounts.add(new CheckingAccount(premium, 100, "ACC955", "Active"));
+        accounts.add(new CheckingAccount(premium, 100, "ACC956", "Active"));
+        accounts.add(new SavingsAccount(regular, 1_000, "ACC957", "Active"));
+        MonthlyFeeJob job = new MonthlyFeeJob(transactionManager, (charged, txns) -> commits.add(txns), pool, 2);
+
+        MonthlyFeeJob.Report report = job.run(accounts, MONTH);
+
+        assertTrue(report.complete());
+        assertEquals(4, report.charged());
+        assertEquals(2, report.waived());
+        assertEquals(40, report.totalFees());
+        assertEquals(90, accounts.get(0).getBalance());
+        assertEquals(100, accounts.get(4).getBalance());
+        assertEquals(1_000, accounts.get(6).getBalance());
+        Transaction fee = TransactionManager.getTransactions("ACC951").get(0);
+        assertEquals(TransactionType.FEE, fee.getType());
+        assertEquals(10, fee.getAmount());
+        assertEquals(1_090, fee.getBalanceAfter());
+        assertEquals(4, commits.stream().mapToInt(Collection::size).sum());
+
+        MonthlyFeeJob.Report rerun = job.run(accounts, MONTH);
+
+        assertEquals(0, rerun.charged());
+        assertEquals(4, rerun.alreadyCharged());
+        assertEquals(90, accounts.get(0).getBalance());
+        assertEquals(MONTH, ((CheckingAccount) accounts.get(0)).getFeesChargedThrough());
+        assertEquals(4, job.run(accounts, MONTH.plusMonths(1)).charged());
+    }
+
+    @Test
+    void accountsPushedPastTheOverdraftLimitAreReported() {
+        CheckingAccount account = new CheckingAccount(regular, -CheckingAccount.OVERDRAFT_LIMIT, "ACC958", "Active");
+        CheckingAccount withinLimit = new CheckingAccount(regular, 0, "ACC959", "Active");
+
+        MonthlyFeeJob.Report report = new MonthlyFeeJob(transactionManager, (charged, txns) -> commits.add(txns), pool, 2)
+                .run(List.of(account, withinLimit), MONTH);
+
+        assertEquals(-CheckingAccount.OVERDRAFT_LIMIT - CheckingAccount.MONTHLY_FEE, account.getBalance());
+        assertEquals(1, TransactionManager.getTransactions("ACC958").size());
+        assertEquals(List.of("ACC958"), report.pastLimit());
+        assertTrue(report.summary().endsWith("past overdraft limit: ACC958"));
+    }
+}
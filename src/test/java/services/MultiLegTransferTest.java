@@ -0,0 +1,157 @@
+package test.java.services;
+
+import com.bam.models.Account;
+import com.bam.models.CheckingAccount;
+import com.bam.models.RegularCustomer;
+import com.bam.models.SavingsAccount;
+import com.bam.models.Transaction;
+import com.bam.models.TransactionType;
+import com.bam.models.TransferLeg;
+import com.bam.models.TransferResult;
+import com.bam.services.TransactionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests all-or-nothing transfers with several debit and credit legs.
+ */
+class MultiLegTransferTest {
+    private final RegularCustomer customer = new RegularCustomer("Alice", 30, "1234567890", "alice@test.com", "123 Street");
+    private final TransactionManager transactionManager = new TransactionManager(null);
+    private final Map<String, Account> accounts = new HashMap<>();
+
+    @AfterEach
+    void tearDown() {
+        TransactionManager.seedTransactions(List.of());
+    }
+
+    private <A extends Account> A add(A account) {
+        accounts.put(account.getAccountNumber(), account);
+        return account;
+    }
+
+    @Test
+    void payoutToFiftyAccountsIsOneTransfer() {
+        Account source = add(new CheckingAccount(customer, 5_000, "ACC700", "Active"));
+        List<TransferLeg> credits = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            add(new SavingsAccount(customer, 500, "ACC7" + String.format("%02d", i), "Active"));
+            credits.add(new TransferLeg("ACC7" + String.format("%02d", i), 100));
+        }
+
+        TransferResult result = transactionManager.transfer(List.of(new TransferLeg("ACC700", 5_000)), credits, accounts::get);
+
+        assertTrue(result.success());
+        assertEquals(51, result.transactions().size());
+        assertEquals(0, source.getBalance());
+        assertEquals(600, accounts.get("ACC750").getBalance());
+        Transaction debit = result.transactions().get(0);
+        assertEquals(TransactionType.TRANSFER_OUT, debit.getType());
+        assertEquals(CheckingAccount.OVERDRAFT_LIMIT, debit.getBalanceAfter());
+        assertEquals(TransactionType.TRANSFER_IN, TransactionManager.getTransactions("ACC701").get(0).getType());
+    }
+
+    @Test
+    void aDeclinedLegLeavesEveryBalanceUnchanged() {
+        Account first = add(new SavingsAccount(customer, 1_000, "ACC720", "Active"));
+        Account second = add(new SavingsAccount(customer, 600, "ACC721", "Active"));
+        Account target = add(new CheckingAccount(customer, 0, "ACC722", "Active"));
+
+        TransferResult result = transactionManager.transfer(
+                List.of(new TransferLeg("ACC720", 200), new TransferLeg("ACC721", 200)),
+                List.of(new TransferLeg("ACC722", 400)), accounts::get);
+
+        assertFalse(result.success());
+        assertTrue(result.error().startsWith("ACC721"));
+        assertEquals(1_000, first.getBalance());
+        assertEquals(600, second.getBalance());
+        assertEquals(0, target.getBalance());
+        assertTrue(TransactionManager.getTransactions("ACC720").isEmpty());
+    }
+
+    @Test
+    void withdrawalsWaitWhileTheBalanceIsHeld() throws Exception {
+        Account account = add(new SavingsAccount(customer, 1_000, "ACC725", "Active"));
+        long stamp = account.holdBalance();
+        Thread withdrawal = new Thread(() -> account.tryWithdraw(300));
+        try {
+            withdrawal.start();
+            while (withdrawal.getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+            assertEquals(1_000, account.getBalance());
+            account.adjustHeldBalance(stamp, -20_000);
+        } finally {
+            account.releaseBalance(stamp);
+        }
+        withdrawal.join();
+
+        // The withdrawal re-checked against the balance the holder left, and still fits.
+        assertEquals(500, account.getBalance());
+        assertThrows(IllegalStateException.class, () -> account.adjustHeldBalance(stamp, 100));
+    }
+
+    @Test
+    void malformedTransfersAreRejected() {
+        add(new SavingsAccount(customer, 1_000, "ACC730", "Active"));
+        add(new SavingsAccount(customer, 1_000, "ACC731", "Active"));
+        List<TransferLeg> debit = List.of(new TransferLeg("ACC730", 100));
+
+        assertFalse(transactionManager.transfer(debit, List.of(new TransferLeg("ACC731", 90)), accounts::get).success());
+        assertFalse(transactionManager.transfer(debit, List.of(new TransferLeg("ACC799", 100)), accounts::get).success());
+        assertFalse(transactionManager.transfer(debit, List.of(new TransferLeg("ACC730", 100)), accounts::get).success());
+        assertFalse(transactionManager.transfer(debit, List.of(), accounts::get).success());
+        assertFalse(transactionManager.transfer(List.of(new TransferLeg("ACC730", 0)),
+                List.of(new TransferLeg("ACC731", 0)), accounts::get).success());
+        assertEquals(1_000, accounts.get("ACC730").getBalance());
+    }
+
+    @Test
+    void opposingConcurrentTransfersConserveMoney() throws Exception {
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            numbers.add(add(new CheckingAccount(customer, 100, "ACC74" + i, "Active")).getAccountNumber());
+        }
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 500; i++) {
+                        String from = numbers.get((offset + i) % 4);
+                        String first = numbers.get((offset + i + 1) % 4);
+                        String second = numbers.get((offset + i + 2) % 4);
+                        transactionManager.transfer(List.of(new TransferLeg(from, 30)),
+                                List.of(new TransferLeg(first, 10), new TransferLeg(second, 20)), accounts::get);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        double total = accounts.values().stream().mapToDouble(Account::getBalance).sum();
+        assertEquals(400, total, 1e-9);
+        accounts.values().forEach(account -> assertTrue(account.getBalance() >= -CheckingAccount.OVERDRAFT_LIMIT));
+    }
+}
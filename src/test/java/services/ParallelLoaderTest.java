@@ -0,0 +1,97 @@
+package test.java.services;
+
+import com.bam.models.Transaction;
+import com.bam.services.ParallelLoader;
+import com.bam.services.TransactionLedgerFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests chunked parallel parsing with chunks small enough to split every file many times.
+ */
+class ParallelLoaderTest {
+    @TempDir
+    Path dataDirectory;
+
+    private final ParallelLoader loader = new ParallelLoader(new ForkJoinPool(4), 64);
+
+    @Test
+    void linesSplitAcrossChunksAreParsedWholeAndInOrder() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            text.append("row-").append(i).append(i % 7 == 0 ? "\r\n" : "\n");
+            if (i % 100 == 0) {
+                text.append('\n');
+            }
+        }
+        Path file = dataDirectory.resolve("rows.txt");
+        Files.writeString(file, text, StandardCharsets.UTF_8);
+
+        List<String> rows = loader.parseLines(file, line -> line);
+
+        assertEquals(IntStream.range(0, 5_000).mapToObj(i -> "row-" + i).toList(), rows);
+    }
+
+    @Test
+    void rowsMappedToNullAreDropped() throws IOException {
+        Path file = dataDirectory.resolve("numbers.txt");
+        Files.write(file, IntStream.range(0, 1_000).mapToObj(Integer::toString).toList(), StandardCharsets.UTF_8);
+
+        List<Integer> odd = loader.parseLines(file, line -> {
+            int value = Integer.parseInt(line);
+            return value % 2 == 1 ? value : null;
+        });
+
+        assertEquals(500, odd.size());
+        assertEquals(999, odd.get(499));
+    }
+
+    @Test
+    void groupingKeepsEachAccountsOrder() {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 1; i <= 100_000; i++) {
+            transactions.add(new Transaction(String.format("TXN%03d", i), "ACC" + (100 + i % 13), "Deposit", i, i, new Date()));
+        }
+
+        Map<String, List<Transaction>> byAccount = loader.groupBy(transactions, Transaction::getAccountNumber);
+
+        assertEquals(13, byAccount.size());
+        assertEquals(100_000, byAccount.values().stream().mapToInt(List::size).sum());
+        byAccount.values().forEach(list -> {
+            for (int i = 1; i < list.size(); i++) {
+                assertTrue(list.get(i - 1).getAmount() < list.get(i).getAmount());
+            }
+        });
+    }
+
+    @Test
+    void ledgerDecodedInChunksMatchesWrittenOrder() throws IOException {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 1; i <= 3_000; i++) {
+            transactions.add(new Transaction(String.format("TXN%03d", i), "ACC" + (100 + i % 5), "Withdrawal", 1, i, new Date(i)));
+        }
+        TransactionLedgerFile ledger = new TransactionLedgerFile(dataDirectory.resolve("transactions.bin"), loader);
+        ledger.write(transactions, 0);
+
+        List<Transaction> loaded = ledger.read();
+
+        assertEquals(transactions.size(), loaded.size());
+        for (int i = 0; i < loaded.size(); i++) {
+            assertEquals(transactions.get(i).getTransactionId(), loaded.get(i).getTransactionId());
+            assertEquals(transactions.get(i).getAccountNumber(), loaded.get(i).getAccountNumber());
+        }
+    }
+}
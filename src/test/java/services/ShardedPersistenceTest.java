@@ -0,0 +1,157 @@
+package test.java.services;
+
+import com.bam.models.Account;
+import com.bam.models.RegularCustomer;
+import com.bam.models.SavingsAccount;
+import com.bam.models.Transaction;
+import com.bam.services.AccountManager;
+import com.bam.services.FilePersistenceService;
+import com.bam.services.JournalSyncPolicy;
+import com.bam.services.TransactionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the sharded snapshot layout and shard-scoped saves driven by dirty tracking.
+ */
+class ShardedPersistenceTest {
+    private static final int SHARDS = 4;
+    private static final FileTime UNTOUCHED = FileTime.fromMillis(0);
+
+    @TempDir
+    Path dataDirectory;
+
+    private FilePersistenceService persistenceService;
+    private RegularCustomer customer;
+
+    @BeforeEach
+    void setUp() {
+        persistenceService = new FilePersistenceService(dataDirectory, JournalSyncPolicy.perCommit(), SHARDS);
+        customer = new RegularCustomer("Alice", 30, "1234567890", "alice@test.com", "123 Street");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        persistenceService.close();
+        TransactionManager.seedTransactions(List.of());
+    }
+
+    @Test
+    void shardedCheckpointRoundTrips() throws IOException {
+        List<Account> accounts = accounts(8);
+        List<Transaction> transactions = accounts.stream()
+                .map(account -> new Transaction("TXN001", account.getAccountNumber(), "Deposit", 100, 100, new Date()))
+                .collect(Collectors.toList());
+
+        persistenceService.checkpoint(accounts, transactions);
+
+        assertTrue(Files.exists(dataDirectory.resolve("shards").resolve("accounts-000-of-004.txt")));
+        assertFalse(Files.exists(dataDirectory.resolve("accounts.txt")));
+        FilePersistenceService.LoadedData loaded = reload();
+        assertEquals(8, loaded.accounts().size());
+        assertEquals(8, loaded.transactions().size());
+    }
+
+    @Test
+    void sequentialAccountNumbersSpreadEvenlyAcrossShards() {
+        int[] perShard = new int[SHARDS];
+        for (int id = 100; id < 100 + 8 * SHARDS; id++) {
+            perShard[persistenceService.shardOf("ACC" + id)]++;
+        }
+
+        assertArrayEquals(new int[]{8, 8, 8, 8}, perShard);
+    }
+
+    @Test
+    void flatLayoutIsMigratedByTheNextFullCheckpoint() throws IOException {
+        List<Account> accounts = accounts(5);
+        try (FilePersistenceService flat = new FilePersistenceService(dataDirectory)) {
+            flat.checkpoint(accounts, List.of(new Transaction("TXN001", "ACC301", "Deposit", 100, 100, new Date())));
+        }
+
+        FilePersistenceService.LoadedData loaded = persistenceService.loadState();
+        assertEquals(5, loaded.accounts().size());
+        assertEquals(1, loaded.transactions().size());
+        assertTrue(persistenceService.isFullCheckpointRequired());
+        assertThrows(IllegalStateException.class, () -> persistenceService.checkpointShards(List.of(0), List.of(), List.of()));
+
+        persistenceService.checkpoint(loaded.accounts(), loaded.transactions());
+
+        assertFalse(persistenceService.isFullCheckpointRequired());
+        assertFalse(Files.exists(dataDirectory.resolve("accounts.txt")));
+        assertFalse(Files.exists(dataDirectory.resolve("transactions.bin")));
+        assertEquals(5, reload().accounts().size());
+    }
+
+    @Test
+    void saveRewritesOnlyShardsWithDirtyAccounts() throws Exception {
+        AccountManager accountManager = new AccountManager(null, new TransactionManager(null), persistenceService);
+        List<Account> accounts = accounts(12);
+        accounts.forEach(account -> accountManager.addAccount(account, true));
+        accountManager.saveAllData();
+        assertTrue(accountManager.getDirtyAccounts().isEmpty());
+        List<Path> shardFiles = shardFiles();
+        for (Path file : shardFiles) {
+            Files.setLastModifiedTime(file, UNTOUCHED);
+        }
+
+        Account touched = accounts.get(3);
+        touched.deposit(50);
+        accountManager.recordCommit(List.of(touched), List.of());
+        assertEquals(List.of(touched.getAccountNumber()), List.copyOf(accountManager.getDirtyAccounts()));
+        accountManager.saveAllData();
+
+        String dirtyShard = String.format("-%03d-of-%03d", persistenceService.shardOf(touched.getAccountNumber()), SHARDS);
+        Map<Boolean, List<Path>> rewritten = shardFiles.stream()
+                .collect(Collectors.partitioningBy(file -> !UNTOUCHED.equals(lastModified(file))));
+        assertFalse(rewritten.get(true).isEmpty());
+        assertTrue(rewritten.get(true).stream().allMatch(file -> file.getFileName().toString().contains(dirtyShard)));
+        assertFalse(rewritten.get(false).isEmpty());
+        assertEquals(touched.getBalance(), reload().accounts().stream()
+                .filter(account -> account.getAccountNumber().equals(touched.getAccountNumber()))
+                .findFirst().orElseThrow().getBalance());
+    }
+
+    private List<Account> accounts(int count) {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            accounts.add(new SavingsAccount(customer, 1000 + i, String.format("ACC%03d", 301 + i), "Active"));
+        }
+        return accounts;
+    }
+
+    private List<Path> shardFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dataDirectory.resolve("shards"))) {
+            return files.filter(file -> !file.getFileName().toString().endsWith(".idx")).sorted().toList();
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private FilePersistenceService.LoadedData reload() throws IOException {
+        try (FilePersistenceService restarted = new FilePersistenceService(dataDirectory, JournalSyncPolicy.perCommit(), SHARDS)) {
+            return restarted.loadState();
+        }
+    }
+}
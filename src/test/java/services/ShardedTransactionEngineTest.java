@@ -0,0 +1,159 @@
+package test.java.services;
+
+import com.bam.exceptions.InvalidAccountException;
+import com.bam.models.Account;
+import com.bam.models.CheckingAccount;
+import com.bam.models.Customer;
+import com.bam.models.RegularCustomer;
+import com.bam.models.SavingsAccount;
+import com.bam.models.Transaction;
+import com.bam.models.TransactionOutcome;
+import com.bam.models.TransactionType;
+import com.bam.services.ShardedTransactionEngine;
+import com.bam.services.TransactionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the single-writer engine with more accounts than shards and small rings, so producers
+ * regularly wait on full rings and most transfers cross shards.
+ */
+class ShardedTransactionEngineTest {
+    private final Customer customer = new RegularCustomer("Alice", 30, "1234567890", "alice@test.com", "123 Street");
+    private final TransactionManager transactionManager = new TransactionManager(null);
+
+    @AfterEach
+    void tearDown() {
+        TransactionManager.seedTransactions(List.of());
+    }
+
+    @Test
+    void concurrentDepositsAndWithdrawalsAreAllApplied() throws Exception {
+        Account account = new CheckingAccount(customer, 0, "ACC101", "Active");
+        try (ShardedTransactionEngine engine = new ShardedTransactionEngine(2, 8, transactionManager, (accounts, transactions) -> {
+        })) {
+            engine.register(account);
+            List<CompletableFuture<TransactionOutcome>> results = runConcurrently(4, 500, () -> List.of(
+                    engine.deposit("ACC101", 2.50),
+                    engine.withdraw("ACC101", 1.25)));
+            results.forEach(result -> assertTrue(result.join().isApplied()));
+        }
+
+        assertEquals(4 * 500 * 125, account.getBalanceCents());
+        assertEquals(4 * 500 * 2, TransactionManager.getTransactions("ACC101").size());
+    }
+
+    @Test
+    void transfersAcrossShardsConserveTheTotal() throws Exception {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            accounts.add(new CheckingAccount(customer, 100, String.format("ACC%03d", 200 + i), "Active"));
+        }
+        try (ShardedTransactionEngine engine = new ShardedTransactionEngine(4, 16, transactionManager, (touched, transactions) -> {
+        })) {
+            engine.registerAll(accounts);
+            List<CompletableFuture<TransactionOutcome>> results = runConcurrently(4, 1_000, () -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int from = random.nextInt(accounts.size());
+                int to = (from + 1 + random.nextInt(accounts.size() - 1)) % accounts.size();
+                return List.of(engine.transfer(accounts.get(from).getAccountNumber(),
+                        accounts.get(to).getAccountNumber(), random.nextInt(1, 500) / 100.0));
+            });
+            // Some transfers hit the overdraft floor and are declined; the rest leave two entries.
+            long applied = results.stream().filter(result -> result.join().isApplied()).count();
+            long recorded = accounts.stream()
+                    .mapToLong(account -> TransactionManager.getTransactions(account.getAccountNumber()).size())
+                    .sum();
+            assertEquals(2 * applied, recorded);
+        }
+
+        long total = accounts.stream().mapToLong(Account::getBalanceCents).sum();
+        assertEquals(16 * 100 * 100, total);
+    }
+
+    @Test
+    void declinedCommandsCompleteWithTheirOutcome() {
+        Account savings = new SavingsAccount(customer, 600, "ACC301", "Active");
+        Account checking = new CheckingAccount(customer, 0, "ACC302", "Active");
+        try (ShardedTransactionEngine engine = new ShardedTransactionEngine(2, transactionManager)) {
+            engine.register(savings);
+            engine.register(checking);
+
+            assertEquals(TransactionOutcome.Status.INSUFFICIENT_FUNDS,
+                    engine.transfer("ACC301", "ACC302", 150).join().status());
+            assertEquals(TransactionOutcome.Status.INVALID_DEPOSIT_AMOUNT,
+                    engine.deposit("ACC302", -5).join().status());
+            CompletionException unknown = assertThrows(CompletionException.class,
+                    () -> engine.deposit("ACC999", 10).join());
+            assertInstanceOf(InvalidAccountException.class, unknown.getCause());
+            assertTrue(engine.transfer("ACC301", "ACC302", 100).join().isApplied());
+        }
+
+        assertEquals(500, savings.getBalance());
+        assertEquals(100, checking.getBalance());
+        assertEquals(List.of(TransactionType.TRANSFER_OUT),
+                TransactionManager.getTransactions("ACC301").stream().map(Transaction::getType).toList());
+        assertEquals(List.of(TransactionType.TRANSFER_IN),
+                TransactionManager.getTransactions("ACC302").stream().map(Transaction::getType).toList());
+    }
+
+    @Test
+    void appliedChangesAreHandedToTheCommitSink() {
+        Account account = new SavingsAccount(customer, 600, "ACC501", "Active");
+        List<Transaction> committed = new ArrayList<>();
+        try (ShardedTransactionEngine engine = new ShardedTransactionEngine(1, 8, transactionManager,
+                (Collection<Account> touched, Collection<Transaction> transactions) -> committed.addAll(transactions))) {
+            engine.register(account);
+            engine.deposit("ACC501", 40).join();
+            engine.withdraw("ACC501", 0).join();
+        }
+
+        assertEquals(TransactionManager.getTransactions("ACC501"), committed);
+        assertEquals(640, committed.get(0).getBalanceAfter());
+    }
+
+    @Test
+    void closedEngineRejectsNewCommands() {
+        ShardedTransactionEngine engine = new ShardedTransactionEngine(1, transactionManager);
+        engine.register(new CheckingAccount(customer, 0, "ACC401", "Active"));
+        engine.close();
+
+        assertThrows(IllegalStateException.class, () -> engine.deposit("ACC401", 10));
+    }
+
+    private interface Submission {
+        List<CompletableFuture<TransactionOutcome>> submit();
+    }
+
+    private static List<CompletableFuture<TransactionOutcome>> runConcurrently(int threads, int iterations, Submission submission)
+            throws InterruptedException {
+        List<CompletableFuture<TransactionOutcome>> results = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                List<CompletableFuture<TransactionOutcome>> local = new ArrayList<>();
+                for (int i = 0; i < iterations; i++) {
+                    local.addAll(submission.submit());
+                }
+                synchronized (results) {
+                    results.addAll(local);
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        synchronized (results) {
+            return new ArrayList<>(results);
+        }
+    }
+}
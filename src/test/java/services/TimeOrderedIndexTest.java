@@ -0,0 +1,110 @@
+package test.java.services;
+
+import com.bam.models.Transaction;
+import com.bam.models.TransactionPage;
+import com.bam.services.TransactionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests time-ordered history queries over in-order and out-of-order ledgers.
+ */
+class TimeOrderedIndexTest {
+
+    @AfterEach
+    void tearDown() {
+        TransactionManager.seedTransactions(List.of());
+    }
+
+    @Test
+    void lastAndRangeQueriesFollowTimestamps() {
+        List<Transaction> history = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            history.add(transaction(i, "ACC801", i * 1_000L));
+        }
+        TransactionManager.seedTransactions(history);
+
+        assertEquals(List.of("TXN100", "TXN099", "TXN098"), ids(TransactionManager.getLastTransactions("ACC801", 3)));
+        assertEquals(List.of("TXN010", "TXN011", "TXN012"),
+                ids(TransactionManager.getTransactionsBetween("ACC801", new Date(10_000), new Date(12_000))));
+        assertTrue(TransactionManager.getTransactionsBetween("ACC801", new Date(500), new Date(900)).isEmpty());
+        assertEquals("TXN100", new TransactionManager(null).getMostRecentTransaction("ACC801").orElseThrow().getTransactionId());
+    }
+
+    @Test
+    void cursorPagesVisitEveryTransactionOnceNewestFirst() {
+        List<Transaction> history = new ArrayList<>();
+        for (int i = 1; i <= 95; i++) {
+            // Five transactions share each timestamp, so pages must break ties by sequence.
+            history.add(transaction(i, "ACC802", (i + 4) / 5 * 1_000L));
+        }
+        TransactionManager.seedTransactions(history);
+
+        List<String> visited = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TransactionPage page = TransactionManager.getTransactionPage("ACC802", cursor, 10);
+            visited.addAll(ids(page.transactions()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(10, pages);
+        assertEquals(95, visited.size());
+        assertEquals("TXN095", visited.get(0));
+        assertEquals("TXN001", visited.get(94));
+        assertThrows(IllegalArgumentException.class, () -> TransactionManager.getTransactionPage("ACC802", "bogus", 10));
+    }
+
+    @Test
+    void cursorPagesCrossRunsOfEqualKeysAndNegativeTimestamps() {
+        List<Transaction> history = new ArrayList<>();
+        for (int i = 1; i <= 25; i++) {
+            // Unnumbered IDs all have sequence 0, so every transaction shares one key per timestamp.
+            history.add(new Transaction("LEGACY-" + i, "ACC804", "Deposit", i, i, new Date(i <= 12 ? -5_000 : 7_000)));
+        }
+        TransactionManager.seedTransactions(history);
+
+        List<String> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            TransactionPage page = TransactionManager.getTransactionPage("ACC804", cursor, 5);
+            visited.addAll(ids(page.transactions()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(25, visited.size());
+        assertEquals(25, Set.copyOf(visited).size());
+        assertEquals("LEGACY-25", visited.get(0));
+        assertEquals("LEGACY-1", visited.get(24));
+    }
+
+    @Test
+    void outOfOrderTimestampsAreSortedForQueries() {
+        TransactionManager.seedTransactions(List.of(
+                transaction(1, "ACC803", 3_000),
+                transaction(2, "ACC803", 1_000),
+                transaction(3, "ACC803", 2_000)));
+        new TransactionManager(null).addTransaction(new Transaction(null, "ACC803", "Deposit", 1, 1, new Date(500)));
+
+        assertEquals(List.of("TXN004", "TXN002", "TXN003", "TXN001"),
+                ids(TransactionManager.getTimeIndex("ACC803").chronological()));
+        assertEquals(List.of("TXN001"), ids(TransactionManager.getLastTransactions("ACC803", 1)));
+    }
+
+    private static Transaction transaction(int sequence, String accountNumber, long time) {
+        return new Transaction(String.format("TXN%03d", sequence), accountNumber, "Deposit", sequence, sequence, new Date(time));
+    }
+
+    private static List<String> ids(List<Transaction> transactions) {
+        return transactions.stream().map(Transaction::getTransactionId).toList();
+    }
+}
@@ -0,0 +1,130 @@
+package test.java.services;
+
+import com.bam.models.Transaction;
+import com.bam.services.FilePersistenceService;
+import com.bam.services.LedgerIndex;
+import com.bam.services.RecordChecksum;
+import com.bam.services.TransactionLedgerFile;
+import com.bam.utils.AccountNumbers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionLedgerFileTest {
+    @TempDir
+    Path dataDirectory;
+
+    @Test
+    void recordsRoundTripThroughBinaryLedger() throws IOException {
+        Date timestamp = new Date(1_700_000_000_123L);
+        List<Transaction> transactions = List.of(
+                new Transaction("TXN001", "ACC001", "Deposit", 1000.10, 1000.10, timestamp),
+                new Transaction("TXN002", "ACC001", "Withdrawal", 0.30, 999.80, timestamp),
+                new Transaction("TXN001", "ACC042", "Transfer In", 250.0, 1250.0, timestamp),
+                new Transaction("TXN1234", "ACC1000", "transfer out", 12.5, -12.5, timestamp));
+        TransactionLedgerFile ledgerFile = new TransactionLedgerFile(dataDirectory.resolve("transactions.bin"));
+
+        ledgerFile.write(transactions, 0);
+        List<Transaction> loaded = ledgerFile.read();
+
+        assertEquals(transactions.size(), loaded.size());
+        for (int i = 0; i < transactions.size(); i++) {
+            Transaction expected = transactions.get(i);
+            Transaction actual = loaded.get(i);
+            assertEquals(expected.getTransactionId(), actual.getTransactionId());
+            assertEquals(expected.getAccountNumber(), actual.getAccountNumber());
+            assertEquals(expected.getType(), actual.getType());
+            assertEquals(expected.getAmount(), actual.getAmount(), 0.0001);
+            assertEquals(expected.getBalanceAfter(), actual.getBalanceAfter(), 0.0001);
+            assertEquals(expected.getTimestamp(), actual.getTimestamp());
+        }
+        assertSame(loaded.get(0).getTransactionId(), loaded.get(2).getTransactionId());
+    }
+
+    @Test
+    void accountNumbersAndIdsThatAreNotCanonicalKeepTheirText() throws IOException {
+        Date timestamp = new Date(1_700_000_000_123L);
+        String largeId = AccountNumbers.format(3_000_000_000L);
+        List<Transaction> transactions = List.of(
+                new Transaction("TXN001", "ACC0001", "Deposit", 10, 10, timestamp),
+                new Transaction("TXN001", "ACC001", "Deposit", 20, 20, timestamp),
+                new Transaction("TXN001", "ACC123-0", "Deposit", 30, 30, timestamp),
+                new Transaction("TXN001", largeId, "Deposit", 40, 40, timestamp),
+                new Transaction("LEGACY-7", largeId, "Withdrawal", 5, 35, timestamp),
+                new Transaction("TXN0002", "ACC-A0", "Deposit", 50, 50, timestamp),
+                new Transaction(null, "ACC001", "Fee", 1, 19, timestamp));
+        TransactionLedgerFile ledgerFile = new TransactionLedgerFile(dataDirectory.resolve("transactions.bin"));
+
+        ledgerFile.write(transactions, 0);
+        List<Transaction> loaded = ledgerFile.read();
+
+        assertEquals(transactions.stream().map(Transaction::getAccountNumber).toList(),
+                loaded.stream().map(Transaction::getAccountNumber).toList());
+        assertEquals(transactions.stream().map(Transaction::getTransactionId).toList(),
+                loaded.stream().map(Transaction::getTransactionId).toList());
+        Files.delete(dataDirectory.resolve("transactions.bin.idx"));
+        LedgerIndex rebuilt = ledgerFile.readIndex();
+        LedgerIndex reloaded = new TransactionLedgerFile(ledgerFile.getPath()).readIndex();
+        for (LedgerIndex index : List.of(rebuilt, reloaded)) {
+            assertEquals(Set.of("ACC0001", "ACC001", "ACC123-0", largeId, "ACC-A0"), index.accountNumbers());
+            assertEquals(2, index.transactionCount(largeId));
+            assertEquals(List.of("TXN0002"),
+                    ledgerFile.readAccount(index, "ACC-A0").stream().map(Transaction::getTransactionId).toList());
+        }
+    }
+
+    @Test
+    void version3LedgerIsStillRead() throws IOException {
+        Path path = dataDirectory.resolve("transactions.bin");
+        ByteBuffer payload = ByteBuffer.allocate(33)
+                .putInt(42).putInt(7).put((byte) 1).putLong(12_345).putLong(12_345).putLong(1_700_000_000_000L);
+        ByteBuffer file = ByteBuffer.allocate(32 + 41)
+                .putLong(0x42414D4C45444752L).putInt(3).putInt(41).putLong(1).putLong(9)
+                .putInt(33).putInt(RecordChecksum.compute(payload.array(), 0, 33)).put(payload.array());
+        Files.write(path, file.array());
+        TransactionLedgerFile ledgerFile = new TransactionLedgerFile(path);
+
+        List<Transaction> loaded = ledgerFile.read();
+
+        assertEquals(9, ledgerFile.readCheckpointLsn());
+        assertEquals(1, loaded.size());
+        assertEquals("ACC042", loaded.get(0).getAccountNumber());
+        assertEquals("TXN007", loaded.get(0).getTransactionId());
+        assertEquals(123.45, loaded.get(0).getAmount());
+        assertEquals(Set.of("ACC042"), ledgerFile.readIndex().accountNumbers());
+    }
+
+    @Test
+    void corruptHeaderIsRejected() throws IOException {
+        Path path = dataDirectory.resolve("transactions.bin");
+        Files.write(path, new byte[64]);
+
+        assertThrows(IOException.class, () -> new TransactionLedgerFile(path).read());
+    }
+
+    @Test
+    void legacyTextLedgerIsMigratedOnSave() throws IOException {
+        Files.writeString(dataDirectory.resolve("transactions.txt"),
+                "TXN001|ACC001|Deposit|500.0|500.0|2024-12-17T10:30:00Z\n");
+        FilePersistenceService persistenceService = new FilePersistenceService(dataDirectory);
+
+        List<Transaction> legacy = persistenceService.loadTransactions();
+        persistenceService.saveTransactions(legacy);
+
+        assertFalse(Files.exists(dataDirectory.resolve("transactions.txt")));
+        assertTrue(Files.exists(dataDirectory.resolve("transactions.bin")));
+        List<Transaction> migrated = persistenceService.loadTransactions();
+        assertEquals(1, migrated.size());
+        assertEquals("TXN001", migrated.get(0).getTransactionId());
+        assertEquals(500.0, migrated.get(0).getAmount());
+    }
+}
@@ -0,0 +1,111 @@
+package test.java.services;
+
+import com.bam.interfaces.TransactionHistoryLoader;
+import com.bam.models.Transaction;
+import com.bam.services.TransactionManager;
+import com.bam.services.TransactionSummary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the running per-account totals kept alongside each ledger.
+ */
+class TransactionSummaryTest {
+    private final TransactionManager transactionManager = new TransactionManager(null);
+
+    @AfterEach
+    void tearDown() {
+        TransactionManager.seedTransactions(List.of());
+    }
+
+    @Test
+    void totalsAreBuiltOnSeedAndUpdatedOnAppend() {
+        TransactionManager.seedTransactions(List.of(
+                transaction("TXN001", "ACC701", "Deposit", 100.10, 1_000),
+                transaction("TXN002", "ACC701", "Withdrawal", 40.05, 2_000),
+                transaction("TXN003", "ACC701", "Transfer Out", 10, 3_000)));
+        transactionManager.addTransaction(new Transaction("ACC701", "transfer in", 0.20, 50.25));
+
+        TransactionSummary summary = TransactionManager.getSummary("ACC701");
+
+        assertEquals(100.10, summary.totalDeposits());
+        assertEquals(40.05, summary.totalWithdrawals());
+        assertEquals(0.20, summary.totalTransfersIn());
+        assertEquals(10, summary.totalTransfersOut());
+        assertEquals(50.25, summary.netChange());
+        assertEquals(4, summary.count());
+        assertEquals(0.20, summary.minAmount());
+        assertEquals(100.10, summary.maxAmount());
+        assertEquals(40.05, transactionManager.calculateTotalTransaction("ACC701", "WITHDRAWAL"));
+    }
+
+    @Test
+    void interestAndFeesAreTotalledSoTheSummaryAddsUp() {
+        TransactionManager.seedTransactions(List.of(
+                transaction("TXN001", "ACC704", "Deposit", 500, 1_000),
+                transaction("TXN002", "ACC704", "Interest", 2.50, 2_000),
+                transaction("TXN003", "ACC704", "Fee", 10, 3_000)));
+
+        TransactionSummary summary = TransactionManager.getSummary("ACC704");
+
+        assertEquals(2.50, summary.totalInterest());
+        assertEquals(10, summary.totalFees());
+        assertEquals(summary.totalDeposits() - summary.totalWithdrawals() + summary.totalTransfersIn()
+                - summary.totalTransfersOut() + summary.totalInterest() - summary.totalFees(), summary.netChange(), 0.001);
+    }
+
+    @Test
+    void summaryCoversPagedHistoryAndSurvivesEviction() {
+        CountingLoader loader = new CountingLoader();
+        TransactionManager.seedLazily(loader, List.of(), Map.of("ACC702", 2, "ACC703", 2), 1);
+        transactionManager.addTransaction(new Transaction("ACC702", "Deposit", 5, 0));
+
+        assertEquals(255, TransactionManager.getSummary("ACC702").totalDeposits());
+        TransactionManager.getTransactions("ACC703");
+        TransactionSummary afterEviction = TransactionManager.getSummary("ACC702");
+
+        assertEquals(255, afterEviction.totalDeposits());
+        assertEquals(3, afterEviction.count());
+        assertEquals(List.of("ACC702", "ACC703"), loader.loads);
+    }
+
+    @Test
+    void unknownAccountHasEmptySummary() {
+        TransactionSummary summary = TransactionManager.getSummary("ACC799");
+
+        assertEquals(0, summary.count());
+        assertEquals(0, summary.maxAmount());
+        assertNull(summary.lastTimestamp());
+    }
+
+    private static Transaction transaction(String id, String accountNumber, String type, double amount, long time) {
+        return new Transaction(id, accountNumber, type, amount, 0, new Date(time));
+    }
+
+    /**
+     * Serves two persisted deposits per account and records every load.
+     */
+    private static final class CountingLoader implements TransactionHistoryLoader {
+        private final List<String> loads = new ArrayList<>();
+
+        @Override
+        public List<Transaction> loadHistory(String accountNumber) {
+            loads.add(accountNumber);
+            return List.of(transaction("TXN001", accountNumber, "Deposit", 100, 1_000),
+                    transaction("TXN002", accountNumber, "Deposit", 150, 2_000));
+        }
+
+        @Override
+        public Set<String> accountsWithHistory() {
+            return Set.of("ACC702", "ACC703");
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package test.java.utils;
+
+import com.bam.exceptions.InvalidAccountNumberException;
+import com.bam.utils.AccountNumbers;
+import com.bam.utils.InputValidator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests formatting, parsing and check digits of account numbers.
+ */
+class AccountNumbersTest {
+
+    @Test
+    void numbersRoundTripPastThreeDigits() {
+        assertEquals("ACC007", AccountNumbers.format(7));
+        assertEquals("ACC123", AccountNumbers.format(123));
+        assertEquals("ACC48213907", AccountNumbers.format(48_213_907));
+        for (long id : new long[]{0, 1, 99, 999, 1_000, 12_345_678, 999_999_999_999_999_999L}) {
+            assertEquals(id, AccountNumbers.parse(AccountNumbers.format(id)));
+        }
+        assertEquals("CUST042", AccountNumbers.format("CUST", 42));
+        assertEquals(42, AccountNumbers.parse("CUST042", "CUST"));
+    }
+
+    @Test
+    void malformedNumbersAreRejected() {
+        for (String text : new String[]{null, "", "ACC", "ACC12", "ACC0123", "acc123", "ACX123", "ACC12a",
+                "ACC-A0", "ACC1234567890123456789", "CUST001"}) {
+            assertEquals(AccountNumbers.INVALID, AccountNumbers.parse(text), text);
+        }
+    }
+
+    @Test
+    void checkDigitIsOptionalButMustMatch() {
+        assertEquals("ACC123-0", AccountNumbers.formatWithCheckDigit(123));
+        assertEquals("ACC007-5", AccountNumbers.formatWithCheckDigit(7));
+        assertEquals(123, AccountNumbers.parse("ACC123-0"));
+        assertEquals(AccountNumbers.INVALID, AccountNumbers.parse("ACC123-1"));
+        // A transposition of adjacent digits changes the check digit.
+        assertEquals(AccountNumbers.INVALID, AccountNumbers.parse("ACC132-0"));
+        assertEquals(AccountNumbers.INVALID, AccountNumbers.parse("ACC123-"));
+    }
+
+    @Test
+    void validatorAcceptsNumbersBeyondNineHundredNinetyNine() {
+        InputValidator validator = new InputValidator();
+
+        assertDoesNotThrow(() -> validator.validateAccountNumberFormat("ACC1000"));
+        assertDoesNotThrow(() -> validator.validateAccountNumberFormat("ACC1000-9"));
+        assertThrows(InvalidAccountNumberException.class, () -> validator.validateAccountNumberFormat("ACC12"));
+    }
+}